@@ -0,0 +1,65 @@
+package com.workzen.jmh;
+
+import com.workzen.entity.Attendance;
+import com.workzen.entity.Employee;
+import com.workzen.repository.AttendanceRepository;
+import com.workzen.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-employee monthly attendance and the all-employee daily sheet over the seeded
+ * attendance history.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AttendanceQueryBenchmark {
+    
+    private static final int MONTHS = 36;
+    
+    private final SplittableRandom random = new SplittableRandom(42);
+    private AttendanceRepository attendanceRepository;
+    private List<Employee> employees;
+    
+    @Setup
+    public void setUp(SeededDatabase database) {
+        attendanceRepository = database.getBean(AttendanceRepository.class);
+        employees = database.getBean(EmployeeRepository.class).findAll();
+    }
+    
+    @Benchmark
+    public List<Attendance> findMonthlyAttendance() {
+        Employee employee = employees.get(random.nextInt(employees.size()));
+        YearMonth month = YearMonth.from(BenchmarkDataSeeder.FIRST_DAY).plusMonths(random.nextInt(MONTHS));
+        return attendanceRepository.findMonthlyAttendance(employee, month);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Attendance> findByDateOrderByEmployeeName() {
+        LocalDate date = BenchmarkDataSeeder.FIRST_DAY.plusDays(random.nextInt(MONTHS * 30));
+        if (date.getDayOfWeek().compareTo(DayOfWeek.FRIDAY) > 0) {
+            date = date.with(DayOfWeek.FRIDAY);
+        }
+        return attendanceRepository.findByDateOrderByEmployeeName(date);
+    }
+}
@@ -0,0 +1,118 @@
+package com.workzen.jmh;
+
+import com.workzen.enums.Department;
+import com.workzen.enums.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds {@code workzen.benchmark.employees} employees (a management tree with eight reports
+ * per manager) and {@code workzen.benchmark.attendance-years} years of weekday attendance
+ * for each of them. Runs before the in-memory indexes are built on application ready and
+ * does nothing when the database already holds the requested volume.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BenchmarkDataSeeder implements ApplicationRunner {
+    
+    public static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 3);
+    
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun",
+            "Kavya", "Rohan", "Isha", "Karan", "Meera", "Aditya", "Pooja", "Nikhil", "Divya", "Siddharth", "Neha",
+            "Varun", "Shreya", "John", "Maria", "David", "Sarah", "Michael", "Fatima", "Wei", "Yuki", "Omar", "Elena"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Mehta",
+            "Kumar", "Singh", "Joshi", "Desai", "Rao", "Kapoor", "Bose", "Menon", "Chopra", "Das", "Pillai",
+            "Smith", "Garcia", "Chen", "Tanaka", "Khan", "Muller", "Rossi", "Silva", "Novak", "Okafor", "Kim"};
+    private static final int EMPLOYEE_BATCH = 1_000;
+    private static final int REPORTS_PER_MANAGER = 8;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int employees = environment.getProperty("workzen.benchmark.employees", Integer.class, 10_000);
+        int years = environment.getProperty("workzen.benchmark.attendance-years", Integer.class, 3);
+        int days = (int) ChronoUnit.DAYS.between(FIRST_DAY, FIRST_DAY.plusYears(years));
+        
+        Long seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+        if (seeded != null && seeded == employees) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        jdbcTemplate.execute("DELETE FROM payroll");
+        jdbcTemplate.execute("DELETE FROM attendance");
+        jdbcTemplate.execute("UPDATE employees SET manager_id = NULL");
+        jdbcTemplate.execute("DELETE FROM employees");
+        seedEmployees(employees);
+        seedAttendance(employees, days);
+        restartSequence("employees_seq", "employees");
+        restartSequence("attendance_seq", "attendance");
+        restartSequence("payroll_seq", "payroll");
+        log.info("Seeded {} employees with {} days of attendance in {} s", employees, days,
+                (System.nanoTime() - started) / 1_000_000_000);
+    }
+    
+    private void seedEmployees(int employees) {
+        Department[] departments = Department.values();
+        Role[] roles = {Role.SENIOR_DEVELOPER, Role.JUNIOR_DEVELOPER, Role.BUSINESS_ANALYST, Role.QA_ENGINEER,
+                Role.DEVOPS_ENGINEER, Role.ACCOUNTANT, Role.HR_EXECUTIVE, Role.TEAM_LEAD};
+        List<Object[]> batch = new ArrayList<>(EMPLOYEE_BATCH);
+        for (long id = 1; id <= employees; id++) {
+            String firstName = FIRST_NAMES[(int) (id % FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[(int) (id * 7 % LAST_NAMES.length)];
+            batch.add(new Object[] {id, "EMP-%05d".formatted(id), firstName, lastName,
+                    (firstName + "." + lastName + id + "@workzen.test").toLowerCase(), "{noop}secret",
+                    departments[(int) (id % departments.length)].name(),
+                    (id == 1 ? Role.CEO : roles[(int) (id % roles.length)]).name(),
+                    id % 50 == 0 ? "ON_LEAVE" : "ACTIVE", 600_000.0 + id % 40 * 50_000,
+                    id == 1 ? null : (id - 2) / REPORTS_PER_MANAGER + 1});
+            if (batch.size() == EMPLOYEE_BATCH || id == employees) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO employees (id, employee_id, first_name, last_name, email, password, department,
+                                               role, status, salary, manager_id, is_account_non_expired,
+                                               is_account_non_locked, is_credentials_non_expired, is_enabled, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, 0)
+                        """, batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    // SYSTEM_RANGE names its column X, which DATABASE_TO_LOWER would fold to x unless quoted
+    private void seedAttendance(int employees, int days) {
+        for (int from = 1; from <= employees; from += EMPLOYEE_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO attendance (id, employee_id, date, check_in_time, check_out_time, status,
+                                            work_hours, overtime_hours, is_late, late_minutes, version)
+                    SELECT (e.id - 1) * ? + d."X" + 1, e.id, DATEADD('DAY', d."X", ?),
+                           TIME '09:05:00', TIME '18:10:00',
+                           CASE MOD(e.id + d."X", 20) WHEN 0 THEN 'ABSENT' WHEN 1 THEN 'LATE'
+                                                    WHEN 2 THEN 'HALF_DAY' ELSE 'PRESENT' END,
+                           9.0, 1.0, MOD(e.id + d."X", 20) = 1,
+                           CASE WHEN MOD(e.id + d."X", 20) = 1 THEN 25 END, 0
+                    FROM employees e CROSS JOIN SYSTEM_RANGE(0, ? - 1) d
+                    WHERE e.id BETWEEN ? AND ?
+                      AND ISO_DAY_OF_WEEK(DATEADD('DAY', d."X", ?)) < 6
+                    """, days, Date.valueOf(FIRST_DAY), days, from, from + EMPLOYEE_BATCH - 1,
+                    Date.valueOf(FIRST_DAY));
+        }
+    }
+    
+    // Ids were assigned explicitly; move the pooled sequence past them
+    private void restartSequence(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 50));
+    }
+}
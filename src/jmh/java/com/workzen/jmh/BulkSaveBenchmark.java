@@ -0,0 +1,111 @@
+package com.workzen.jmh;
+
+import com.workzen.entity.Attendance;
+import com.workzen.entity.Employee;
+import com.workzen.entity.Payroll;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.repository.AttendanceRepository;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.repository.PayrollRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * {@code saveAllAndFlush} of fresh {@link Attendance} and {@link Payroll} rows. Every
+ * invocation rolls back after the flush, so the inserts reach the database but the
+ * seeded volume stays the same.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkSaveBenchmark {
+    
+    // Outside the seeded history, so there are no unique-key clashes
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+    
+    @Param({"1000"})
+    public int rows;
+    
+    private AttendanceRepository attendanceRepository;
+    private PayrollRepository payrollRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Employee> employees;
+    private List<Attendance> attendance;
+    private List<Payroll> payrolls;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase database) {
+        attendanceRepository = database.getBean(AttendanceRepository.class);
+        payrollRepository = database.getBean(PayrollRepository.class);
+        transactionTemplate = database.getBean(TransactionTemplate.class);
+        employees = database.getBean(EmployeeRepository.class).findAll(PageRequest.of(0, rows)).getContent();
+    }
+    
+    // Entities get ids on save, so each invocation needs new instances
+    @Setup(Level.Invocation)
+    public void newRows() {
+        attendance = new ArrayList<>(rows);
+        payrolls = new ArrayList<>(rows);
+        for (Employee employee : employees) {
+            attendance.add(Attendance.builder()
+                    .employee(employee)
+                    .date(DAY)
+                    .checkInTime(LocalTime.of(9, 0))
+                    .checkOutTime(LocalTime.of(18, 0))
+                    .status(AttendanceStatus.PRESENT)
+                    .workHours(9.0)
+                    .build());
+            payrolls.add(Payroll.builder()
+                    .employee(employee)
+                    .salaryMonth(DAY)
+                    .basicSalary(new BigDecimal("50000.00"))
+                    .grossSalary(new BigDecimal("80000.00"))
+                    .totalDeductions(new BigDecimal("12000.00"))
+                    .netSalary(new BigDecimal("68000.00"))
+                    .daysWorked(22)
+                    .build());
+        }
+    }
+    
+    @Benchmark
+    public int saveAllAttendance() {
+        return saveAndRollBack(() -> attendanceRepository.saveAllAndFlush(attendance).size());
+    }
+    
+    @Benchmark
+    public int saveAllPayroll() {
+        return saveAndRollBack(() -> payrollRepository.saveAllAndFlush(payrolls).size());
+    }
+    
+    private int saveAndRollBack(IntSupplier save) {
+        Integer saved = transactionTemplate.execute(status -> {
+            int count = save.getAsInt();
+            status.setRollbackOnly();
+            return count;
+        });
+        return saved == null ? 0 : saved;
+    }
+}
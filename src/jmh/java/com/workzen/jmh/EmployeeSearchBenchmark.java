@@ -0,0 +1,60 @@
+package com.workzen.jmh;
+
+import com.workzen.entity.Employee;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.service.EmployeeSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee directory search: the {@code LIKE '%term%'} repository query against the
+ * in-memory trigram index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+    
+    private static final String[] TERMS = {"sharma", "priya", "EMP-0042", "kavya.me", "chen", "siddh", "rao"};
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    
+    private EmployeeRepository employeeRepository;
+    private EmployeeSearchService employeeSearchService;
+    private int next;
+    
+    @Setup
+    public void setUp(SeededDatabase database) {
+        employeeRepository = database.getBean(EmployeeRepository.class);
+        employeeSearchService = database.getBean(EmployeeSearchService.class);
+    }
+    
+    @Benchmark
+    public Page<Employee> searchEmployeesLike() {
+        return employeeRepository.searchEmployees(nextTerm(), PAGE);
+    }
+    
+    @Benchmark
+    public Page<Employee> searchEmployeesIndexed() {
+        return employeeSearchService.search(nextTerm(), PAGE);
+    }
+    
+    private String nextTerm() {
+        return TERMS[next++ % TERMS.length];
+    }
+}
@@ -0,0 +1,133 @@
+package com.workzen.jmh;
+
+import com.workzen.config.PayrollProperties;
+import com.workzen.service.PayrollBatch;
+import com.workzen.service.PayrollKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One payroll chunk through {@link PayrollKernel} against the boxed {@code Double}
+ * calculation it replaced. With {@code -prof gc}, {@code gc.alloc.rate.norm} of the
+ * kernel should be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollKernelBenchmark {
+    
+    private static final int WORKING_DAYS = 22;
+    
+    @Param({"500", "5000"})
+    private int employees;
+    
+    private final PayrollKernel kernel = new PayrollKernel(new PayrollProperties().getRules());
+    private PayrollBatch batch;
+    private List<BoxedInput> inputs;
+    
+    @Setup
+    public void setUp() {
+        batch = new PayrollBatch(employees);
+        inputs = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            // 3L to 42L CTC, some loss of pay and overtime
+            long annualPaise = (300_000L + i % 40 * 100_000L) * 100;
+            int lossOfPayHalfDays = i % 7 == 0 ? 3 : 0;
+            long overtimeCentiHours = i % 5 * 150L;
+            batch.add(i, annualPaise, lossOfPayHalfDays, overtimeCentiHours);
+            inputs.add(new BoxedInput((double) i, annualPaise / 100.0, lossOfPayHalfDays / 2,
+                    lossOfPayHalfDays % 2, overtimeCentiHours / 100.0));
+        }
+    }
+    
+    @Benchmark
+    public void kernel(Blackhole blackhole) {
+        kernel.calculate(batch, WORKING_DAYS);
+        blackhole.consume(batch.getNet());
+    }
+    
+    @Benchmark
+    public void boxed(Blackhole blackhole) {
+        List<BoxedPayslip> payslips = new ArrayList<>(inputs.size());
+        for (BoxedInput input : inputs) {
+            payslips.add(BoxedInput.calculate(input, WORKING_DAYS));
+        }
+        blackhole.consume(payslips);
+    }
+    
+    private record BoxedPayslip(Double basic, Double hra, Double transport, Double medical, Double other,
+                                Double overtime, Double gross, Double providentFund, Double professionalTax,
+                                Double incomeTax, Double totalDeductions, Double net) {
+    }
+    
+    /**
+     * The previous {@code PayrollCalculator}: doubles rounded after every step, boxed
+     * into the result.
+     */
+    private record BoxedInput(Double employeeId, Double salary, Integer daysAbsent, Integer halfDays,
+                              Double overtimeHours) {
+        
+        private static final Double[] TAX_SLAB_LIMITS = {400_000.0, 800_000.0, 1_200_000.0, 1_600_000.0,
+                2_000_000.0, 2_400_000.0};
+        private static final Double[] TAX_SLAB_RATES = {0.0, 0.05, 0.10, 0.15, 0.20, 0.25, 0.30};
+        
+        static BoxedPayslip calculate(BoxedInput input, int workingDays) {
+            Double lossOfPayDays = input.daysAbsent() + input.halfDays() * 0.5;
+            Double payFactor = Math.max(0, (workingDays - lossOfPayDays) / workingDays);
+            Double monthlyGross = input.salary() / 12;
+            Double earned = monthlyGross * payFactor;
+            
+            Double basic = round(earned * 0.50);
+            Double hra = round(basic * 0.40);
+            Double transport = round(Math.min(1_600 * payFactor, Math.max(earned - basic - hra, 0)));
+            Double medical = round(Math.min(1_250 * payFactor, Math.max(earned - basic - hra - transport, 0)));
+            Double other = round(Math.max(earned - basic - hra - transport - medical, 0));
+            Double hourlyRate = monthlyGross / (workingDays * 8.0);
+            Double overtime = round(input.overtimeHours() * hourlyRate * 1.5);
+            Double gross = round(basic + hra + transport + medical + other + overtime);
+            
+            Double providentFund = round(Math.min(basic, 15_000) * 0.12);
+            Double professionalTax = gross > 15_000 ? 200.0 : gross > 10_000 ? 150.0 : 0.0;
+            Double incomeTax = round(annualIncomeTax(gross * 12) / 12);
+            Double deductions = round(providentFund + professionalTax + incomeTax);
+            return new BoxedPayslip(basic, hra, transport, medical, other, overtime, gross, providentFund,
+                    professionalTax, incomeTax, deductions, round(gross - deductions));
+        }
+        
+        private static Double annualIncomeTax(Double annualIncome) {
+            Double taxable = annualIncome - 75_000;
+            if (taxable <= 1_200_000) {
+                return 0.0;
+            }
+            Double tax = 0.0;
+            Double lower = 0.0;
+            for (int i = 0; i <= TAX_SLAB_LIMITS.length && taxable > lower; i++) {
+                Double upper = i < TAX_SLAB_LIMITS.length ? TAX_SLAB_LIMITS[i] : Double.MAX_VALUE;
+                tax += (Math.min(taxable, upper) - lower) * TAX_SLAB_RATES[i];
+                lower = upper;
+            }
+            return tax * 1.04;
+        }
+        
+        private static Double round(Double amount) {
+            return Math.round(amount * 100) / 100.0;
+        }
+    }
+}
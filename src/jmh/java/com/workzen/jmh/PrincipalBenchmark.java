@@ -0,0 +1,52 @@
+package com.workzen.jmh;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import com.workzen.security.EmployeePrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What Spring Security calls on every request, on the entity and on the cached
+ * principal; {@code gc.alloc.rate.norm} in the results is the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrincipalBenchmark {
+    
+    private final Employee employee = Employee.builder()
+            .email("priya.sharma@workzen.test")
+            .password("{noop}secret")
+            .role(Role.SENIOR_DEVELOPER)
+            .status(EmployeeStatus.ACTIVE)
+            .build();
+    private final EmployeePrincipal principal = new EmployeePrincipal(1L, "priya.sharma@workzen.test",
+            "{noop}secret", Role.SENIOR_DEVELOPER, EmployeeStatus.ACTIVE, true, true, true, true);
+    
+    @Benchmark
+    public void employeeAuthoritiesAndEnabled(Blackhole blackhole) {
+        blackhole.consume(employee.getAuthorities());
+        blackhole.consume(employee.isEnabled());
+    }
+    
+    @Benchmark
+    public void principalAuthoritiesAndEnabled(Blackhole blackhole) {
+        blackhole.consume(principal.getAuthorities());
+        blackhole.consume(principal.isEnabled());
+    }
+}
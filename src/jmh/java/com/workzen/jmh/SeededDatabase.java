@@ -0,0 +1,38 @@
+package com.workzen.jmh;
+
+import com.workzen.WorkZenHrmsApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * One application context per benchmark fork, started with the {@code benchmark} profile
+ * against an H2 database seeded by {@link BenchmarkDataSeeder}.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    
+    private ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(WorkZenHrmsApplication.class, BenchmarkDataSeeder.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -1,13 +0,0 @@
-package com.odoo.odoo;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class OdooApplication {
-
-	public static void main(String[] args) {
-		SpringApplication.run(OdooApplication.class, args);
-	}
-
-}
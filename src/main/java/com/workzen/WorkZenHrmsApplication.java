@@ -2,14 +2,26 @@ package com.workzen;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableScheduling
+@EnableMethodSecurity
 public class WorkZenHrmsApplication {
 
+	// Startup steps kept for /actuator/startup when run with -Dworkzen.startup.record-steps=true
+	private static final int STARTUP_STEP_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(WorkZenHrmsApplication.class, args);
+		SpringApplication application = new SpringApplication(WorkZenHrmsApplication.class);
+		if (Boolean.getBoolean("workzen.startup.record-steps")) {
+			application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		}
+		application.run(args);
 	}
 
 }
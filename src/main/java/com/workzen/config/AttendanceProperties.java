@@ -0,0 +1,77 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.attendance")
+public class AttendanceProperties {
+    
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime shiftStart = LocalTime.of(9, 0);
+    
+    private Duration lateGracePeriod = Duration.ofMinutes(10);
+    
+    private double standardWorkHours = 8.0;
+    
+    private double halfDayHours = 4.0;
+    
+    private final CsvImport csvImport = new CsvImport();
+    
+    private final RollCall rollCall = new RollCall();
+    
+    private final PunchBuffer punchBuffer = new PunchBuffer();
+    
+    private final MonthStore monthStore = new MonthStore();
+    
+    public LocalTime lateAfter() {
+        return shiftStart.plus(lateGracePeriod);
+    }
+    
+    @Data
+    public static class CsvImport {
+        
+        // Rows per transaction; also the unit of restart after a crash
+        private int chunkSize = 5_000;
+    }
+    
+    @Data
+    public static class RollCall {
+        
+        private String cron = "0 30 0 * * *";
+        
+        // Days before today that each run (re)checks, so a missed night is caught up
+        private int lookbackDays = 3;
+        
+        private Set<DayOfWeek> workingDays = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+    }
+    
+    @Data
+    public static class PunchBuffer {
+        
+        private boolean enabled = false;
+        
+        // Local disk; punches are acknowledged once fsynced here
+        private Path logDirectory = Path.of("data", "punch-log");
+        
+        private Duration flushInterval = Duration.ofMillis(250);
+        
+        // Rows per upsert transaction
+        private int batchSize = 1_000;
+    }
+    
+    @Data
+    public static class MonthStore {
+        
+        // Months held in memory including the current one, roughly 14 MB per month per 100k employees
+        private int months = 13;
+    }
+}
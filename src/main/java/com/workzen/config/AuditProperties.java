@@ -0,0 +1,27 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.audit")
+public class AuditProperties {
+    
+    private boolean enabled = true;
+    
+    // Simple class names of the audited entities
+    private Set<String> entities = Set.of("Payroll", "PayrollRun", "Employee", "LeaveBalance");
+    
+    // Recorded as changed, but never with their values
+    private Set<String> maskedProperties = Set.of("password");
+    
+    // Records waiting for the writer; beyond this the committing thread writes its own
+    private int queueCapacity = 50_000;
+    
+    private int batchSize = 500;
+    
+    private Duration flushInterval = Duration.ofMillis(200);
+}
@@ -0,0 +1,33 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.db-concurrency")
+public class DatabaseConcurrencyProperties {
+    
+    // Limits how many threads hold a connection at once; pairs with spring.threads.virtual.enabled
+    private boolean enabled = false;
+    
+    private int initialLimit = 10;
+    
+    private int minLimit = 2;
+    
+    // Keep at or a little above spring.datasource.hikari.maximum-pool-size
+    private int maxLimit = 20;
+    
+    // Threads waiting for a permit; beyond this getConnection fails at once
+    private int maxQueued = 1_000;
+    
+    // How long a queued thread waits for a permit before getConnection fails
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+    
+    // Waiting longer than this on the pool itself means the limit is above what the pool serves
+    private Duration targetPoolWait = Duration.ofMillis(5);
+    
+    // How far connection hold time may rise over its long-term average before the limit shrinks
+    private double latencyTolerance = 1.5;
+}
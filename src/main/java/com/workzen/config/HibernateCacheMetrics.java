@@ -0,0 +1,43 @@
+package com.workzen.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Size, hit, miss and eviction meters ({@code cache.*}, tagged with the region name)
+ * for every JCache region of the Hibernate second-level cache. Hibernate's own
+ * statistics, bound by Spring Boot as {@code hibernate.second.level.cache.*}, have no
+ * evictions, which is what shows a region's size budget is too small.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return;
+        }
+        CacheManager cacheManager = jcache.getCacheManager();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.of("cacheManager", "hibernate"));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.mail-outbox")
+public class MailOutboxProperties {
+    
+    // Mail is always written to the outbox; this only controls whether this node sends it
+    private boolean dispatcherEnabled = true;
+    
+    private String from = "no-reply@workzen.local";
+    
+    // Pause between polls once the outbox has been drained
+    private Duration pollInterval = Duration.ofSeconds(1);
+    
+    // Messages claimed at once and sent over a single SMTP connection
+    private int batchSize = 50;
+    
+    // Upper bound on messages sent per second, across batches
+    private int maxPerSecond = 20;
+    
+    private int maxAttempts = 8;
+    
+    // Doubles after every failed attempt, up to maxBackoff
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    
+    private Duration maxBackoff = Duration.ofHours(1);
+    
+    // A claimed message becomes due again after this if its sender dies mid-batch
+    private Duration claimLease = Duration.ofMinutes(5);
+    
+    // Sent messages are deleted after this long
+    private Duration sentRetention = Duration.ofDays(7);
+}
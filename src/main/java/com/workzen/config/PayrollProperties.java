@@ -0,0 +1,82 @@
+package com.workzen.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.payroll")
+public class PayrollProperties {
+    
+    // Concurrent partitions of a payroll run; each holds one pooled connection while working
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    
+    // Employees per transaction
+    private int chunkSize = 500;
+    
+    // Id-range partitions created per worker, smaller partitions even out stragglers
+    private int partitionsPerWorker = 4;
+    
+    private final Rules rules = new Rules();
+    
+    /**
+     * Earnings split and statutory deductions applied by {@code PayrollKernel}. Amounts
+     * are rupees, rates are fractions (0.12 = 12%).
+     */
+    @Data
+    public static class Rules {
+        
+        // Shares of the monthly CTC; whatever the fixed allowances leave goes to other allowances
+        private BigDecimal basicShare = new BigDecimal("0.50");
+        private BigDecimal hraShareOfBasic = new BigDecimal("0.40");
+        private BigDecimal transportAllowance = new BigDecimal("1600");
+        private BigDecimal medicalAllowance = new BigDecimal("1250");
+        
+        private BigDecimal overtimeRate = new BigDecimal("1.5");
+        private int standardDayHours = 8;
+        
+        private BigDecimal providentFundRate = new BigDecimal("0.12");
+        private BigDecimal providentFundWageCeiling = new BigDecimal("15000");
+        
+        // Monthly gross above the threshold pays the amount; the highest matching slab applies
+        private List<ProfessionalTaxSlab> professionalTax = List.of(
+                new ProfessionalTaxSlab(new BigDecimal("15000"), new BigDecimal("200")),
+                new ProfessionalTaxSlab(new BigDecimal("10000"), new BigDecimal("150")));
+        
+        private BigDecimal standardDeduction = new BigDecimal("75000");
+        // No income tax at all up to this annual taxable income
+        private BigDecimal rebateLimit = new BigDecimal("1200000");
+        private BigDecimal cessRate = new BigDecimal("0.04");
+        // Ascending; the last slab has no upper limit
+        private List<IncomeTaxSlab> incomeTax = List.of(
+                new IncomeTaxSlab(new BigDecimal("400000"), BigDecimal.ZERO),
+                new IncomeTaxSlab(new BigDecimal("800000"), new BigDecimal("0.05")),
+                new IncomeTaxSlab(new BigDecimal("1200000"), new BigDecimal("0.10")),
+                new IncomeTaxSlab(new BigDecimal("1600000"), new BigDecimal("0.15")),
+                new IncomeTaxSlab(new BigDecimal("2000000"), new BigDecimal("0.20")),
+                new IncomeTaxSlab(new BigDecimal("2400000"), new BigDecimal("0.25")),
+                new IncomeTaxSlab(null, new BigDecimal("0.30")));
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfessionalTaxSlab {
+        
+        private BigDecimal grossAbove;
+        private BigDecimal amount;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IncomeTaxSlab {
+        
+        private BigDecimal upTo;
+        private BigDecimal rate;
+    }
+}
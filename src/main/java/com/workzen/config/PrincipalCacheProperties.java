@@ -0,0 +1,16 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.security.principal-cache")
+public class PrincipalCacheProperties {
+    
+    // Upper bound on staleness for changes that bypass Hibernate (bulk SQL, other nodes)
+    private Duration ttl = Duration.ofMinutes(5);
+    
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,23 @@
+package com.workzen.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workzen.query-metrics")
+public class QueryMetricsProperties {
+    
+    // JDBC statements one HTTP request may prepare before it is reported as a likely N+1
+    private int requestStatementBudget = 50;
+    
+    // Same for one transaction, whether from @Transactional or a TransactionTemplate
+    private int transactionStatementBudget = 100;
+    
+    // FAIL throws once the request or transaction is over; meant for tests
+    private BudgetMode budgetMode = BudgetMode.LOG;
+    
+    public enum BudgetMode {
+        LOG,
+        FAIL
+    }
+}
@@ -0,0 +1,35 @@
+package com.workzen.config;
+
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Beans that must stay eager under {@code spring.main.lazy-initialization=true} (the
+ * {@code fast-startup} profile). Hibernate post-commit listeners register themselves when
+ * they are created, and {@code @Scheduled} methods are only picked up from beans that
+ * exist, so left lazy both would silently never run. Everything else is created on first
+ * use; {@code @EventListener} methods still get their events.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+    
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (PostCommitInsertEventListener.class.isAssignableFrom(beanType) || hasScheduledMethods(beanType));
+    }
+    
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> scheduled.set(true),
+                method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return scheduled.get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.workzen.controller;
+
+import com.workzen.enums.Department;
+import com.workzen.service.PayrollExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/payroll")
+@RequiredArgsConstructor
+public class PayrollExportController {
+    
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    
+    private final PayrollExportService payrollExportService;
+    
+    /**
+     * Payroll register of a month, e.g. {@code /api/payroll/register?month=2024-03&format=xlsx}.
+     * The body is written while the rows are read, so the download starts immediately.
+     * Carries bank details, PAN and salaries, so only admin, HR and finance roles may export it.
+     */
+    @GetMapping("/register")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'HR_MANAGER', 'HR_EXECUTIVE', "
+            + "'FINANCE_MANAGER', 'ACCOUNTANT', 'PAYROLL_SPECIALIST')")
+    public ResponseEntity<StreamingResponseBody> exportRegister(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Department department,
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean xlsx = switch (format.toLowerCase(Locale.ROOT)) {
+            case "xlsx" -> true;
+            case "csv" -> false;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format " + format);
+        };
+        String fileName = "payroll-register-" + month
+                + (department == null ? "" : "-" + department.name().toLowerCase(Locale.ROOT))
+                + (xlsx ? ".xlsx" : ".csv");
+        StreamingResponseBody body = xlsx
+                ? output -> payrollExportService.writeXlsx(month, department, output)
+                : output -> payrollExportService.writeCsv(month, department, output);
+        return ResponseEntity.ok()
+                .contentType(xlsx ? XLSX : CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.workzen.dto;
+
+import java.nio.file.Path;
+
+public record AttendanceImportProgress(
+        String fileName,
+        long linesProcessed,
+        long rowsImported,
+        long rowsMerged,
+        long rowsRejected,
+        int chunksCommitted,
+        Path errorFile,
+        boolean completed) {
+}
@@ -0,0 +1,17 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One line of the daily attendance sheet, with the employee's code, name and department
+ * joined in so the sheet is read in a single statement.
+ */
+public record AttendanceSheetRow(Long id, Long employeeId, String employeeCode, String employeeName,
+                                 Department department, LocalDate date, LocalTime checkInTime,
+                                 LocalTime checkOutTime, AttendanceStatus status, Double workHours,
+                                 Double overtimeHours, boolean late, Integer lateMinutes, String location) {
+}
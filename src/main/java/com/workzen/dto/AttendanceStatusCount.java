@@ -0,0 +1,6 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AttendanceStatus;
+
+public record AttendanceStatusCount(Long employeeId, AttendanceStatus status, Long days, Double overtimeHours) {
+}
@@ -0,0 +1,24 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One attendance row written through {@link com.workzen.repository.AttendanceUpsertRepository}.
+ * {@code employeeId} is the database id of the employee, not the employee code.
+ */
+public record AttendanceUpsert(
+        long employeeId,
+        LocalDate date,
+        LocalTime checkInTime,
+        LocalTime checkOutTime,
+        AttendanceStatus status,
+        Double workHours,
+        Double overtimeHours,
+        boolean late,
+        Integer lateMinutes,
+        String location,
+        String remarks) {
+}
@@ -0,0 +1,20 @@
+package com.workzen.dto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Published by the JDBC attendance writers, which bypass Hibernate, for the rows they
+ * wrote between {@code from} and {@code to}. {@code employeeIds} is {@code null} when
+ * every employee may have been written.
+ */
+public record AttendanceWriteEvent(Collection<Long> employeeIds, LocalDate from, LocalDate to) {
+    
+    public static AttendanceWriteEvent allEmployees(LocalDate date) {
+        return new AttendanceWriteEvent(null, date, date);
+    }
+    
+    public boolean coversAllEmployees() {
+        return employeeIds == null;
+    }
+}
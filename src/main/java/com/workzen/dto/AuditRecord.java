@@ -0,0 +1,20 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One committed entity change on its way to {@code audit_events}. Values are rendered
+ * as strings when the change is captured; associations as the id of the target.
+ */
+public record AuditRecord(String entityType, Long entityId, AuditAction action, List<FieldChange> changes,
+                          String changedBy, LocalDateTime changedAt) {
+    
+    /**
+     * {@code from} is {@code null} for inserts, {@code to} for deletes.
+     */
+    public record FieldChange(String property, String from, String to) {
+    }
+}
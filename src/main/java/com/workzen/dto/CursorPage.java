@@ -0,0 +1,21 @@
+package com.workzen.dto;
+
+import com.workzen.util.ScrollCursors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * One keyset-paged chunk of a listing. {@code nextCursor} is {@code null} on the last
+ * chunk; there is deliberately no total count.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+    
+    public static <T> CursorPage<T> of(Window<T> window) {
+        String next = window.hasNext() && !window.isEmpty()
+                ? ScrollCursors.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPage<>(window.getContent(), next);
+    }
+}
@@ -0,0 +1,26 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+
+import java.time.YearMonth;
+
+/**
+ * Attendance of a department for one month: per status and day of month, how many
+ * employees had that status, plus the month's total work and overtime hours.
+ */
+public record DepartmentAttendance(Department department, YearMonth month, int employees, int[][] dayCounts,
+                                   double workHours, double overtimeHours) {
+    
+    public int count(AttendanceStatus status, int dayOfMonth) {
+        return dayCounts[status.ordinal()][dayOfMonth - 1];
+    }
+    
+    public int total(AttendanceStatus status) {
+        int total = 0;
+        for (int count : dayCounts[status.ordinal()]) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,10 @@
+package com.workzen.dto;
+
+import com.workzen.enums.Department;
+import com.workzen.enums.Role;
+
+/**
+ * The department and role an employee is currently counted under.
+ */
+public record EmployeeGrouping(Long employeeId, Department department, Role role) {
+}
@@ -0,0 +1,7 @@
+package com.workzen.dto;
+
+/**
+ * Maps an employee code ({@code Employee.employeeId}) to the database id.
+ */
+public record EmployeeKey(Long id, String employeeId) {
+}
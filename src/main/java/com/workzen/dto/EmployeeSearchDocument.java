@@ -0,0 +1,14 @@
+package com.workzen.dto;
+
+import com.workzen.entity.Employee;
+
+/**
+ * The searchable fields of an employee, as kept by {@link com.workzen.index.EmployeeSearchIndex}.
+ */
+public record EmployeeSearchDocument(Long id, String firstName, String lastName, String email, String employeeId) {
+    
+    public static EmployeeSearchDocument of(Employee employee) {
+        return new EmployeeSearchDocument(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getEmployeeId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.workzen.dto;
+
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+
+/**
+ * An employee row as shown in directory and department lists, without the lob address,
+ * bank and identity details or the manager association.
+ */
+public record EmployeeSummary(Long id, String employeeId, String firstName, String lastName, String email,
+                              Department department, Role role, EmployeeStatus status, String designation) {
+    
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
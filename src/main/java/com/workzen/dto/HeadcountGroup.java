@@ -0,0 +1,11 @@
+package com.workzen.dto;
+
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+
+/**
+ * Number of employees sharing a department, status and role; any of them may be {@code null}.
+ */
+public record HeadcountGroup(Department department, EmployeeStatus status, Role role, Long count) {
+}
@@ -0,0 +1,16 @@
+package com.workzen.dto;
+
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.enums.LeaveType;
+
+import java.time.LocalDate;
+
+/**
+ * A leave application as listed, without the reason and approval remarks. The approver
+ * is {@code null} until the application is decided.
+ */
+public record LeaveApplicationSummary(Long id, Long employeeId, String employeeName, LeaveType leaveType,
+                                      LocalDate startDate, LocalDate endDate, Integer totalDays,
+                                      LeaveStatus status, boolean halfDay, Long approvedById,
+                                      String approvedByName) {
+}
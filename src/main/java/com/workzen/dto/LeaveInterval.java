@@ -0,0 +1,9 @@
+package com.workzen.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The dates of a pending or approved leave application, as held by the leave interval index.
+ */
+public record LeaveInterval(Long applicationId, Long employeeId, LocalDate startDate, LocalDate endDate) {
+}
@@ -0,0 +1,38 @@
+package com.workzen.dto;
+
+import com.workzen.enums.AttendanceStatus;
+
+import java.util.List;
+
+/**
+ * Attendance totals of one employee for one salary month.
+ */
+public record MonthlyAttendance(int daysWorked, int daysOnLeave, int daysAbsent, int halfDays, double overtimeHours) {
+    
+    public static final MonthlyAttendance NONE = new MonthlyAttendance(0, 0, 0, 0, 0);
+    
+    public static MonthlyAttendance from(List<AttendanceStatusCount> counts) {
+        int worked = 0;
+        int onLeave = 0;
+        int absent = 0;
+        int halfDays = 0;
+        double overtime = 0;
+        for (AttendanceStatusCount count : counts) {
+            int days = count.days().intValue();
+            if (count.status() == AttendanceStatus.HALF_DAY) {
+                halfDays += days;
+            }
+            if (count.status() != null && count.status().countsAsWorked()) {
+                worked += days;
+            } else if (count.status() == AttendanceStatus.ON_LEAVE) {
+                onLeave += days;
+            } else if (count.status() == AttendanceStatus.ABSENT) {
+                absent += days;
+            }
+            if (count.overtimeHours() != null) {
+                overtime += count.overtimeHours();
+            }
+        }
+        return new MonthlyAttendance(worked, onLeave, absent, halfDays, overtime);
+    }
+}
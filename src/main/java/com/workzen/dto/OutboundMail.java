@@ -0,0 +1,8 @@
+package com.workzen.dto;
+
+/**
+ * A plain-text notification to be written to the mail outbox. {@code dedupKey} names the
+ * event, e.g. {@code leave-decision:42:APPROVED}; only the first mail per key is kept.
+ */
+public record OutboundMail(String dedupKey, String recipient, String subject, String body) {
+}
@@ -0,0 +1,6 @@
+package com.workzen.dto;
+
+import java.math.BigDecimal;
+
+public record PayrollCandidate(Long employeeId, String firstName, String email, BigDecimal salary) {
+}
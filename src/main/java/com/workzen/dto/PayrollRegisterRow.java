@@ -0,0 +1,42 @@
+package com.workzen.dto;
+
+import com.workzen.enums.Department;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of the monthly payroll register: the payslip amounts with the employee and
+ * bank fields joined in, so an export never touches {@code Employee} proxies.
+ */
+public record PayrollRegisterRow(
+        String employeeCode,
+        String firstName,
+        String lastName,
+        Department department,
+        String designation,
+        String bankName,
+        String bankAccountNumber,
+        String ifscCode,
+        String panNumber,
+        LocalDate salaryMonth,
+        BigDecimal basicSalary,
+        BigDecimal hra,
+        BigDecimal transportAllowance,
+        BigDecimal medicalAllowance,
+        BigDecimal otherAllowances,
+        BigDecimal overtimeAmount,
+        BigDecimal bonus,
+        BigDecimal grossSalary,
+        BigDecimal providentFund,
+        BigDecimal professionalTax,
+        BigDecimal incomeTax,
+        BigDecimal otherDeductions,
+        BigDecimal totalDeductions,
+        BigDecimal netSalary,
+        Integer daysWorked,
+        Integer daysOnLeave,
+        Double overtimeHours,
+        LocalDate processedDate,
+        String processedBy) {
+}
@@ -0,0 +1,7 @@
+package com.workzen.dto;
+
+/**
+ * An outbox row claimed for sending; {@code attempts} includes the current one.
+ */
+public record PendingMail(Long id, String dedupKey, String recipient, String subject, String body, int attempts) {
+}
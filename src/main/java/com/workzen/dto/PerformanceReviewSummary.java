@@ -0,0 +1,14 @@
+package com.workzen.dto;
+
+import com.workzen.entity.PerformanceReview.ReviewStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A performance review as listed: ratings and status, without the written feedback.
+ */
+public record PerformanceReviewSummary(Long id, Long employeeId, String employeeName, Long reviewerId,
+                                       String reviewerName, LocalDate reviewPeriodStart,
+                                       LocalDate reviewPeriodEnd, Double overallRating, ReviewStatus status,
+                                       LocalDate reviewDate) {
+}
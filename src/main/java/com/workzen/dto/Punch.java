@@ -0,0 +1,16 @@
+package com.workzen.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A single badge or app punch as taken in by {@link com.workzen.service.AttendancePunchBuffer}.
+ * {@code employeeId} is the database id of the employee.
+ */
+public record Punch(long employeeId, LocalDate date, LocalTime time, Kind kind, String location) {
+    
+    public enum Kind {
+        CHECK_IN,
+        CHECK_OUT
+    }
+}
@@ -0,0 +1,14 @@
+package com.workzen.dto;
+
+/**
+ * Count, mean and population variance of one rating dimension over a group of reviews.
+ * Reviews without a rating in the dimension are not counted.
+ */
+public record RatingStats(long count, double mean, double variance) {
+    
+    public static final RatingStats EMPTY = new RatingStats(0, 0, 0);
+    
+    public double standardDeviation() {
+        return Math.sqrt(variance);
+    }
+}
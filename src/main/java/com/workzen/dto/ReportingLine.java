@@ -0,0 +1,7 @@
+package com.workzen.dto;
+
+/**
+ * An employee id and the id of their direct manager, {@code null} at the top of the org chart.
+ */
+public record ReportingLine(Long employeeId, Long managerId) {
+}
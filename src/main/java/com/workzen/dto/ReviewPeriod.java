@@ -0,0 +1,9 @@
+package com.workzen.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The period a performance review covers; reviews of one appraisal cycle share it.
+ */
+public record ReviewPeriod(LocalDate start, LocalDate end) {
+}
@@ -0,0 +1,36 @@
+package com.workzen.dto;
+
+import com.workzen.entity.PerformanceReview;
+import com.workzen.enums.RatingDimension;
+
+import java.time.LocalDate;
+
+/**
+ * The ratings of one performance review with the ids and period they are rolled up by.
+ */
+public record ReviewRating(Long reviewId, Long employeeId, Long reviewerId, LocalDate periodStart,
+                           LocalDate periodEnd, Double overall, Double technicalSkills, Double communication,
+                           Double teamwork, Double leadership, Double punctuality) {
+    
+    public static ReviewRating of(PerformanceReview review) {
+        return new ReviewRating(review.getId(), review.getEmployee().getId(), review.getReviewer().getId(),
+                review.getReviewPeriodStart(), review.getReviewPeriodEnd(), review.getOverallRating(),
+                review.getTechnicalSkillsRating(), review.getCommunicationRating(), review.getTeamworkRating(),
+                review.getLeadershipRating(), review.getPunctualityRating());
+    }
+    
+    public ReviewPeriod period() {
+        return new ReviewPeriod(periodStart, periodEnd);
+    }
+    
+    public Double rating(RatingDimension dimension) {
+        return switch (dimension) {
+            case OVERALL -> overall;
+            case TECHNICAL_SKILLS -> technicalSkills;
+            case COMMUNICATION -> communication;
+            case TEAMWORK -> teamwork;
+            case LEADERSHIP -> leadership;
+            case PUNCTUALITY -> punctuality;
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.workzen.dto;
+
+/**
+ * How far a reviewer's mean rating sits from the mean of all reviews in the period, as a
+ * z-score of the reviewer's mean: positive for lenient reviewers, negative for harsh ones.
+ */
+public record ReviewerCalibration(Long reviewerId, long reviews, double mean, double periodMean, double zScore) {
+}
@@ -0,0 +1,9 @@
+package com.workzen.dto;
+
+/**
+ * One page of ranked search results: entity ids in rank order plus the total match count.
+ */
+public record SearchHits(long[] ids, int totalMatches) {
+    
+    public static final SearchHits EMPTY = new SearchHits(new long[0], 0);
+}
@@ -13,7 +13,13 @@ import java.time.LocalTime;
 
 @Entity
 @Table(name = "attendance", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "date"}))
+       uniqueConstraints = @UniqueConstraint(name = "uk_attendance_employee_date",
+                                             columnNames = {"employee_id", "date"}),
+       // (employee_id, date) lookups are served by the unique constraint's index
+       indexes = {
+           @Index(name = "idx_attendance_date_status", columnList = "date, status"),
+           @Index(name = "idx_attendance_date_id", columnList = "date, id")
+       })
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Builder
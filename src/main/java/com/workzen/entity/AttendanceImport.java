@@ -0,0 +1,73 @@
+package com.workzen.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a badge-reader/CSV attendance import. Updated in the same transaction
+ * as each imported chunk so a crashed import resumes after the last committed line.
+ */
+@Entity
+@Table(name = "attendance_imports")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceImport extends BaseEntity {
+    
+    @Column(name = "file_key", unique = true, nullable = false)
+    private String fileKey;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "lines_committed", nullable = false)
+    @Builder.Default
+    private long linesCommitted = 0;
+    
+    @Column(name = "rows_imported", nullable = false)
+    @Builder.Default
+    private long rowsImported = 0;
+    
+    // Rows that collapsed into another row of the same employee-day
+    @Column(name = "rows_merged", nullable = false)
+    @Builder.Default
+    private long rowsMerged = 0;
+    
+    @Column(name = "rows_rejected", nullable = false)
+    @Builder.Default
+    private long rowsRejected = 0;
+    
+    // Length of the error file that belongs to the committed lines
+    @Column(name = "error_file_size")
+    private Long errorFileSize;
+    
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ImportStatus status = ImportStatus.IN_PROGRESS;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    public enum ImportStatus {
+        IN_PROGRESS("In Progress"),
+        COMPLETED("Completed");
+        
+        private final String displayName;
+        
+        ImportStatus(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.workzen.entity;
+
+import com.workzen.enums.AuditAction;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only change history written by {@link com.workzen.service.AuditTrail}. Rows are
+ * inserted with JDBC batches and never updated; the mapping exists for schema generation
+ * and reads. Not a {@link BaseEntity}, so audit rows are not audited themselves.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events",
+       indexes = @Index(name = "idx_audit_events_entity", columnList = "entity_type, entity_id, changed_at"))
+@Getter
+@NoArgsConstructor
+public class AuditEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "entity_type", nullable = false, length = 64)
+    private String entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditAction action;
+    
+    // JSON array of {property, from, to}
+    @Column(nullable = false, columnDefinition = "text")
+    private String changes;
+    
+    @Column(name = "changed_by")
+    private String changedBy;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
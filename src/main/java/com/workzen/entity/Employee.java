@@ -3,22 +3,32 @@ package com.workzen.entity;
 import com.workzen.enums.Department;
 import com.workzen.enums.EmployeeStatus;
 import com.workzen.enums.Role;
+import com.workzen.index.OrgHierarchyIndex;
+import com.workzen.security.RoleAuthorities;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
-import java.util.Collections;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees",
+       indexes = @Index(name = "idx_employees_department_status_last_name",
+                        columnList = "department, status, last_name, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@NaturalIdCache(region = Employee.NATURAL_ID_CACHE_REGION)
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Builder
@@ -26,6 +36,12 @@ import java.util.Collections;
 @AllArgsConstructor
 public class Employee extends BaseEntity implements UserDetails {
     
+    // Second-level cache regions, configured in hibernate-cache.conf
+    public static final String CACHE_REGION = "employee";
+    public static final String NATURAL_ID_CACHE_REGION = "employee-natural-id";
+    public static final String QUERY_CACHE_REGION = "employee-queries";
+    
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String employeeId;
     
@@ -49,6 +65,9 @@ public class Employee extends BaseEntity implements UserDetails {
     private String gender;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String address;
     
     private LocalDate dateOfJoining;
@@ -63,7 +82,8 @@ public class Employee extends BaseEntity implements UserDetails {
     @Builder.Default
     private EmployeeStatus status = EmployeeStatus.ACTIVE;
     
-    private Double salary;
+    @Column(precision = 14, scale = 2)
+    private BigDecimal salary;
     
     private String designation;
     
@@ -104,7 +124,7 @@ public class Employee extends BaseEntity implements UserDetails {
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return RoleAuthorities.of(role);
     }
     
     @Override
@@ -142,9 +162,21 @@ public class Employee extends BaseEntity implements UserDetails {
         return firstName + " " + lastName;
     }
     
+    // Reads the foreign key from the proxy without initializing it
+    public Long getManagerId() {
+        return manager == null ? null : manager.getId();
+    }
+    
     public boolean canManage(Employee employee) {
-        return this.equals(employee.getManager()) || 
+        return (getId() != null && getId().equals(employee.getManagerId())) || 
                this.getRole().isAdmin() || 
                this.getRole().isHR();
     }
+    
+    public boolean canManage(Employee employee, OrgHierarchyIndex hierarchy) {
+        if (this.getRole().isAdmin() || this.getRole().isHR()) {
+            return true;
+        }
+        return getId() != null && employee.getId() != null && hierarchy.isManagerOf(getId(), employee.getId());
+    }
 }
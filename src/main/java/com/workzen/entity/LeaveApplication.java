@@ -7,11 +7,18 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.LazyGroup;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumSet;
 
 @Entity
-@Table(name = "leave_applications")
+@Table(name = "leave_applications",
+       // Backs the overlap check of a submission, run under the employee's row lock
+       indexes = @Index(name = "idx_leave_applications_employee_dates",
+                        columnList = "employee_id, start_date, end_date"))
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Builder
@@ -36,6 +43,10 @@ public class LeaveApplication extends BaseEntity {
     private Integer totalDays;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("remarks")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String reason;
     
     @Enumerated(EnumType.STRING)
@@ -50,6 +61,10 @@ public class LeaveApplication extends BaseEntity {
     private LocalDate approvalDate;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("remarks")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "approval_remarks")
     private String approvalRemarks;
     
@@ -57,6 +72,13 @@ public class LeaveApplication extends BaseEntity {
     @Builder.Default
     private boolean isHalfDay = false;
     
+    /**
+     * Days this application takes off the {@link LeaveBalance}.
+     */
+    public BigDecimal chargedDays() {
+        return isHalfDay ? new BigDecimal("0.5") : BigDecimal.valueOf(totalDays);
+    }
+    
     public enum LeaveStatus {
         PENDING("Pending"),
         APPROVED("Approved"),
@@ -72,5 +94,14 @@ public class LeaveApplication extends BaseEntity {
         public String getDisplayName() {
             return displayName;
         }
+        
+        // Pending and approved applications hold their days and dates
+        public boolean holdsLeave() {
+            return this == PENDING || this == APPROVED;
+        }
+        
+        public static EnumSet<LeaveStatus> holdingStatuses() {
+            return EnumSet.of(PENDING, APPROVED);
+        }
     }
 }
@@ -0,0 +1,82 @@
+package com.workzen.entity;
+
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.enums.LeaveType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Leave ledger of one employee for one calendar year and {@link LeaveType}. Days of pending
+ * applications are held in {@code pendingDays} and move to {@code usedDays} on approval,
+ * so the remaining balance is read from this row instead of summing the employee's
+ * applications. An application is charged to the year its start date falls in.
+ */
+@Entity
+@Table(name = "leave_balances",
+       uniqueConstraints = @UniqueConstraint(name = "uk_leave_balances_employee_year_type",
+                                             columnNames = {"employee_id", "leave_year", "leave_type"}))
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalance extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "employee_id")
+    private Employee employee;
+    
+    @Column(name = "leave_year", nullable = false)
+    private int year;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private LeaveType leaveType;
+    
+    @Column(name = "allowed_days", nullable = false)
+    private int allowedDays;
+    
+    @Column(name = "used_days", nullable = false, precision = 6, scale = 1)
+    @Builder.Default
+    private BigDecimal usedDays = BigDecimal.ZERO;
+    
+    @Column(name = "pending_days", nullable = false, precision = 6, scale = 1)
+    @Builder.Default
+    private BigDecimal pendingDays = BigDecimal.ZERO;
+    
+    public BigDecimal getRemainingDays() {
+        return BigDecimal.valueOf(allowedDays).subtract(usedDays).subtract(pendingDays);
+    }
+    
+    // Unpaid leave has no allowance to run out of
+    public boolean isUnlimited() {
+        return leaveType == LeaveType.UNPAID_LEAVE;
+    }
+    
+    public boolean canCover(BigDecimal days) {
+        return isUnlimited() || getRemainingDays().compareTo(days) >= 0;
+    }
+    
+    /**
+     * Moves {@code days} of an application from its previous status to its new one;
+     * {@code from} is {@code null} for a new application.
+     */
+    public void transfer(BigDecimal days, LeaveStatus from, LeaveStatus to) {
+        add(from, days.negate());
+        add(to, days);
+    }
+    
+    private void add(LeaveStatus status, BigDecimal days) {
+        if (status == LeaveStatus.PENDING) {
+            pendingDays = pendingDays.add(days);
+        } else if (status == LeaveStatus.APPROVED) {
+            usedDays = usedDays.add(days);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.workzen.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification mail waiting in {@code mail_outbox}. Rows are inserted in the business
+ * transaction and claimed, sent and updated by {@link com.workzen.service.MailOutboxDispatcher},
+ * all with plain JDBC; the mapping exists for schema generation and reads. Not a
+ * {@link BaseEntity}, so outbox rows are not audited.
+ */
+@Entity
+@Table(name = "mail_outbox",
+       uniqueConstraints = @UniqueConstraint(name = "uk_mail_outbox_dedup_key", columnNames = "dedup_key"),
+       indexes = @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at"))
+@Getter
+@NoArgsConstructor
+public class MailOutboxMessage {
+    
+    // Inserted with nextval('mail_outbox_seq') directly, one sequence value per row
+    @Id
+    @PooledSequence
+    private Long id;
+    
+    // Identifies the event the mail is about; a second mail for the same event is dropped
+    @Column(name = "dedup_key", nullable = false, length = 200)
+    private String dedupKey;
+    
+    @Column(nullable = false)
+    private String recipient;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private DeliveryStatus status;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    // Due time while pending; pushed out by the claim lease and by retry back-off
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    public enum DeliveryStatus {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
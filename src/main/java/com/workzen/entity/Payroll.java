@@ -7,10 +7,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "payroll")
+@Table(name = "payroll",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payroll_employee_month",
+                                             columnNames = {"employee_id", "salary_month"}))
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Builder
@@ -25,47 +28,47 @@ public class Payroll extends BaseEntity {
     @Column(name = "salary_month", nullable = false)
     private LocalDate salaryMonth;
     
-    @Column(name = "basic_salary", nullable = false)
-    private Double basicSalary;
+    @Column(name = "basic_salary", nullable = false, precision = 14, scale = 2)
+    private BigDecimal basicSalary;
     
-    @Column(name = "hra")
-    private Double hra;
+    @Column(name = "hra", precision = 14, scale = 2)
+    private BigDecimal hra;
     
-    @Column(name = "transport_allowance")
-    private Double transportAllowance;
+    @Column(name = "transport_allowance", precision = 14, scale = 2)
+    private BigDecimal transportAllowance;
     
-    @Column(name = "medical_allowance")
-    private Double medicalAllowance;
+    @Column(name = "medical_allowance", precision = 14, scale = 2)
+    private BigDecimal medicalAllowance;
     
-    @Column(name = "other_allowances")
-    private Double otherAllowances;
+    @Column(name = "other_allowances", precision = 14, scale = 2)
+    private BigDecimal otherAllowances;
     
-    @Column(name = "overtime_amount")
-    private Double overtimeAmount;
+    @Column(name = "overtime_amount", precision = 14, scale = 2)
+    private BigDecimal overtimeAmount;
     
-    @Column(name = "bonus")
-    private Double bonus;
+    @Column(name = "bonus", precision = 14, scale = 2)
+    private BigDecimal bonus;
     
-    @Column(name = "gross_salary", nullable = false)
-    private Double grossSalary;
+    @Column(name = "gross_salary", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossSalary;
     
-    @Column(name = "provident_fund")
-    private Double providentFund;
+    @Column(name = "provident_fund", precision = 14, scale = 2)
+    private BigDecimal providentFund;
     
-    @Column(name = "professional_tax")
-    private Double professionalTax;
+    @Column(name = "professional_tax", precision = 14, scale = 2)
+    private BigDecimal professionalTax;
     
-    @Column(name = "income_tax")
-    private Double incomeTax;
+    @Column(name = "income_tax", precision = 14, scale = 2)
+    private BigDecimal incomeTax;
     
-    @Column(name = "other_deductions")
-    private Double otherDeductions;
+    @Column(name = "other_deductions", precision = 14, scale = 2)
+    private BigDecimal otherDeductions;
     
-    @Column(name = "total_deductions", nullable = false)
-    private Double totalDeductions;
+    @Column(name = "total_deductions", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalDeductions;
     
-    @Column(name = "net_salary", nullable = false)
-    private Double netSalary;
+    @Column(name = "net_salary", nullable = false, precision = 14, scale = 2)
+    private BigDecimal netSalary;
     
     @Column(name = "days_worked")
     private Integer daysWorked;
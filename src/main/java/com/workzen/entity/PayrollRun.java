@@ -0,0 +1,58 @@
+package com.workzen.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_runs")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRun extends BaseEntity {
+    
+    @Column(name = "salary_month", unique = true, nullable = false)
+    private LocalDate salaryMonth;
+    
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private RunStatus status = RunStatus.RUNNING;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "employees_processed")
+    @Builder.Default
+    private long employeesProcessed = 0;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "processed_by")
+    private Employee processedBy;
+    
+    public enum RunStatus {
+        RUNNING("Running"),
+        COMPLETED("Completed"),
+        FAILED("Failed");
+        
+        private final String displayName;
+        
+        RunStatus(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
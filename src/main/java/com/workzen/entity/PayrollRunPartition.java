@@ -0,0 +1,49 @@
+package com.workzen.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A contiguous employee id range of a {@link PayrollRun}, from {@code firstEmployeeId}
+ * to the fixed upper bound {@code lastEmployeeIdInRange}. {@code lastProcessedEmployeeId}
+ * is advanced in the same transaction as each chunk of generated payroll rows, so a
+ * resumed run continues after the last committed chunk.
+ */
+@Entity
+@Table(name = "payroll_run_partitions")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRunPartition extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "payroll_run_id")
+    private PayrollRun payrollRun;
+    
+    @Column(name = "first_employee_id", nullable = false)
+    private Long firstEmployeeId;
+    
+    @Column(name = "last_employee_id_in_range", nullable = false)
+    private Long lastEmployeeIdInRange;
+    
+    @Column(name = "last_processed_employee_id")
+    private Long lastProcessedEmployeeId;
+    
+    @Column(name = "employees_processed")
+    @Builder.Default
+    private long employeesProcessed = 0;
+    
+    @Column(name = "is_completed")
+    @Builder.Default
+    private boolean isCompleted = false;
+    
+    public long resumeAfterId() {
+        return lastProcessedEmployeeId != null ? lastProcessedEmployeeId : firstEmployeeId - 1;
+    }
+}
@@ -6,8 +6,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 
 @Entity
 @Table(name = "performance_reviews")
@@ -51,20 +54,40 @@ public class PerformanceReview extends BaseEntity {
     private Double punctualityRating;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("feedback")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String strengths;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("feedback")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "areas_for_improvement")
     private String areasForImprovement;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("feedback")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String goals;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("feedback")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "reviewer_comments")
     private String reviewerComments;
     
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("feedback")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "employee_comments")
     private String employeeComments;
     
@@ -90,5 +113,16 @@ public class PerformanceReview extends BaseEntity {
         public String getDisplayName() {
             return displayName;
         }
+        
+        /**
+         * Whether the review is final and counts towards rating rollups.
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == ACKNOWLEDGED;
+        }
+        
+        public static EnumSet<ReviewStatus> finishedStatuses() {
+            return EnumSet.of(COMPLETED, ACKNOWLEDGED);
+        }
     }
 }
@@ -18,4 +18,12 @@ public enum AttendanceStatus {
     public String getDisplayName() {
         return displayName;
     }
+    
+    public boolean countsAsWorked() {
+        return this == PRESENT || this == LATE || this == HALF_DAY || this == WORK_FROM_HOME || this == ON_DUTY;
+    }
+    
+    public boolean isDerivedFromPunches() {
+        return this == PRESENT || this == ABSENT || this == HALF_DAY || this == LATE;
+    }
 }
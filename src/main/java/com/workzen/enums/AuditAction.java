@@ -0,0 +1,7 @@
+package com.workzen.enums;
+
+public enum AuditAction {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -1,5 +1,8 @@
 package com.workzen.enums;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+
 public enum EmployeeStatus {
     ACTIVE("Active"),
     INACTIVE("Inactive"),
@@ -28,4 +31,10 @@ public enum EmployeeStatus {
     public boolean canLogin() {
         return this == ACTIVE || this == ON_LEAVE || this == PROBATION || this == NOTICE_PERIOD;
     }
+    
+    public static EnumSet<EmployeeStatus> activeStatuses() {
+        EnumSet<EmployeeStatus> active = EnumSet.noneOf(EmployeeStatus.class);
+        Arrays.stream(values()).filter(EmployeeStatus::isActive).forEach(active::add);
+        return active;
+    }
 }
@@ -0,0 +1,20 @@
+package com.workzen.enums;
+
+public enum RatingDimension {
+    OVERALL("Overall"),
+    TECHNICAL_SKILLS("Technical Skills"),
+    COMMUNICATION("Communication"),
+    TEAMWORK("Teamwork"),
+    LEADERSHIP("Leadership"),
+    PUNCTUALITY("Punctuality");
+    
+    private final String displayName;
+    
+    RatingDimension(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+}
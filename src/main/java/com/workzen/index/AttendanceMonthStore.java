@@ -0,0 +1,367 @@
+package com.workzen.index;
+
+import com.workzen.dto.DepartmentAttendance;
+import com.workzen.dto.MonthlyAttendance;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Day-level attendance of every employee for the last few months, held in primitive
+ * arrays instead of {@code Attendance} rows. Per month each employee has a slot: two
+ * longs packing the status of the 31 days at 4 bits per day (0 for no row, otherwise
+ * ordinal + 1), and 31 shorts each of work and overtime hours in hundredths. With a
+ * department per slot, a department's monthly totals are a scan of a few arrays.
+ *
+ * <p>The store is filled in one streaming pass through a {@link Loader} and then follows
+ * attendance writes with {@link #put}. Writes that arrive while a load runs are applied
+ * to the current contents and also replayed onto the loaded ones when they are
+ * published, so a write committed after the load read its rows is not lost. A month is
+ * answered only if it is in the loaded window or started after it. Callers go to the
+ * database for anything else; see {@link #covers}.
+ */
+@Component
+public class AttendanceMonthStore {
+    
+    private static final int DAYS = 31;
+    private static final int BITS_PER_DAY = 4;
+    private static final int DAYS_PER_WORD = Long.SIZE / BITS_PER_DAY;
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+    private static final Department[] DEPARTMENTS = Department.values();
+    private static final byte NO_DEPARTMENT = -1;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State(YearMonth.now(), 1);
+    private Loader loading;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Starts a load; only one can run at a time.
+     */
+    public Loader loader(YearMonth from, int retainedMonths) {
+        lock.writeLock().lock();
+        try {
+            if (loading != null) {
+                throw new IllegalStateException("An attendance month load is already running");
+            }
+            loading = new Loader(new State(from, retainedMonths));
+            return loading;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int employees() {
+        lock.readLock().lock();
+        try {
+            return state.slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public boolean covers(YearMonth month) {
+        lock.readLock().lock();
+        try {
+            return ready && !month.isBefore(state.from)
+                    && (state.months.containsKey(month) || month.isAfter(state.newest()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void setDepartment(long employeeId, Department department) {
+        lock.writeLock().lock();
+        try {
+            apply(loaded -> loaded.setDepartment(loaded.slot(employeeId), department));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Records one day; a {@code null} status clears it. Days before the loaded window are ignored.
+     */
+    public void put(long employeeId, LocalDate date, AttendanceStatus status, Double workHours,
+                    Double overtimeHours) {
+        lock.writeLock().lock();
+        try {
+            apply(loaded -> loaded.put(employeeId, date, status, workHours, overtimeHours));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Status of each day of the month, index 0 being the 1st; {@code null} where there is no row.
+     */
+    public AttendanceStatus[] days(long employeeId, YearMonth month) {
+        AttendanceStatus[] days = new AttendanceStatus[month.lengthOfMonth()];
+        lock.readLock().lock();
+        try {
+            Integer slot = state.slots.get(employeeId);
+            Month data = state.months.get(month);
+            if (slot == null || data == null || !data.has(slot)) {
+                return days;
+            }
+            for (int day = 0; day < days.length; day++) {
+                int code = data.status(slot, day);
+                days[day] = code == 0 ? null : STATUSES[code - 1];
+            }
+            return days;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public MonthlyAttendance monthly(long employeeId, YearMonth month) {
+        lock.readLock().lock();
+        try {
+            Integer slot = state.slots.get(employeeId);
+            Month data = state.months.get(month);
+            if (slot == null || data == null || !data.has(slot)) {
+                return MonthlyAttendance.NONE;
+            }
+            int worked = 0;
+            int onLeave = 0;
+            int absent = 0;
+            int halfDays = 0;
+            int overtime = 0;
+            for (int day = 0; day < DAYS; day++) {
+                int code = data.status(slot, day);
+                if (code == 0) {
+                    continue;
+                }
+                AttendanceStatus status = STATUSES[code - 1];
+                if (status == AttendanceStatus.HALF_DAY) {
+                    halfDays++;
+                }
+                if (status.countsAsWorked()) {
+                    worked++;
+                } else if (status == AttendanceStatus.ON_LEAVE) {
+                    onLeave++;
+                } else if (status == AttendanceStatus.ABSENT) {
+                    absent++;
+                }
+                overtime += data.overtimeHours[slot * DAYS + day];
+            }
+            return new MonthlyAttendance(worked, onLeave, absent, halfDays, overtime / 100.0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public DepartmentAttendance department(Department department, YearMonth month) {
+        int[][] dayCounts = new int[STATUSES.length][month.lengthOfMonth()];
+        lock.readLock().lock();
+        try {
+            Month data = state.months.get(month);
+            byte wanted = (byte) department.ordinal();
+            int employees = 0;
+            long workHours = 0;
+            long overtimeHours = 0;
+            for (int slot = 0; slot < state.size; slot++) {
+                if (state.departments[slot] != wanted) {
+                    continue;
+                }
+                employees++;
+                if (data == null || !data.has(slot)) {
+                    continue;
+                }
+                for (int day = 0; day < dayCounts[0].length; day++) {
+                    int code = data.status(slot, day);
+                    if (code != 0) {
+                        dayCounts[code - 1][day]++;
+                    }
+                    workHours += data.workHours[slot * DAYS + day];
+                    overtimeHours += data.overtimeHours[slot * DAYS + day];
+                }
+            }
+            return new DepartmentAttendance(department, month, employees, dayCounts, workHours / 100.0,
+                    overtimeHours / 100.0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock
+    private void apply(Consumer<State> write) {
+        write.accept(state);
+        if (loading != null) {
+            loading.writes.add(write);
+        }
+    }
+    
+    /**
+     * Collects a full load off to the side; {@link #publish} replaces the store's contents.
+     * Not thread-safe. A load that fails must be {@linkplain #discard discarded}.
+     */
+    public final class Loader {
+        
+        private final State loaded;
+        private final List<Consumer<State>> writes = new ArrayList<>();
+        
+        private Loader(State loaded) {
+            this.loaded = loaded;
+        }
+        
+        public void department(long employeeId, Department department) {
+            loaded.setDepartment(loaded.slot(employeeId), department);
+        }
+        
+        public void day(long employeeId, LocalDate date, AttendanceStatus status, Double workHours,
+                        Double overtimeHours) {
+            loaded.put(employeeId, date, status, workHours, overtimeHours);
+        }
+        
+        public void publish() {
+            lock.writeLock().lock();
+            try {
+                // Writes are idempotent, so replaying one the load already read is harmless
+                writes.forEach(write -> write.accept(loaded));
+                state = loaded;
+                ready = true;
+                finish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        /**
+         * Abandons the load and stops recording writes for it; a no-op once published.
+         */
+        public void discard() {
+            lock.writeLock().lock();
+            try {
+                finish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        private void finish() {
+            writes.clear();
+            if (loading == this) {
+                loading = null;
+            }
+        }
+    }
+    
+    private static final class State {
+        
+        private final YearMonth from;
+        private final int retainedMonths;
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final TreeMap<YearMonth, Month> months = new TreeMap<>();
+        private byte[] departments = new byte[1024];
+        private int size;
+        
+        State(YearMonth from, int retainedMonths) {
+            this.from = from;
+            this.retainedMonths = retainedMonths;
+            Arrays.fill(departments, NO_DEPARTMENT);
+        }
+        
+        YearMonth newest() {
+            return months.isEmpty() ? from.minusMonths(1) : months.lastKey();
+        }
+        
+        int slot(long employeeId) {
+            Integer slot = slots.get(employeeId);
+            if (slot != null) {
+                return slot;
+            }
+            if (size == departments.length) {
+                int capacity = size * 2;
+                departments = Arrays.copyOf(departments, capacity);
+                Arrays.fill(departments, size, capacity, NO_DEPARTMENT);
+            }
+            slots.put(employeeId, size);
+            return size++;
+        }
+        
+        void setDepartment(int slot, Department department) {
+            departments[slot] = department == null ? NO_DEPARTMENT : (byte) department.ordinal();
+        }
+        
+        void put(long employeeId, LocalDate date, AttendanceStatus status, Double workHours, Double overtimeHours) {
+            YearMonth month = YearMonth.from(date);
+            if (month.isBefore(from)) {
+                return;
+            }
+            Month data = months.get(month);
+            if (data == null) {
+                if (status == null) {
+                    return;
+                }
+                data = new Month(size);
+                months.put(month, data);
+                // A new month pushes the oldest out of the window
+                while (months.size() > retainedMonths) {
+                    months.pollFirstEntry();
+                }
+            }
+            int slot = slot(employeeId);
+            data.set(slot, date.getDayOfMonth() - 1, status == null ? 0 : status.ordinal() + 1,
+                    hundredths(workHours), hundredths(overtimeHours));
+        }
+        
+        private static short hundredths(Double hours) {
+            return hours == null ? 0 : (short) Math.round(Math.min(hours, 300) * 100);
+        }
+    }
+    
+    private static final class Month {
+        
+        private long[] statuses;
+        private short[] workHours;
+        private short[] overtimeHours;
+        private int capacity;
+        
+        Month(int expectedSlots) {
+            allocate(Math.max(16, expectedSlots));
+        }
+        
+        boolean has(int slot) {
+            return slot < capacity;
+        }
+        
+        int status(int slot, int day) {
+            long word = statuses[slot * 2 + day / DAYS_PER_WORD];
+            return (int) (word >>> ((day % DAYS_PER_WORD) * BITS_PER_DAY)) & 0xF;
+        }
+        
+        void set(int slot, int day, int code, short work, short overtime) {
+            if (slot >= capacity) {
+                allocate(Math.max(slot + 1, capacity * 2));
+            }
+            int index = slot * 2 + day / DAYS_PER_WORD;
+            int shift = (day % DAYS_PER_WORD) * BITS_PER_DAY;
+            statuses[index] = statuses[index] & ~(0xFL << shift) | ((long) code << shift);
+            workHours[slot * DAYS + day] = work;
+            overtimeHours[slot * DAYS + day] = overtime;
+        }
+        
+        private void allocate(int slots) {
+            statuses = statuses == null ? new long[slots * 2] : Arrays.copyOf(statuses, slots * 2);
+            workHours = workHours == null ? new short[slots * DAYS] : Arrays.copyOf(workHours, slots * DAYS);
+            overtimeHours = overtimeHours == null ? new short[slots * DAYS] : Arrays.copyOf(overtimeHours, slots * DAYS);
+            capacity = slots;
+        }
+    }
+}
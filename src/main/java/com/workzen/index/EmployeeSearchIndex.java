@@ -0,0 +1,455 @@
+package com.workzen.index;
+
+import com.workzen.dto.EmployeeSearchDocument;
+import com.workzen.dto.SearchHits;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory trigram index over employee first name, last name, email and employee code,
+ * replacing {@code LIKE '%term%'} scans for the employee directory.
+ *
+ * <p>Every field is split into alphanumeric tokens and each token padded like pg_trgm
+ * ({@code "  john "}) before taking trigrams. Posting lists hold dense document slots.
+ * The last token of a query is treated as a prefix (no trailing pad), so {@code "jo"}
+ * finds {@code john}. A document matches when it contains at least half of the trigrams of
+ * every query token, which also tolerates a typo in longer words ({@code jonathon} for
+ * {@code jonathan}). Matches are ranked by the share of query trigrams found, with a boost
+ * for exact and prefix field matches.
+ *
+ * <p>Updates replace the document in a new slot and tombstone the old one; the index
+ * compacts itself once a quarter of the slots are dead. Updates that arrive while a
+ * {@link #rebuild} reads its documents are applied to the current segment and replayed
+ * onto the rebuilt one before it is swapped in, so an update committed after the
+ * documents were read is not lost.
+ */
+@Component
+public class EmployeeSearchIndex {
+    
+    private static final double MIN_MATCH = 0.5;
+    private static final double EXACT_BOOST = 1.0;
+    private static final double PREFIX_BOOST = 0.5;
+    private static final int MIN_COMPACTION = 1_024;
+    // keeps a token's trigram count within the byte hit counters used by search
+    private static final int MAX_TOKEN_LENGTH = 64;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment(0);
+    // Updates made while a rebuild runs; null otherwise. Guarded by the write lock
+    private List<Consumer<Segment>> changesDuringRebuild;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.slotByEmployee.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the index with the documents {@code snapshot} reads; only one rebuild can
+     * run at a time.
+     */
+    public void rebuild(Supplier<? extends Collection<EmployeeSearchDocument>> snapshot) {
+        startRecording();
+        try {
+            Collection<EmployeeSearchDocument> documents = snapshot.get();
+            Segment rebuilt = new Segment(documents.size());
+            for (EmployeeSearchDocument document : documents) {
+                rebuilt.add(document.id(), normalize(document));
+            }
+            lock.writeLock().lock();
+            try {
+                // Updates are idempotent, so replaying one the snapshot already saw is harmless
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                segment = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    public void upsert(EmployeeSearchDocument document) {
+        String[] fields = normalize(document);
+        lock.writeLock().lock();
+        try {
+            apply(current -> current.add(document.id(), fields));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long employeeId) {
+        lock.writeLock().lock();
+        try {
+            apply(current -> current.remove(employeeId));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public SearchHits search(String term, int offset, int limit) {
+        String query = term == null ? "" : term.toLowerCase(Locale.ROOT).trim();
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            QueryToken[] queryTokens = new QueryToken[tokens.size()];
+            int totalGrams = 0;
+            int driver = 0;
+            for (int t = 0; t < queryTokens.length; t++) {
+                long[] tokenGrams = grams(new String[] {tokens.get(t)}, t == queryTokens.length - 1);
+                queryTokens[t] = new QueryToken(current, tokenGrams);
+                totalGrams += tokenGrams.length;
+                if (queryTokens[t].cost < queryTokens[driver].cost) {
+                    driver = t;
+                }
+            }
+            
+            // Every token has to match, so candidates come from the most selective one only.
+            // Its posting lists are counted sequentially, which beats probing them per slot.
+            byte[] hits = new byte[current.size];
+            QueryToken driving = queryTokens[driver];
+            for (IntList posting : driving.postings) {
+                for (int p = 0; p < posting.size; p++) {
+                    hits[posting.values[p]]++;
+                }
+            }
+            
+            int window = offset + limit;
+            PriorityQueue<Match> top = new PriorityQueue<>(Math.max(1, window), Comparator.reverseOrder());
+            int totalMatches = 0;
+            // A slot reaching minHits must be in one of the rarest (n - minHits + 1) lists;
+            // clearing its counter on the first visit keeps it from being seen twice.
+            for (int i = 0; i < driving.postings.length - driving.minHits + 1; i++) {
+                IntList posting = driving.postings[i];
+                for (int p = 0; p < posting.size; p++) {
+                    int slot = posting.values[p];
+                    int matched = hits[slot];
+                    hits[slot] = 0;
+                    if (matched < driving.minHits || current.removed[slot]) {
+                        continue;
+                    }
+                    for (int t = 0; t < queryTokens.length && matched >= 0; t++) {
+                        if (t != driver) {
+                            int tokenHits = queryTokens[t].countHits(slot);
+                            matched = tokenHits < 0 ? -1 : matched + tokenHits;
+                        }
+                    }
+                    if (matched < 0) {
+                        continue;
+                    }
+                    totalMatches++;
+                    if (window <= 0) {
+                        continue;
+                    }
+                    Match match = new Match(current.employeeIds[slot],
+                            (double) matched / totalGrams + boost(current.fields[slot], query),
+                            current.gramCounts[slot]);
+                    if (top.size() < window) {
+                        top.add(match);
+                    } else if (match.compareTo(top.peek()) < 0) {
+                        top.poll();
+                        top.add(match);
+                    }
+                }
+            }
+            
+            List<Match> matches = new ArrayList<>(top);
+            Collections.sort(matches);
+            int from = Math.min(offset, matches.size());
+            int to = Math.min(from + limit, matches.size());
+            long[] ids = new long[to - from];
+            for (int i = from; i < to; i++) {
+                ids[i - from] = matches.get(i).employeeId();
+            }
+            return new SearchHits(ids, totalMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void startRecording() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("An employee search index rebuild is already running");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock
+    private void apply(Consumer<Segment> change) {
+        change.accept(segment);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+    
+    private void compactIfNeeded() {
+        if (segment.removedCount < MIN_COMPACTION || segment.removedCount < segment.size / 4) {
+            return;
+        }
+        Segment compacted = new Segment(segment.slotByEmployee.size());
+        for (int slot = 0; slot < segment.size; slot++) {
+            if (!segment.removed[slot]) {
+                compacted.add(segment.employeeIds[slot], segment.fields[slot]);
+            }
+        }
+        segment = compacted;
+    }
+    
+    private static double boost(String[] fields, String query) {
+        double boost = 0;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            if (field.equals(query)) {
+                return EXACT_BOOST;
+            }
+            if (field.startsWith(query)) {
+                boost = PREFIX_BOOST;
+            }
+        }
+        return boost;
+    }
+    
+    // first name, last name, email, employee code, full name
+    private static String[] normalize(EmployeeSearchDocument document) {
+        String firstName = lower(document.firstName());
+        String lastName = lower(document.lastName());
+        String fullName = firstName == null || lastName == null ? null : firstName + " " + lastName;
+        return new String[] {firstName, lastName, lower(document.email()), lower(document.employeeId()), fullName};
+    }
+    
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT).trim();
+    }
+    
+    private static List<String> tokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= query.length(); i++) {
+            boolean tokenChar = i < query.length() && Character.isLetterOrDigit(query.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(query.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    static long[] grams(String[] values, boolean prefixLastToken) {
+        long[] grams = new long[32];
+        int count = 0;
+        for (int v = 0; v < values.length; v++) {
+            String value = values[v];
+            if (value == null) {
+                continue;
+            }
+            int start = -1;
+            for (int i = 0; i <= value.length(); i++) {
+                boolean tokenChar = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+                if (tokenChar && start < 0) {
+                    start = i;
+                } else if (!tokenChar && start >= 0) {
+                    boolean prefix = prefixLastToken && v == values.length - 1 && i == value.length();
+                    String padded = "  " + value.substring(start, i) + (prefix ? "" : " ");
+                    for (int g = 0; g + 3 <= padded.length(); g++) {
+                        if (count == grams.length) {
+                            grams = Arrays.copyOf(grams, count * 2);
+                        }
+                        grams[count++] = ((long) padded.charAt(g) << 32)
+                                | ((long) padded.charAt(g + 1) << 16)
+                                | padded.charAt(g + 2);
+                    }
+                    start = -1;
+                }
+            }
+        }
+        Arrays.sort(grams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+    
+    // best first: higher score, then shorter documents, then lower id
+    private record Match(long employeeId, double score, int gramCount) implements Comparable<Match> {
+        
+        @Override
+        public int compareTo(Match other) {
+            if (score != other.score) {
+                return score > other.score ? -1 : 1;
+            }
+            if (gramCount != other.gramCount) {
+                return gramCount < other.gramCount ? -1 : 1;
+            }
+            return Long.compare(employeeId, other.employeeId);
+        }
+    }
+    
+    private static final class QueryToken {
+        
+        private final IntList[] postings;
+        private final int minHits;
+        private final long cost;
+        
+        QueryToken(Segment segment, long[] grams) {
+            postings = new IntList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                postings[i] = segment.postings.getOrDefault(grams[i], IntList.EMPTY);
+            }
+            Arrays.sort(postings, Comparator.comparingInt(posting -> posting.size));
+            minHits = (int) Math.ceil(grams.length * MIN_MATCH);
+            long total = 0;
+            for (IntList posting : postings) {
+                total += posting.size;
+            }
+            cost = total;
+        }
+        
+        // hits for this token, or -1 once minHits can no longer be reached
+        int countHits(int slot) {
+            int hits = 0;
+            for (int i = 0; i < postings.length; i++) {
+                if (hits + postings.length - i < minHits) {
+                    return -1;
+                }
+                if (postings[i].contains(slot)) {
+                    hits++;
+                }
+            }
+            return hits < minHits ? -1 : hits;
+        }
+    }
+    
+    private static final class Segment {
+        
+        private final Map<Long, IntList> postings;
+        private final Map<Long, Integer> slotByEmployee;
+        private long[] employeeIds;
+        private String[][] fields;
+        private int[] gramCounts;
+        private boolean[] removed;
+        private int size;
+        private int removedCount;
+        
+        Segment(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            postings = new HashMap<>();
+            slotByEmployee = new HashMap<>(capacity * 2);
+            employeeIds = new long[capacity];
+            fields = new String[capacity][];
+            gramCounts = new int[capacity];
+            removed = new boolean[capacity];
+        }
+        
+        void add(long employeeId, String[] documentFields) {
+            Integer previous = slotByEmployee.get(employeeId);
+            if (previous != null) {
+                markRemoved(previous);
+            }
+            if (size == employeeIds.length) {
+                int capacity = size * 2;
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                fields = Arrays.copyOf(fields, capacity);
+                gramCounts = Arrays.copyOf(gramCounts, capacity);
+                removed = Arrays.copyOf(removed, capacity);
+            }
+            int slot = size++;
+            long[] grams = grams(Arrays.copyOf(documentFields, 4), false);
+            employeeIds[slot] = employeeId;
+            fields[slot] = documentFields;
+            gramCounts[slot] = grams.length;
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new IntList(4)).add(slot);
+            }
+            slotByEmployee.put(employeeId, slot);
+        }
+        
+        void remove(long employeeId) {
+            Integer slot = slotByEmployee.remove(employeeId);
+            if (slot != null) {
+                markRemoved(slot);
+            }
+        }
+        
+        void markRemoved(int slot) {
+            if (!removed[slot]) {
+                removed[slot] = true;
+                removedCount++;
+            }
+        }
+    }
+    
+    private static final class IntList {
+        
+        private static final IntList EMPTY = new IntList(0);
+        
+        private int[] values;
+        private int size;
+        
+        IntList(int capacity) {
+            values = new int[capacity];
+        }
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+            values[size++] = value;
+        }
+        
+        // slots are appended in increasing order, so every posting list is sorted
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.workzen.index;
+
+import com.workzen.dto.HeadcountGroup;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Employee headcount per department x status x role, held in one flat atomic array.
+ * Each dimension has an extra slot for {@code null}, since none of the three columns is
+ * mandatory. Increments and decrements are atomic per cell and only share a read lock
+ * with each other; aggregate reads sum a slice of the array and are not atomic across
+ * cells, which is fine for dashboard tiles.
+ *
+ * <p>Changes that arrive while a {@link #rebuild} reads its counts are replayed onto the
+ * rebuilt array before it is swapped in. Unlike the other indexes' changes these are
+ * deltas: one committed just before the grouped query started but applied after
+ * recording began is counted twice. That window is far shorter than the query, and the
+ * next reconcile corrects it.
+ */
+@Component
+public class HeadcountMatrix {
+    
+    private static final Department[] DEPARTMENTS = Department.values();
+    private static final EmployeeStatus[] STATUSES = EmployeeStatus.values();
+    private static final Role[] ROLES = Role.values();
+    private static final int STATUS_SLOTS = STATUSES.length + 1;
+    private static final int ROLE_SLOTS = ROLES.length + 1;
+    private static final int CELLS = (DEPARTMENTS.length + 1) * STATUS_SLOTS * ROLE_SLOTS;
+    
+    // Writers share the read lock; the write lock swaps the array
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile AtomicIntegerArray cells = new AtomicIntegerArray(CELLS);
+    // Cell deltas applied while a rebuild runs; null otherwise. Set and drained under the write lock
+    private Queue<Delta> changesDuringRebuild;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Replaces all counts with the groups the snapshot reads; only one rebuild can run at
+     * a time.
+     *
+     * @return how many employees the previous counts were off by, summed over all cells
+     */
+    public long rebuild(Supplier<? extends Collection<HeadcountGroup>> snapshot) {
+        startRecording();
+        try {
+            AtomicIntegerArray replacement = new AtomicIntegerArray(CELLS);
+            for (HeadcountGroup group : snapshot.get()) {
+                replacement.addAndGet(cell(group.department(), group.status(), group.role()),
+                        group.count().intValue());
+            }
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(delta -> replacement.addAndGet(delta.cell(), delta.amount()));
+                AtomicIntegerArray previous = cells;
+                cells = replacement;
+                long drift = 0;
+                if (ready) {
+                    for (int i = 0; i < CELLS; i++) {
+                        drift += Math.abs(replacement.get(i) - previous.get(i));
+                    }
+                }
+                ready = true;
+                return drift;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    public void add(Department department, EmployeeStatus status, Role role) {
+        apply(new Delta(cell(department, status, role), 1));
+    }
+    
+    public void remove(Department department, EmployeeStatus status, Role role) {
+        apply(new Delta(cell(department, status, role), -1));
+    }
+    
+    public int count(Department department, EmployeeStatus status, Role role) {
+        return cells.get(cell(department, status, role));
+    }
+    
+    public int total() {
+        AtomicIntegerArray current = cells;
+        int total = 0;
+        for (int i = 0; i < CELLS; i++) {
+            total += current.get(i);
+        }
+        return total;
+    }
+    
+    public int countByDepartment(Department department) {
+        AtomicIntegerArray current = cells;
+        int from = slot(department) * STATUS_SLOTS * ROLE_SLOTS;
+        int total = 0;
+        for (int i = 0; i < STATUS_SLOTS * ROLE_SLOTS; i++) {
+            total += current.get(from + i);
+        }
+        return total;
+    }
+    
+    public int countByStatus(EmployeeStatus status) {
+        AtomicIntegerArray current = cells;
+        int total = 0;
+        for (int department = 0; department <= DEPARTMENTS.length; department++) {
+            int from = (department * STATUS_SLOTS + slot(status)) * ROLE_SLOTS;
+            for (int role = 0; role < ROLE_SLOTS; role++) {
+                total += current.get(from + role);
+            }
+        }
+        return total;
+    }
+    
+    public int countByRole(Role role) {
+        AtomicIntegerArray current = cells;
+        int total = 0;
+        for (int i = slot(role); i < CELLS; i += ROLE_SLOTS) {
+            total += current.get(i);
+        }
+        return total;
+    }
+    
+    public int count(Department department, EmployeeStatus status) {
+        AtomicIntegerArray current = cells;
+        int from = (slot(department) * STATUS_SLOTS + slot(status)) * ROLE_SLOTS;
+        int total = 0;
+        for (int role = 0; role < ROLE_SLOTS; role++) {
+            total += current.get(from + role);
+        }
+        return total;
+    }
+    
+    /**
+     * Department x status counts for the dashboard grid; employees without a department
+     * are left out.
+     */
+    public Map<Department, Map<EmployeeStatus, Integer>> departmentStatusGrid() {
+        Map<Department, Map<EmployeeStatus, Integer>> grid = new EnumMap<>(Department.class);
+        for (Department department : DEPARTMENTS) {
+            Map<EmployeeStatus, Integer> row = new EnumMap<>(EmployeeStatus.class);
+            for (EmployeeStatus status : STATUSES) {
+                row.put(status, count(department, status));
+            }
+            grid.put(department, row);
+        }
+        return grid;
+    }
+    
+    private void startRecording() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("A headcount rebuild is already running");
+            }
+            changesDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void apply(Delta delta) {
+        lock.readLock().lock();
+        try {
+            cells.addAndGet(delta.cell(), delta.amount());
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // null sorts into the last slot of each dimension
+    private static int slot(Enum<?> value, int nullSlot) {
+        return value == null ? nullSlot : value.ordinal();
+    }
+    
+    private static int slot(Department department) {
+        return slot(department, DEPARTMENTS.length);
+    }
+    
+    private static int slot(EmployeeStatus status) {
+        return slot(status, STATUSES.length);
+    }
+    
+    private static int slot(Role role) {
+        return slot(role, ROLES.length);
+    }
+    
+    private static int cell(Department department, EmployeeStatus status, Role role) {
+        return (slot(department) * STATUS_SLOTS + slot(status)) * ROLE_SLOTS + slot(role);
+    }
+    
+    private record Delta(int cell, int amount) {
+    }
+}
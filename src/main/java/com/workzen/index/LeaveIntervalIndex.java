@@ -0,0 +1,257 @@
+package com.workzen.index;
+
+import com.workzen.dto.LeaveInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pending and approved leave per employee, kept as intervals sorted by start date with a
+ * running maximum of the end dates. Whether a date range overlaps any of an employee's
+ * leave is one binary search: the last interval starting on or before the range's end
+ * overlaps it iff the largest end date up to that interval is on or after the range's
+ * start. This holds even if legacy rows already overlap each other.
+ *
+ * <p>{@link #reserve} checks and inserts under one write lock, so two concurrent
+ * submissions for the same days cannot both pass the check. Changes that arrive while a
+ * {@link #rebuild} reads its intervals are replayed onto the rebuilt index before it is
+ * swapped in.
+ */
+@Component
+public class LeaveIntervalIndex {
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Intervals> employees = new HashMap<>();
+    // Changes made while a rebuild runs; null otherwise. Guarded by the write lock
+    private List<Consumer<Map<Long, Intervals>>> changesDuringRebuild;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return employees.values().stream().mapToInt(intervals -> intervals.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the index with the leave {@code snapshot} reads; only one rebuild can run
+     * at a time.
+     */
+    public void rebuild(Supplier<? extends Collection<LeaveInterval>> snapshot) {
+        startRecording();
+        try {
+            Map<Long, Intervals> rebuilt = new HashMap<>();
+            for (LeaveInterval leave : snapshot.get()) {
+                rebuilt.computeIfAbsent(leave.employeeId(), id -> new Intervals())
+                        .add(leave.applicationId(), leave.startDate().toEpochDay(), leave.endDate().toEpochDay());
+            }
+            lock.writeLock().lock();
+            try {
+                // Changes are idempotent, so replaying one the snapshot already saw is harmless
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                employees = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    /**
+     * Whether {@code startDate..endDate}, both inclusive, overlaps any leave of the employee.
+     */
+    public boolean overlaps(long employeeId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            Intervals intervals = employees.get(employeeId);
+            return intervals != null && intervals.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Adds the application unless it overlaps leave the employee already has.
+     *
+     * @return {@code false} if it overlaps and was not added
+     */
+    public boolean reserve(long applicationId, long employeeId, LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            Intervals intervals = employees.get(employeeId);
+            if (intervals != null && intervals.indexOf(applicationId) >= 0) {
+                return true;
+            }
+            if (intervals != null && intervals.overlaps(start, end)) {
+                return false;
+            }
+            apply(current -> put(current, applicationId, employeeId, start, end));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Adds the application, or moves it if its dates changed.
+     */
+    public void put(long applicationId, long employeeId, LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            apply(current -> put(current, applicationId, employeeId, start, end));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long applicationId, long employeeId) {
+        lock.writeLock().lock();
+        try {
+            apply(current -> {
+                Intervals intervals = current.get(employeeId);
+                if (intervals != null && intervals.remove(applicationId) && intervals.size == 0) {
+                    current.remove(employeeId);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void startRecording() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("A leave interval index rebuild is already running");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock
+    private void apply(Consumer<Map<Long, Intervals>> change) {
+        change.accept(employees);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+    
+    private static void put(Map<Long, Intervals> employees, long applicationId, long employeeId, long start,
+                            long end) {
+        Intervals intervals = employees.computeIfAbsent(employeeId, id -> new Intervals());
+        intervals.remove(applicationId);
+        intervals.add(applicationId, start, end);
+    }
+    
+    private static final class Intervals {
+        
+        private long[] ids = new long[4];
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        // maxEnds[i] is the largest of ends[0..i]
+        private long[] maxEnds = new long[4];
+        private int size;
+        
+        boolean overlaps(long start, long end) {
+            int last = lastStartingOnOrBefore(end);
+            return last >= 0 && maxEnds[last] >= start;
+        }
+        
+        int indexOf(long applicationId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == applicationId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        void add(long applicationId, long start, long end) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+            }
+            int at = lastStartingOnOrBefore(start) + 1;
+            int tail = size - at;
+            System.arraycopy(ids, at, ids, at + 1, tail);
+            System.arraycopy(starts, at, starts, at + 1, tail);
+            System.arraycopy(ends, at, ends, at + 1, tail);
+            ids[at] = applicationId;
+            starts[at] = start;
+            ends[at] = end;
+            size++;
+            updateMaxEnds(at);
+        }
+        
+        boolean remove(long applicationId) {
+            int at = indexOf(applicationId);
+            if (at < 0) {
+                return false;
+            }
+            int tail = size - at - 1;
+            System.arraycopy(ids, at + 1, ids, at, tail);
+            System.arraycopy(starts, at + 1, starts, at, tail);
+            System.arraycopy(ends, at + 1, ends, at, tail);
+            size--;
+            updateMaxEnds(at);
+            return true;
+        }
+        
+        private int lastStartingOnOrBefore(long day) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+        
+        private void updateMaxEnds(int from) {
+            long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+            for (int i = from; i < size; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+    }
+}
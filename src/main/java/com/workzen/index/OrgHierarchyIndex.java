@@ -0,0 +1,303 @@
+package com.workzen.index;
+
+import com.workzen.dto.ReportingLine;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory org chart holding only employee ids: each employee's manager and direct
+ * reports. Answers transitive subordinates in time linear in the size of the subtree and
+ * manager chain, depth and {@link #isManagerOf} in time linear in the depth, without
+ * touching the database or loading {@code Employee.manager} proxies.
+ *
+ * <p>Manager changes are applied with {@link #setManager}, which moves the whole subtree.
+ * Traversals stop when they come back to their starting point, so a cycle written to the
+ * database cannot hang them. Changes that arrive while a {@link #rebuild} reads its
+ * reporting lines are replayed onto the rebuilt chart before it is swapped in.
+ */
+@Component
+public class OrgHierarchyIndex {
+    
+    private static final long[] NONE = new long[0];
+    private static final long NO_MANAGER = 0;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Node> nodes = new HashMap<>();
+    // Changes made while a rebuild runs; null otherwise. Guarded by the write lock
+    private List<Consumer<Map<Long, Node>>> changesDuringRebuild;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the org chart with the reporting lines {@code snapshot} reads; only one
+     * rebuild can run at a time.
+     */
+    public void rebuild(Supplier<? extends Collection<ReportingLine>> snapshot) {
+        startRecording();
+        try {
+            Collection<ReportingLine> reportingLines = snapshot.get();
+            Map<Long, Node> rebuilt = new HashMap<>(reportingLines.size() * 2);
+            for (ReportingLine line : reportingLines) {
+                rebuilt.computeIfAbsent(line.employeeId(), id -> new Node()).managerId = managerId(line.managerId());
+            }
+            for (ReportingLine line : reportingLines) {
+                if (line.managerId() != null) {
+                    rebuilt.computeIfAbsent(line.managerId(), id -> new Node()).addChild(line.employeeId());
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                // Changes are idempotent, so replaying one the snapshot already saw is harmless
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                nodes = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    public void setManager(long employeeId, Long managerId) {
+        long newManager = managerId(managerId);
+        lock.writeLock().lock();
+        try {
+            apply(current -> setManager(current, employeeId, newManager));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long employeeId) {
+        lock.writeLock().lock();
+        try {
+            apply(current -> remove(current, employeeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public Long managerOf(long employeeId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(employeeId);
+            return node == null || node.managerId == NO_MANAGER ? null : node.managerId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public long[] directReports(long managerId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(managerId);
+            return node == null ? NONE : Arrays.copyOf(node.children, node.childCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Every employee below {@code managerId}, closest levels first.
+     */
+    public long[] subordinates(long managerId) {
+        lock.readLock().lock();
+        try {
+            Node root = nodes.get(managerId);
+            if (root == null || root.childCount == 0) {
+                return NONE;
+            }
+            long[] result = Arrays.copyOf(root.children, Math.max(16, root.childCount * 2));
+            int size = root.childCount;
+            for (int next = 0; next < size; next++) {
+                Node node = nodes.get(result[next]);
+                if (node == null) {
+                    continue;
+                }
+                for (int i = 0; i < node.childCount; i++) {
+                    long child = node.children[i];
+                    if (child == managerId) {
+                        continue;
+                    }
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
+                    }
+                    result[size++] = child;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int countSubordinates(long managerId) {
+        return subordinates(managerId).length;
+    }
+    
+    /**
+     * Managers of {@code employeeId} from the direct manager up to the top of the org chart.
+     */
+    public long[] managerChain(long employeeId) {
+        lock.readLock().lock();
+        try {
+            long[] chain = new long[8];
+            int size = 0;
+            Node node = nodes.get(employeeId);
+            while (node != null && node.managerId != NO_MANAGER && node.managerId != employeeId
+                    && size < nodes.size()) {
+                if (size == chain.length) {
+                    chain = Arrays.copyOf(chain, size * 2);
+                }
+                chain[size++] = node.managerId;
+                node = nodes.get(node.managerId);
+            }
+            return Arrays.copyOf(chain, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of managers above {@code employeeId}; 0 at the top of the org chart.
+     */
+    public int depth(long employeeId) {
+        return managerChain(employeeId).length;
+    }
+    
+    /**
+     * Whether {@code managerId} is anywhere in the manager chain of {@code employeeId}.
+     */
+    public boolean isManagerOf(long managerId, long employeeId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(employeeId);
+            for (int steps = 0; node != null && node.managerId != NO_MANAGER && steps < nodes.size(); steps++) {
+                if (node.managerId == managerId) {
+                    return true;
+                }
+                if (node.managerId == employeeId) {
+                    return false;
+                }
+                node = nodes.get(node.managerId);
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void startRecording() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("An org hierarchy rebuild is already running");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock
+    private void apply(Consumer<Map<Long, Node>> change) {
+        change.accept(nodes);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+    
+    private static void setManager(Map<Long, Node> nodes, long employeeId, long newManager) {
+        Node node = nodes.computeIfAbsent(employeeId, id -> new Node());
+        if (node.managerId == newManager) {
+            return;
+        }
+        if (node.managerId != NO_MANAGER) {
+            Node previous = nodes.get(node.managerId);
+            if (previous != null) {
+                previous.removeChild(employeeId);
+            }
+        }
+        node.managerId = newManager;
+        if (newManager != NO_MANAGER) {
+            nodes.computeIfAbsent(newManager, id -> new Node()).addChild(employeeId);
+        }
+    }
+    
+    private static void remove(Map<Long, Node> nodes, long employeeId) {
+        Node node = nodes.remove(employeeId);
+        if (node == null) {
+            return;
+        }
+        Node manager = nodes.get(node.managerId);
+        if (manager != null) {
+            manager.removeChild(employeeId);
+        }
+        // Reports are normally reassigned before their manager is deleted; any left over
+        // become roots until their own update arrives
+        for (int i = 0; i < node.childCount; i++) {
+            Node child = nodes.get(node.children[i]);
+            if (child != null) {
+                child.managerId = NO_MANAGER;
+            }
+        }
+    }
+    
+    private static long managerId(Long managerId) {
+        return managerId == null ? NO_MANAGER : managerId;
+    }
+    
+    private static final class Node {
+        
+        private long managerId = NO_MANAGER;
+        private long[] children = NONE;
+        private int childCount;
+        
+        void addChild(long employeeId) {
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(4, childCount * 2));
+            }
+            children[childCount++] = employeeId;
+        }
+        
+        void removeChild(long employeeId) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i] == employeeId) {
+                    children[i] = children[--childCount];
+                    return;
+                }
+            }
+        }
+    }
+}
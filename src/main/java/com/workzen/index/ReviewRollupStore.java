@@ -0,0 +1,418 @@
+package com.workzen.index;
+
+import com.workzen.dto.EmployeeGrouping;
+import com.workzen.dto.RatingStats;
+import com.workzen.dto.ReviewPeriod;
+import com.workzen.dto.ReviewRating;
+import com.workzen.dto.ReviewerCalibration;
+import com.workzen.enums.Department;
+import com.workzen.enums.RatingDimension;
+import com.workzen.enums.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Rating rollups of finished performance reviews per review period, by the reviewed
+ * employee's department and role and by reviewer. Each group keeps count, sum and sum of
+ * squares of every {@link RatingDimension} in hundredths of a rating point, so reviews
+ * are added and taken out again exactly and mean and variance are read in constant time.
+ *
+ * <p>The rating of each rolled-up review is kept, so {@link #put} replaces a review's
+ * previous contribution and an employee moving department or role moves their reviews
+ * with them: rollups always reflect the employee's current department and role. Changes
+ * that arrive while a {@link #rebuild} reads its rows are replayed onto the rebuilt
+ * rollups before they are swapped in.
+ */
+@Component
+public class ReviewRollupStore {
+    
+    private static final RatingDimension[] DIMENSIONS = RatingDimension.values();
+    private static final Department[] DEPARTMENTS = Department.values();
+    private static final Role[] ROLES = Role.values();
+    private static final int NO_RATING = -1;
+    private static final Grouping UNGROUPED = new Grouping(null, null);
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Rollups rollups = new Rollups(0, 0);
+    // Changes made while a rebuild runs; null otherwise. Guarded by the write lock
+    private List<Consumer<Rollups>> changesDuringRebuild;
+    private volatile boolean ready;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rollups.reviews.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the rollups with the employees and ratings the snapshots read; only one
+     * rebuild can run at a time.
+     */
+    public void rebuild(Supplier<? extends Collection<EmployeeGrouping>> groupingSnapshot,
+                        Supplier<? extends Collection<ReviewRating>> ratingSnapshot) {
+        startRecording();
+        try {
+            Collection<EmployeeGrouping> groupings = groupingSnapshot.get();
+            Collection<ReviewRating> ratings = ratingSnapshot.get();
+            Rollups rebuilt = new Rollups(groupings.size(), ratings.size());
+            for (EmployeeGrouping grouping : groupings) {
+                rebuilt.employees.put(grouping.employeeId(), new Grouping(grouping.department(), grouping.role()));
+            }
+            for (ReviewRating rating : ratings) {
+                rebuilt.put(rating);
+            }
+            lock.writeLock().lock();
+            try {
+                // Changes are idempotent, so replaying one the snapshots already saw is harmless
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                rollups = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    /**
+     * Adds a finished review, replacing what the same review contributed before.
+     */
+    public void put(ReviewRating rating) {
+        lock.writeLock().lock();
+        try {
+            apply(current -> current.put(rating));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long reviewId) {
+        lock.writeLock().lock();
+        try {
+            apply(current -> current.remove(reviewId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void setGrouping(long employeeId, Department department, Role role) {
+        Grouping grouping = new Grouping(department, role);
+        lock.writeLock().lock();
+        try {
+            apply(current -> current.setGrouping(employeeId, grouping));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Periods with at least one rolled-up review, latest end first.
+     */
+    public List<ReviewPeriod> periods() {
+        lock.readLock().lock();
+        try {
+            List<ReviewPeriod> result = new ArrayList<>(rollups.periods.keySet());
+            result.sort(Comparator.comparing(ReviewPeriod::end).thenComparing(ReviewPeriod::start).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public RatingStats stats(ReviewPeriod period, RatingDimension dimension) {
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            return rollup == null ? RatingStats.EMPTY : rollup.total.stats(dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public RatingStats departmentStats(ReviewPeriod period, Department department, RatingDimension dimension) {
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            return rollup == null ? RatingStats.EMPTY : rollup.departments[slot(department)].stats(dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public RatingStats roleStats(ReviewPeriod period, Role role, RatingDimension dimension) {
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            return rollup == null ? RatingStats.EMPTY : rollup.roles[slot(role)].stats(dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public RatingStats reviewerStats(ReviewPeriod period, long reviewerId, RatingDimension dimension) {
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            Moments reviewer = rollup == null ? null : rollup.reviewers.get(reviewerId);
+            return reviewer == null ? RatingStats.EMPTY : reviewer.stats(dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Stats of every department in the period; employees without a department are left out.
+     */
+    public Map<Department, RatingStats> departments(ReviewPeriod period, RatingDimension dimension) {
+        Map<Department, RatingStats> result = new EnumMap<>(Department.class);
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            for (Department department : DEPARTMENTS) {
+                result.put(department, rollup == null ? RatingStats.EMPTY
+                        : rollup.departments[department.ordinal()].stats(dimension));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * The reviewer's mean against the period mean, or {@code null} if they have no rated
+     * review in the period.
+     */
+    public ReviewerCalibration calibration(ReviewPeriod period, long reviewerId, RatingDimension dimension) {
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            Moments reviewer = rollup == null ? null : rollup.reviewers.get(reviewerId);
+            return reviewer == null ? null : calibration(reviewerId, reviewer.stats(dimension),
+                    rollup.total.stats(dimension));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Reviewers with at least {@code minReviews} rated reviews in the period whose mean is
+     * {@code zThreshold} or more standard errors from the period mean, furthest first.
+     */
+    public List<ReviewerCalibration> outliers(ReviewPeriod period, RatingDimension dimension, int minReviews,
+                                              double zThreshold) {
+        List<ReviewerCalibration> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            PeriodRollup rollup = rollups.periods.get(period);
+            if (rollup == null) {
+                return result;
+            }
+            RatingStats overall = rollup.total.stats(dimension);
+            for (Map.Entry<Long, Moments> entry : rollup.reviewers.entrySet()) {
+                RatingStats reviewer = entry.getValue().stats(dimension);
+                if (reviewer.count() < Math.max(1, minReviews)) {
+                    continue;
+                }
+                ReviewerCalibration calibration = calibration(entry.getKey(), reviewer, overall);
+                if (Math.abs(calibration.zScore()) >= zThreshold) {
+                    result.add(calibration);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingDouble((ReviewerCalibration calibration) -> Math.abs(calibration.zScore()))
+                .reversed());
+        return result;
+    }
+    
+    private void startRecording() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("A review rollup rebuild is already running");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock
+    private void apply(Consumer<Rollups> change) {
+        change.accept(rollups);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+    
+    private static ReviewerCalibration calibration(long reviewerId, RatingStats reviewer, RatingStats overall) {
+        double standardError = overall.standardDeviation() / Math.sqrt(Math.max(1, reviewer.count()));
+        double zScore = reviewer.count() == 0 || standardError == 0 ? 0
+                : (reviewer.mean() - overall.mean()) / standardError;
+        return new ReviewerCalibration(reviewerId, reviewer.count(), reviewer.mean(), overall.mean(), zScore);
+    }
+    
+    private static Contribution contribution(ReviewRating rating, Map<Long, Grouping> employees) {
+        int[] hundredths = new int[DIMENSIONS.length];
+        for (RatingDimension dimension : DIMENSIONS) {
+            Double value = rating.rating(dimension);
+            hundredths[dimension.ordinal()] = value == null ? NO_RATING : (int) Math.round(value * 100);
+        }
+        return new Contribution(rating.employeeId(), rating.reviewerId(), rating.period(),
+                employees.getOrDefault(rating.employeeId(), UNGROUPED), hundredths);
+    }
+    
+    private static void apply(Map<ReviewPeriod, PeriodRollup> periods, Contribution contribution, int sign) {
+        PeriodRollup rollup = periods.computeIfAbsent(contribution.period, period -> new PeriodRollup());
+        rollup.total.apply(contribution.ratings, sign);
+        rollup.departments[slot(contribution.grouping.department())].apply(contribution.ratings, sign);
+        rollup.roles[slot(contribution.grouping.role())].apply(contribution.ratings, sign);
+        Moments reviewer = rollup.reviewers.computeIfAbsent(contribution.reviewerId, id -> new Moments());
+        reviewer.apply(contribution.ratings, sign);
+        if (reviewer.reviews == 0) {
+            rollup.reviewers.remove(contribution.reviewerId);
+        }
+        if (rollup.total.reviews == 0) {
+            periods.remove(contribution.period);
+        }
+    }
+    
+    // null sorts into the last slot
+    private static int slot(Department department) {
+        return department == null ? DEPARTMENTS.length : department.ordinal();
+    }
+    
+    private static int slot(Role role) {
+        return role == null ? ROLES.length : role.ordinal();
+    }
+    
+    private record Grouping(Department department, Role role) {
+    }
+    
+    private record Contribution(long employeeId, long reviewerId, ReviewPeriod period, Grouping grouping,
+                                int[] ratings) {
+        
+        Contribution regroup(Grouping grouping) {
+            return new Contribution(employeeId, reviewerId, period, grouping, ratings);
+        }
+    }
+    
+    private static final class Rollups {
+        
+        private final Map<Long, Contribution> reviews;
+        private final Map<Long, Grouping> employees;
+        private final Map<ReviewPeriod, PeriodRollup> periods = new HashMap<>();
+        
+        Rollups(int expectedEmployees, int expectedReviews) {
+            employees = new HashMap<>(expectedEmployees * 2);
+            reviews = new HashMap<>(expectedReviews * 2);
+        }
+        
+        void put(ReviewRating rating) {
+            Contribution contribution = contribution(rating, employees);
+            Contribution previous = reviews.put(rating.reviewId(), contribution);
+            if (previous != null) {
+                apply(periods, previous, -1);
+            }
+            apply(periods, contribution, 1);
+        }
+        
+        void remove(long reviewId) {
+            Contribution previous = reviews.remove(reviewId);
+            if (previous != null) {
+                apply(periods, previous, -1);
+            }
+        }
+        
+        void setGrouping(long employeeId, Grouping grouping) {
+            if (grouping.equals(employees.put(employeeId, grouping))) {
+                return;
+            }
+            // Department and role changes are rare; a scan is cheaper than a per-employee index
+            for (Map.Entry<Long, Contribution> entry : reviews.entrySet()) {
+                Contribution contribution = entry.getValue();
+                if (contribution.employeeId == employeeId) {
+                    apply(periods, contribution, -1);
+                    Contribution moved = contribution.regroup(grouping);
+                    entry.setValue(moved);
+                    apply(periods, moved, 1);
+                }
+            }
+        }
+    }
+    
+    private static final class PeriodRollup {
+        
+        private final Moments total = new Moments();
+        private final Moments[] departments = moments(DEPARTMENTS.length + 1);
+        private final Moments[] roles = moments(ROLES.length + 1);
+        private final Map<Long, Moments> reviewers = new HashMap<>();
+        
+        private static Moments[] moments(int length) {
+            Moments[] moments = new Moments[length];
+            for (int i = 0; i < length; i++) {
+                moments[i] = new Moments();
+            }
+            return moments;
+        }
+    }
+    
+    private static final class Moments {
+        
+        private long reviews;
+        private final long[] count = new long[DIMENSIONS.length];
+        private final long[] sum = new long[DIMENSIONS.length];
+        private final long[] sumOfSquares = new long[DIMENSIONS.length];
+        
+        void apply(int[] ratings, int sign) {
+            reviews += sign;
+            for (int i = 0; i < ratings.length; i++) {
+                int rating = ratings[i];
+                if (rating != NO_RATING) {
+                    count[i] += sign;
+                    sum[i] += sign * rating;
+                    sumOfSquares[i] += sign * (long) rating * rating;
+                }
+            }
+        }
+        
+        RatingStats stats(RatingDimension dimension) {
+            int i = dimension.ordinal();
+            long n = count[i];
+            if (n == 0) {
+                return RatingStats.EMPTY;
+            }
+            // Exact in hundredths up to millions of reviews; only the final division is rounded
+            double variance = (double) (n * sumOfSquares[i] - sum[i] * sum[i]) / ((double) n * n * 10_000);
+            return new RatingStats(n, sum[i] / (n * 100.0), Math.max(0, variance));
+        }
+    }
+}
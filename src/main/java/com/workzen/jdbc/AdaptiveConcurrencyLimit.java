@@ -0,0 +1,81 @@
+package com.workzen.jdbc;
+
+/**
+ * Gradient-style concurrency limit driven by how long connections are held and how long
+ * the pool took to hand them out. A short and a long moving average of the hold time are
+ * compared: while they agree the limit grows by about its square root, once the short
+ * one rises above the tolerated multiple of the long one the limit shrinks by the same
+ * ratio (at most halving per sample), and any pool wait over the target shrinks it by a
+ * tenth. Every step is smoothed, so single slow transactions barely move it.
+ *
+ * <p>Not thread-safe; {@link ConcurrencyLimitingDataSource} updates it under its lock.
+ */
+final class AdaptiveConcurrencyLimit {
+    
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double POOL_WAIT_BACKOFF = 0.9;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetPoolWaitNanos;
+    private final double tolerance;
+    private double limit;
+    private double shortHold;
+    private double longHold;
+    
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetPoolWaitNanos,
+                             double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit range " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetPoolWaitNanos = targetPoolWaitNanos;
+        this.tolerance = tolerance;
+        this.limit = clamp(initialLimit);
+    }
+    
+    int limit() {
+        return (int) limit;
+    }
+    
+    /**
+     * @param inFlight connections held when this one was released, itself included
+     */
+    void onSample(long holdNanos, long poolWaitNanos, int inFlight) {
+        double hold = Math.max(1, holdNanos);
+        if (shortHold == 0) {
+            shortHold = hold;
+            longHold = hold;
+        }
+        shortHold += (hold - shortHold) / SHORT_WINDOW;
+        longHold += (hold - longHold) / LONG_WINDOW;
+        // After an overload the long average stays high for a long time; let it follow the
+        // short one down so the limit can grow again
+        if (longHold > 2 * shortHold) {
+            longHold = Math.max(shortHold, longHold * 0.95);
+        }
+        
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longHold / shortHold));
+        if (poolWaitNanos > targetPoolWaitNanos) {
+            gradient = Math.min(gradient, POOL_WAIT_BACKOFF);
+        }
+        double target;
+        if (gradient < 1.0) {
+            target = limit * gradient;
+        } else if (inFlight * 2 >= limit) {
+            target = limit + Math.sqrt(limit);
+        } else {
+            // Too little load to tell whether a higher limit would still be served
+            return;
+        }
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+    
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
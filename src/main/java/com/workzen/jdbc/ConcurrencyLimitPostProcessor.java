@@ -0,0 +1,33 @@
+package com.workzen.jdbc;
+
+import com.workzen.config.DatabaseConcurrencyProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the application {@link DataSource} behind a {@link ConcurrencyLimitingDataSource}
+ * when {@code workzen.db-concurrency.enabled} is set.
+ */
+@Component
+public class ConcurrencyLimitPostProcessor implements BeanPostProcessor {
+    
+    private final ObjectProvider<DatabaseConcurrencyProperties> properties;
+    
+    public ConcurrencyLimitPostProcessor(ObjectProvider<DatabaseConcurrencyProperties> properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+            DatabaseConcurrencyProperties limits = properties.getObject();
+            if (limits.isEnabled()) {
+                return new ConcurrencyLimitingDataSource(dataSource, limits);
+            }
+        }
+        return bean;
+    }
+}
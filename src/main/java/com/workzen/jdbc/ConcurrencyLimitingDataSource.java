@@ -0,0 +1,227 @@
+package com.workzen.jdbc;
+
+import com.workzen.config.DatabaseConcurrencyProperties;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits at most {@link AdaptiveConcurrencyLimit#limit()} threads to hold a connection at
+ * once; a permit is taken in {@code getConnection} and returned when the connection is
+ * closed. Threads over the limit queue for up to {@code maxQueueWait}, and are turned away
+ * straight away once {@code maxQueued} are already waiting. Both failures are the
+ * {@link SQLTransientConnectionException} a pool timeout raises, so callers see a shed
+ * request exactly like an exhausted pool, only sooner.
+ *
+ * <p>With virtual threads the request thread count is no longer a limit on database
+ * concurrency; this takes over that role, adapting to what the database currently
+ * sustains instead of a fixed pool size. A thread that opens another connection while it
+ * holds one (REQUIRES_NEW, an after-commit write) gets it without a second permit: with
+ * every permit held by such a thread, waiting for one would never end.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final AdaptiveConcurrencyLimit limit;
+    private final int maxQueued;
+    private final long maxQueueWaitNanos;
+    private final LongAdder rejected = new LongAdder();
+    // Open connections per thread; the permit taken by the first covers the others
+    private final ThreadLocal<AtomicInteger> openConnections = ThreadLocal.withInitial(AtomicInteger::new);
+    private int inFlight;
+    private int queued;
+    
+    public ConcurrencyLimitingDataSource(DataSource target, DatabaseConcurrencyProperties properties) {
+        super(target);
+        this.limit = new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTargetPoolWait().toNanos(),
+                properties.getLatencyTolerance());
+        this.maxQueued = properties.getMaxQueued();
+        this.maxQueueWaitNanos = properties.getMaxQueueWait().toNanos();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+    
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit.limit();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long getRejected() {
+        return rejected.sum();
+    }
+    
+    private void acquire() throws SQLException {
+        lock.lock();
+        try {
+            if (inFlight < limit.limit()) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueued) {
+                rejected.increment();
+                throw new SQLTransientConnectionException("Database concurrency limit of " + limit.limit()
+                        + " reached with " + queued + " requests already queued");
+            }
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= limit.limit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        throw new SQLTransientConnectionException("Timed out after "
+                                + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos)
+                                + " ms waiting under the database concurrency limit of " + limit.limit());
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting under the database concurrency limit",
+                        e);
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private Connection connect(String username, String password) throws SQLException {
+        AtomicInteger open = openConnections.get();
+        boolean nested = open.get() > 0;
+        if (!nested) {
+            acquire();
+        }
+        Obtained obtained = obtain(username, password, nested);
+        open.incrementAndGet();
+        return limited(obtained, open, nested);
+    }
+    
+    private Obtained obtain(String username, String password, boolean nested) throws SQLException {
+        long started = System.nanoTime();
+        try {
+            Connection connection = username == null ? super.getConnection()
+                    : super.getConnection(username, password);
+            return new Obtained(connection, started, System.nanoTime());
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                // A pool timeout is the strongest overload signal there is
+                long waited = System.nanoTime() - started;
+                release(waited, waited);
+            }
+            throw e;
+        }
+    }
+    
+    private void release(long holdNanos, long poolWaitNanos) {
+        lock.lock();
+        try {
+            limit.onSample(holdNanos, poolWaitNanos, inFlight);
+            inFlight--;
+            for (int free = Math.min(queued, limit.limit() - inFlight); free > 0; free--) {
+                permitReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private Connection limited(Obtained obtained, AtomicInteger open, boolean nested) {
+        AtomicBoolean closed = new AtomicBoolean();
+        Connection connection = obtained.connection();
+        return (Connection) Proxy.newProxyInstance(ConcurrencyLimitingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (closed.compareAndSet(false, true)) {
+                                    open.decrementAndGet();
+                                    if (!nested) {
+                                        release(System.nanoTime() - obtained.obtainedAt(),
+                                                obtained.obtainedAt() - obtained.requestedAt());
+                                    }
+                                }
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "unwrap" -> {
+                            if (((Class<?>) args[0]).isInstance(connection)) {
+                                return connection;
+                            }
+                        }
+                        case "isWrapperFor" -> {
+                            if (((Class<?>) args[0]).isInstance(connection)) {
+                                return true;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+    
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private record Obtained(Connection connection, long requestedAt, long obtainedAt) {
+    }
+}
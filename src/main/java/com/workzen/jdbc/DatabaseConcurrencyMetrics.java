@@ -0,0 +1,45 @@
+package com.workzen.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * {@code workzen.db.concurrency.*}: the current limit, connections held under it, threads
+ * queued for a permit and requests shed. Nothing is registered while the limiter is off.
+ */
+@Component
+public class DatabaseConcurrencyMetrics implements MeterBinder {
+    
+    private final DataSource dataSource;
+    
+    public DatabaseConcurrencyMetrics(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ConcurrencyLimitingDataSource limiter;
+        try {
+            if (!dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)) {
+                return;
+            }
+            limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        Gauge.builder("workzen.db.concurrency.limit", limiter, ConcurrencyLimitingDataSource::getLimit)
+                .register(registry);
+        Gauge.builder("workzen.db.concurrency.in.flight", limiter, ConcurrencyLimitingDataSource::getInFlight)
+                .register(registry);
+        Gauge.builder("workzen.db.concurrency.queued", limiter, ConcurrencyLimitingDataSource::getQueued)
+                .register(registry);
+        FunctionCounter.builder("workzen.db.concurrency.rejected", limiter, ConcurrencyLimitingDataSource::getRejected)
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Employee;
+import com.workzen.index.AttendanceMonthStore;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AttendanceMonthDepartmentListener extends EntityCommitListener<Employee> {
+    
+    private final AttendanceMonthStore store;
+    
+    public AttendanceMonthDepartmentListener(AttendanceMonthStore store) {
+        super(Employee.class);
+        this.store = store;
+    }
+    
+    @Override
+    protected void afterInsert(Employee employee) {
+        store.setDepartment(employee.getId(), employee.getDepartment());
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        if (!previous.isAvailable() || previous.changed("department")) {
+            store.setDepartment(employee.getId(), employee.getDepartment());
+        }
+    }
+}
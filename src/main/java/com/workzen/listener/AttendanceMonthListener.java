@@ -0,0 +1,43 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Attendance;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.index.AttendanceMonthStore;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class AttendanceMonthListener extends EntityCommitListener<Attendance> {
+    
+    private final AttendanceMonthStore store;
+    
+    public AttendanceMonthListener(AttendanceMonthStore store) {
+        super(Attendance.class);
+        this.store = store;
+    }
+    
+    @Override
+    protected void afterInsert(Attendance attendance) {
+        put(attendance);
+    }
+    
+    @Override
+    protected void afterUpdate(Attendance attendance, PreviousState previous) {
+        if (previous.isAvailable() && previous.changed("date")) {
+            store.put(attendance.getEmployee().getId(), (LocalDate) previous.get("date"), null, null, null);
+        }
+        put(attendance);
+    }
+    
+    @Override
+    protected void afterDelete(Attendance attendance) {
+        store.put(attendance.getEmployee().getId(), attendance.getDate(), null, null, null);
+    }
+    
+    private void put(Attendance attendance) {
+        store.put(attendance.getEmployee().getId(), attendance.getDate(),
+                attendance.getStatus() == null ? AttendanceStatus.ABSENT : attendance.getStatus(),
+                attendance.getWorkHours(), attendance.getOvertimeHours());
+    }
+}
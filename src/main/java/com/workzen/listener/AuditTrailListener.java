@@ -0,0 +1,179 @@
+package com.workzen.listener;
+
+import com.workzen.config.AuditProperties;
+import com.workzen.dto.AuditRecord;
+import com.workzen.dto.AuditRecord.FieldChange;
+import com.workzen.entity.BaseEntity;
+import com.workzen.enums.AuditAction;
+import com.workzen.service.AuditTrail;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures field-level diffs of the audited entities once their transaction has
+ * committed and hands them to the {@link AuditTrail}. Unlike {@link EntityCommitListener}
+ * it works on Hibernate's raw property state, since it compares every property rather
+ * than a few known ones.
+ *
+ * <p>The {@link BaseEntity} bookkeeping columns are left out of the diff; the actor is
+ * the entity's {@code updatedBy} or else the authenticated user on the committing thread.
+ * Lazy properties that were never loaded are skipped, as their values are unknown.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workzen.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrailListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    
+    private static final Set<String> BOOKKEEPING = Set.of("createdAt", "updatedAt", "createdBy", "updatedBy",
+            "version");
+    private static final String MASKED = "***";
+    private static final String SYSTEM = "system";
+    
+    private final AuditTrail auditTrail;
+    private final Set<String> entities;
+    private final Set<String> maskedProperties;
+    
+    public AuditTrailListener(AuditTrail auditTrail, AuditProperties properties) {
+        this.auditTrail = auditTrail;
+        this.entities = Set.copyOf(properties.getEntities());
+        this.maskedProperties = Set.copyOf(properties.getMaskedProperties());
+    }
+    
+    @Autowired
+    public void registerWith(EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return isAudited(persister);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isAudited(event.getPersister())) {
+            capture(event.getPersister(), event.getEntity(), event.getId(), AuditAction.INSERT, null,
+                    event.getState());
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Without a loaded snapshot the old values are unknown and every value is recorded as new
+        if (isAudited(event.getPersister())) {
+            capture(event.getPersister(), event.getEntity(), event.getId(), AuditAction.UPDATE,
+                    event.getOldState(), event.getState());
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isAudited(event.getPersister())) {
+            capture(event.getPersister(), event.getEntity(), event.getId(), AuditAction.DELETE,
+                    event.getDeletedState(), null);
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    
+    private boolean isAudited(EntityPersister persister) {
+        return entities.contains(persister.getMappedClass().getSimpleName());
+    }
+    
+    private void capture(EntityPersister persister, Object entity, Object id, AuditAction action, Object[] before,
+                         Object[] after) {
+        // The transaction is already committed, a failing capture must not surface to the caller
+        try {
+            String[] names = persister.getPropertyNames();
+            List<FieldChange> changes = new ArrayList<>();
+            for (int i = 0; i < names.length; i++) {
+                Object from = before == null ? null : before[i];
+                Object to = after == null ? null : after[i];
+                if (BOOKKEEPING.contains(names[i]) || from == LazyPropertyInitializer.UNFETCHED_PROPERTY
+                        || to == LazyPropertyInitializer.UNFETCHED_PROPERTY) {
+                    continue;
+                }
+                String renderedFrom = render(names[i], from);
+                String renderedTo = render(names[i], to);
+                boolean changed = maskedProperties.contains(names[i]) ? !Objects.equals(from, to)
+                        : !Objects.equals(renderedFrom, renderedTo);
+                if (changed) {
+                    changes.add(new FieldChange(names[i], renderedFrom, renderedTo));
+                }
+            }
+            if (action == AuditAction.UPDATE && changes.isEmpty()) {
+                return;
+            }
+            auditTrail.record(new AuditRecord(persister.getMappedClass().getSimpleName(), (Long) id, action,
+                    changes, actor(entity), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to capture audit record for {} {}", persister.getMappedClass().getSimpleName(), id, e);
+        }
+    }
+    
+    private String render(String property, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (maskedProperties.contains(property)) {
+            return MASKED;
+        }
+        if (value instanceof BaseEntity entity) {
+            return String.valueOf(entity.getId());
+        }
+        if (value instanceof BigDecimal amount) {
+            return amount.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+    
+    private static String actor(Object entity) {
+        if (entity instanceof BaseEntity audited && audited.getUpdatedBy() != null) {
+            return audited.getUpdatedBy();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? SYSTEM : authentication.getName();
+    }
+}
@@ -0,0 +1,32 @@
+package com.workzen.listener;
+
+import com.workzen.dto.EmployeeSearchDocument;
+import com.workzen.entity.Employee;
+import com.workzen.index.EmployeeSearchIndex;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeSearchIndexListener extends EntityCommitListener<Employee> {
+    
+    private final EmployeeSearchIndex searchIndex;
+    
+    public EmployeeSearchIndexListener(EmployeeSearchIndex searchIndex) {
+        super(Employee.class);
+        this.searchIndex = searchIndex;
+    }
+    
+    @Override
+    protected void afterInsert(Employee employee) {
+        searchIndex.upsert(EmployeeSearchDocument.of(employee));
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        searchIndex.upsert(EmployeeSearchDocument.of(employee));
+    }
+    
+    @Override
+    protected void afterDelete(Employee employee) {
+        searchIndex.remove(employee.getId());
+    }
+}
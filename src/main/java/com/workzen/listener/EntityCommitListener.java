@@ -0,0 +1,155 @@
+package com.workzen.listener;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Objects;
+
+/**
+ * Base class for in-memory structures that follow entity changes. Subclasses are
+ * registered as Hibernate post-commit insert/update/delete listeners, so they only see
+ * changes whose transaction actually committed and never a rolled-back state.
+ *
+ * <p>Bulk JDBC writes bypass Hibernate and are not reported here.
+ */
+@Slf4j
+public abstract class EntityCommitListener<T> implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    
+    private final Class<T> entityType;
+    
+    protected EntityCommitListener(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+    
+    @Autowired
+    public void registerWith(EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    protected void afterInsert(T entity) {
+    }
+    
+    protected void afterUpdate(T entity, PreviousState previous) {
+    }
+    
+    protected void afterDelete(T entity) {
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (entityType.isInstance(event.getEntity())) {
+            dispatch(() -> afterInsert(entityType.cast(event.getEntity())));
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (entityType.isInstance(event.getEntity())) {
+            PreviousState previous = new PreviousState(event.getPersister().getPropertyNames(), event.getOldState(),
+                    event.getState());
+            dispatch(() -> afterUpdate(entityType.cast(event.getEntity()), previous));
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (entityType.isInstance(event.getEntity())) {
+            dispatch(() -> afterDelete(entityType.cast(event.getEntity())));
+        }
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityType.isAssignableFrom(persister.getMappedClass());
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    
+    private void dispatch(Runnable callback) {
+        // The transaction is already committed, a failing listener must not surface to the caller
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            log.warn("{} failed to apply a committed {} change", getClass().getSimpleName(),
+                    entityType.getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Property values of an updated entity as they were loaded, before the update.
+     * Not available when the entity was updated without a loaded snapshot.
+     */
+    public static final class PreviousState {
+        
+        private final String[] propertyNames;
+        private final Object[] values;
+        private final Object[] currentValues;
+        
+        PreviousState(String[] propertyNames, Object[] values, Object[] currentValues) {
+            this.propertyNames = propertyNames;
+            this.values = values;
+            this.currentValues = currentValues;
+        }
+        
+        public boolean isAvailable() {
+            return values != null;
+        }
+        
+        public Object get(String propertyName) {
+            return values == null ? null : values[indexOf(propertyName)];
+        }
+        
+        /**
+         * Whether any of the given properties was written with a different value.
+         * Always true when the previous state is not available.
+         */
+        public boolean changed(String... propertyNames) {
+            if (values == null) {
+                return true;
+            }
+            for (String propertyName : propertyNames) {
+                int index = indexOf(propertyName);
+                if (!Objects.equals(values[index], currentValues[index])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private int indexOf(String propertyName) {
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (propertyNames[i].equals(propertyName)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown property " + propertyName);
+        }
+    }
+}
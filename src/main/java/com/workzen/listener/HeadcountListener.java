@@ -0,0 +1,40 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import com.workzen.index.HeadcountMatrix;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HeadcountListener extends EntityCommitListener<Employee> {
+    
+    private final HeadcountMatrix headcount;
+    
+    public HeadcountListener(HeadcountMatrix headcount) {
+        super(Employee.class);
+        this.headcount = headcount;
+    }
+    
+    @Override
+    protected void afterInsert(Employee employee) {
+        headcount.add(employee.getDepartment(), employee.getStatus(), employee.getRole());
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        // Without the previous values the old cell is unknown; the scheduled reconcile fixes it
+        if (!previous.isAvailable() || !previous.changed("department", "status", "role")) {
+            return;
+        }
+        headcount.remove((Department) previous.get("department"), (EmployeeStatus) previous.get("status"),
+                (Role) previous.get("role"));
+        headcount.add(employee.getDepartment(), employee.getStatus(), employee.getRole());
+    }
+    
+    @Override
+    protected void afterDelete(Employee employee) {
+        headcount.remove(employee.getDepartment(), employee.getStatus(), employee.getRole());
+    }
+}
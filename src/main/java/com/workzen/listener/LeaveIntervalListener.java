@@ -0,0 +1,40 @@
+package com.workzen.listener;
+
+import com.workzen.entity.LeaveApplication;
+import com.workzen.index.LeaveIntervalIndex;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LeaveIntervalListener extends EntityCommitListener<LeaveApplication> {
+    
+    private final LeaveIntervalIndex intervals;
+    
+    public LeaveIntervalListener(LeaveIntervalIndex intervals) {
+        super(LeaveApplication.class);
+        this.intervals = intervals;
+    }
+    
+    @Override
+    protected void afterInsert(LeaveApplication application) {
+        apply(application);
+    }
+    
+    @Override
+    protected void afterUpdate(LeaveApplication application, PreviousState previous) {
+        apply(application);
+    }
+    
+    @Override
+    protected void afterDelete(LeaveApplication application) {
+        intervals.remove(application.getId(), application.getEmployee().getId());
+    }
+    
+    private void apply(LeaveApplication application) {
+        if (application.getStatus().holdsLeave()) {
+            intervals.put(application.getId(), application.getEmployee().getId(), application.getStartDate(),
+                    application.getEndDate());
+        } else {
+            intervals.remove(application.getId(), application.getEmployee().getId());
+        }
+    }
+}
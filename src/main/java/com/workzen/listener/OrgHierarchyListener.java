@@ -0,0 +1,31 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Employee;
+import com.workzen.index.OrgHierarchyIndex;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrgHierarchyListener extends EntityCommitListener<Employee> {
+    
+    private final OrgHierarchyIndex hierarchy;
+    
+    public OrgHierarchyListener(OrgHierarchyIndex hierarchy) {
+        super(Employee.class);
+        this.hierarchy = hierarchy;
+    }
+    
+    @Override
+    protected void afterInsert(Employee employee) {
+        hierarchy.setManager(employee.getId(), employee.getManagerId());
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        hierarchy.setManager(employee.getId(), employee.getManagerId());
+    }
+    
+    @Override
+    protected void afterDelete(Employee employee) {
+        hierarchy.remove(employee.getId());
+    }
+}
@@ -0,0 +1,36 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Employee;
+import com.workzen.security.WorkZenUserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached {@link com.workzen.security.EmployeePrincipal}s when a committed change
+ * touches anything authentication depends on.
+ */
+@Component
+public class PrincipalCacheListener extends EntityCommitListener<Employee> {
+    
+    private final WorkZenUserDetailsService userDetailsService;
+    
+    public PrincipalCacheListener(WorkZenUserDetailsService userDetailsService) {
+        super(Employee.class);
+        this.userDetailsService = userDetailsService;
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        if (!previous.isAvailable()) {
+            userDetailsService.evict(employee.getId());
+        } else if (previous.changed("email", "password", "role", "status", "accountNonExpired",
+                "accountNonLocked", "credentialsNonExpired", "enabled")) {
+            userDetailsService.evict((String) previous.get("email"));
+            userDetailsService.evict(employee.getEmail());
+        }
+    }
+    
+    @Override
+    protected void afterDelete(Employee employee) {
+        userDetailsService.evict(employee.getEmail());
+    }
+}
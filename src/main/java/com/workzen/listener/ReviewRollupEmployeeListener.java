@@ -0,0 +1,28 @@
+package com.workzen.listener;
+
+import com.workzen.entity.Employee;
+import com.workzen.index.ReviewRollupStore;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReviewRollupEmployeeListener extends EntityCommitListener<Employee> {
+    
+    private final ReviewRollupStore rollups;
+    
+    public ReviewRollupEmployeeListener(ReviewRollupStore rollups) {
+        super(Employee.class);
+        this.rollups = rollups;
+    }
+    
+    @Override
+    protected void afterInsert(Employee employee) {
+        rollups.setGrouping(employee.getId(), employee.getDepartment(), employee.getRole());
+    }
+    
+    @Override
+    protected void afterUpdate(Employee employee, PreviousState previous) {
+        if (previous.changed("department", "role")) {
+            rollups.setGrouping(employee.getId(), employee.getDepartment(), employee.getRole());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.workzen.listener;
+
+import com.workzen.dto.ReviewRating;
+import com.workzen.entity.PerformanceReview;
+import com.workzen.index.ReviewRollupStore;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReviewRollupListener extends EntityCommitListener<PerformanceReview> {
+    
+    private final ReviewRollupStore rollups;
+    
+    public ReviewRollupListener(ReviewRollupStore rollups) {
+        super(PerformanceReview.class);
+        this.rollups = rollups;
+    }
+    
+    @Override
+    protected void afterInsert(PerformanceReview review) {
+        apply(review);
+    }
+    
+    @Override
+    protected void afterUpdate(PerformanceReview review, PreviousState previous) {
+        apply(review);
+    }
+    
+    @Override
+    protected void afterDelete(PerformanceReview review) {
+        rollups.remove(review.getId());
+    }
+    
+    private void apply(PerformanceReview review) {
+        if (review.getStatus() != null && review.getStatus().isFinished()) {
+            rollups.put(ReviewRating.of(review));
+        } else {
+            rollups.remove(review.getId());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.workzen.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/queries}: repository methods slowest first, and the requests and
+ * transactions preparing the most statements, with how often each went over budget.
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueryMetricsEndpoint {
+    
+    static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public QueryMetricsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @ReadOperation
+    public QueryReport report() {
+        return new QueryReport(repositoryMethods(),
+                statements(StatementBudget.REQUEST_STATEMENTS, "uri"),
+                statements(StatementBudget.TRANSACTION_STATEMENTS, "transaction"));
+    }
+    
+    private List<RepositoryMethod> repositoryMethods() {
+        return meterRegistry.find(REPOSITORY_INVOCATIONS).timers().stream()
+                .filter(timer -> "None".equals(timer.getId().getTag("exception")))
+                .map(this::repositoryMethod)
+                .sorted(Comparator.comparingDouble(RepositoryMethod::p95Millis).reversed())
+                .toList();
+    }
+    
+    private RepositoryMethod repositoryMethod(Timer timer) {
+        String repository = timer.getId().getTag("repository");
+        String method = timer.getId().getTag("method");
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        DistributionSummary rows = meterRegistry.find(RepositoryStatementsInterceptor.ROWS)
+                .tag("repository", repository).tag("method", method).summary();
+        DistributionSummary statements = meterRegistry.find(RepositoryStatementsInterceptor.STATEMENTS)
+                .tag("repository", repository).tag("method", method).summary();
+        return new RepositoryMethod(repository, method, snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                percentile(snapshot, 0.95, TimeUnit.MILLISECONDS),
+                percentile(snapshot, 0.99, TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                rows == null ? 0 : rows.mean(),
+                statements == null ? 0 : statements.mean());
+    }
+    
+    private List<StatementUsage> statements(String meter, String tag) {
+        return meterRegistry.find(meter).summaries().stream()
+                .map(summary -> {
+                    String name = summary.getId().getTag(tag);
+                    HistogramSnapshot snapshot = summary.takeSnapshot();
+                    Counter exceeded = meterRegistry.find(StatementBudget.BUDGET_EXCEEDED).tag(tag, name).counter();
+                    return new StatementUsage(name, snapshot.count(), snapshot.mean(),
+                            percentile(snapshot, 0.95, null), snapshot.max(),
+                            exceeded == null ? 0 : (long) exceeded.count());
+                })
+                .sorted(Comparator.comparingDouble(StatementUsage::max).reversed())
+                .toList();
+    }
+    
+    // NaN when the meter was registered without that percentile
+    private static double percentile(HistogramSnapshot snapshot, double percentile, TimeUnit unit) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return unit == null ? value.value() : value.value(unit);
+            }
+        }
+        return Double.NaN;
+    }
+    
+    public record QueryReport(List<RepositoryMethod> repositoryMethods, List<StatementUsage> requests,
+            List<StatementUsage> transactions) {
+    }
+    
+    public record RepositoryMethod(String repository, String method, long calls, double meanMillis,
+            double p95Millis, double p99Millis, double maxMillis, double meanRows, double meanStatements) {
+    }
+    
+    public record StatementUsage(String name, long count, double mean, double p95, double max,
+            long overBudget) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.workzen.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the rows each repository method returns and the statements it prepares. Call
+ * latency is timed by Spring Boot as {@code spring.data.repository.invocations} with the
+ * same {@code repository} and {@code method} tags, so the three can be read side by side.
+ */
+class RepositoryStatementsInterceptor implements MethodInterceptor {
+    
+    static final String ROWS = "workzen.repository.rows";
+    static final String STATEMENTS = "workzen.repository.statements";
+    
+    private final MeterRegistry meterRegistry;
+    private final String repository;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+    
+    RepositoryStatementsInterceptor(MeterRegistry meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long before = StatementCounter.current();
+        Object result = invocation.proceed();
+        Meters methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::meters);
+        methodMeters.statements.record(StatementCounter.current() - before);
+        long rows = rows(result);
+        if (rows >= 0) {
+            methodMeters.rows.record(rows);
+        }
+        return result;
+    }
+    
+    private Meters meters(Method method) {
+        return new Meters(
+                DistributionSummary.builder(ROWS)
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder(STATEMENTS)
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .register(meterRegistry));
+    }
+    
+    // -1 where the row count is not known up front (streams) or the method returns no rows
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+        return 1;
+    }
+    
+    private record Meters(DistributionSummary rows, DistributionSummary statements) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.workzen.monitoring;
+
+import com.workzen.config.QueryMetricsProperties;
+import com.workzen.config.QueryMetricsProperties.BudgetMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many statements a request or transaction prepared and reports those over
+ * their budget, the usual sign of a lazy association loaded in a loop.
+ */
+@Slf4j
+@Component
+public class StatementBudget {
+    
+    public static final String REQUEST_STATEMENTS = "workzen.jdbc.statements.request";
+    public static final String TRANSACTION_STATEMENTS = "workzen.jdbc.statements.transaction";
+    public static final String BUDGET_EXCEEDED = "workzen.jdbc.statements.budget.exceeded";
+    
+    private final MeterRegistry meterRegistry;
+    private final QueryMetricsProperties properties;
+    
+    public StatementBudget(MeterRegistry meterRegistry, QueryMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+    
+    public void request(String uri, long statements) {
+        record(REQUEST_STATEMENTS, "uri", uri, statements, properties.getRequestStatementBudget());
+    }
+    
+    public void transaction(String name, long statements) {
+        record(TRANSACTION_STATEMENTS, "transaction", name, statements, properties.getTransactionStatementBudget());
+    }
+    
+    private void record(String meter, String tag, String value, long statements, int budget) {
+        DistributionSummary.builder(meter)
+                .tag(tag, value)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements <= budget) {
+            return;
+        }
+        meterRegistry.counter(BUDGET_EXCEEDED, tag, value).increment();
+        String message = "%s %s prepared %d JDBC statements, budget is %d".formatted(tag, value, statements, budget);
+        if (properties.getBudgetMode() == BudgetMode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
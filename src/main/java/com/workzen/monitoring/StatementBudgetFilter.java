@@ -0,0 +1,41 @@
+package com.workzen.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements each HTTP request prepares on its own thread, tagged by the
+ * matched handler pattern so the meters stay low-cardinality. Work handed to other
+ * threads, e.g. a streamed response body, is not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    
+    private static final String UNMAPPED = "UNMAPPED";
+    
+    private final StatementBudget statementBudget;
+    
+    public StatementBudgetFilter(StatementBudget statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long before = StatementCounter.current();
+        chain.doFilter(request, response);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        statementBudget.request(request.getMethod() + " " + (pattern == null ? UNMAPPED : pattern),
+                StatementCounter.current() - before);
+    }
+}
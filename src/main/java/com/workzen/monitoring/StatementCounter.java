@@ -0,0 +1,22 @@
+package com.workzen.monitoring;
+
+/**
+ * Per-thread count of JDBC statements prepared through the {@link StatementCountingDataSource}.
+ * The count only grows; a request or transaction reads it at its start and end and takes
+ * the difference, so nested scopes need no bookkeeping of their own.
+ */
+public final class StatementCounter {
+    
+    private static final ThreadLocal<long[]> PREPARED = ThreadLocal.withInitial(() -> new long[1]);
+    
+    private StatementCounter() {
+    }
+    
+    public static long current() {
+        return PREPARED.get()[0];
+    }
+    
+    static void increment() {
+        PREPARED.get()[0]++;
+    }
+}
@@ -0,0 +1,67 @@
+package com.workzen.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Counts every statement prepared on its connections in the {@link StatementCounter}:
+ * Hibernate queries, lazy loads and JdbcTemplate work alike. A JDBC batch is prepared
+ * once and counts once, matching the round trips it costs.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+    
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> invoke(proxy, connection, method, args));
+    }
+    
+    private static Object invoke(Object proxy, Connection connection, Method method, Object[] args)
+            throws Throwable {
+        switch (method.getName()) {
+            case "prepareStatement", "prepareCall", "createStatement" -> StatementCounter.increment();
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "unwrap" -> {
+                if (((Class<?>) args[0]).isInstance(connection)) {
+                    return connection;
+                }
+            }
+            case "isWrapperFor" -> {
+                if (((Class<?>) args[0]).isInstance(connection)) {
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.workzen.monitoring;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Counts the statements of every new transaction, registered on the transaction manager
+ * by Spring Boot. A REQUIRES_NEW transaction runs on the same thread, so its statements
+ * count towards the enclosing transaction as well.
+ */
+@Component
+public class TransactionStatementListener implements TransactionExecutionListener {
+    
+    private static final String UNNAMED = "unnamed";
+    
+    private final StatementBudget statementBudget;
+    private final ThreadLocal<Deque<long[]>> started = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    public TransactionStatementListener(StatementBudget statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+    
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            started.get().push(new long[] {StatementCounter.current()});
+        }
+    }
+    
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction);
+    }
+    
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction);
+    }
+    
+    private void finish(TransactionExecution transaction) {
+        long[] start = started.get().poll();
+        if (start == null) {
+            return;
+        }
+        String name = transaction.getTransactionName();
+        statementBudget.transaction(name == null || name.isEmpty() ? UNNAMED : name,
+                StatementCounter.current() - start[0]);
+    }
+}
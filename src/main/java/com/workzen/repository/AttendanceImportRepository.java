@@ -0,0 +1,13 @@
+package com.workzen.repository;
+
+import com.workzen.entity.AttendanceImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AttendanceImportRepository extends JpaRepository<AttendanceImport, Long> {
+    
+    Optional<AttendanceImport> findByFileKey(String fileKey);
+}
@@ -0,0 +1,82 @@
+package com.workzen.repository;
+
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import com.workzen.index.AttendanceMonthStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Streams attendance rows into the {@link AttendanceMonthStore} without materializing
+ * entities or lists. On Postgres the driver only streams with a fetch size inside a
+ * transaction, so call {@link #streamDays} from one.
+ */
+@Repository
+public class AttendanceMonthRepository {
+    
+    private static final int FETCH_SIZE = 10_000;
+    private static final String DAY_COLUMNS =
+            "SELECT employee_id, date, status, work_hours, overtime_hours FROM attendance ";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    public AttendanceMonthRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+    
+    public void streamDepartments(AttendanceMonthStore.Loader loader) {
+        jdbcTemplate.query("SELECT id, department FROM employees", rs -> {
+            String department = rs.getString(2);
+            loader.department(rs.getLong(1), department == null ? null : Department.valueOf(department));
+        });
+    }
+    
+    public void streamDays(LocalDate from, LocalDate to, AttendanceMonthStore.Loader loader) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DAY_COLUMNS + "WHERE date BETWEEN ? AND ?");
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            return statement;
+        }, rs -> {
+            loader.day(rs.getLong(1), rs.getObject(2, LocalDate.class), status(rs), hours(rs, 4), hours(rs, 5));
+        });
+    }
+    
+    /**
+     * Re-reads the given rows into the store; {@code employeeIds} {@code null} for all employees.
+     */
+    public void refreshDays(Collection<Long> employeeIds, LocalDate from, LocalDate to, AttendanceMonthStore store) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+        String sql = DAY_COLUMNS + "WHERE date BETWEEN :from AND :to";
+        if (employeeIds != null) {
+            sql += " AND employee_id IN (:employeeIds)";
+            parameters.addValue("employeeIds", employeeIds);
+        }
+        namedJdbcTemplate.query(sql, parameters, rs -> {
+            store.put(rs.getLong(1), rs.getObject(2, LocalDate.class), status(rs), hours(rs, 4), hours(rs, 5));
+        });
+    }
+    
+    private static AttendanceStatus status(ResultSet rs) throws SQLException {
+        String status = rs.getString(3);
+        return status == null ? AttendanceStatus.ABSENT : AttendanceStatus.valueOf(status);
+    }
+    
+    private static Double hours(ResultSet rs, int column) throws SQLException {
+        double hours = rs.getDouble(column);
+        return rs.wasNull() ? null : hours;
+    }
+}
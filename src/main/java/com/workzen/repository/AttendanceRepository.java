@@ -1,16 +1,26 @@
 package com.workzen.repository;
 
+import com.workzen.dto.AttendanceSheetRow;
+import com.workzen.dto.AttendanceStatusCount;
+import com.workzen.dto.CursorPage;
 import com.workzen.entity.Attendance;
 import com.workzen.entity.Employee;
 import com.workzen.enums.AttendanceStatus;
+import com.workzen.util.ScrollCursors;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,16 +31,41 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     List<Attendance> findByEmployeeAndDateBetween(Employee employee, LocalDate startDate, LocalDate endDate);
     
+    @EntityGraph(attributePaths = "employee")
     List<Attendance> findByDateAndStatus(LocalDate date, AttendanceStatus status);
     
-    @Query("SELECT a FROM Attendance a WHERE a.date = :date ORDER BY a.employee.firstName")
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee e WHERE a.date = :date ORDER BY e.firstName, e.lastName")
     List<Attendance> findByDateOrderByEmployeeName(@Param("date") LocalDate date);
     
+    // Read model of the two listings above for screens that only render the sheet
+    @Query("SELECT new com.workzen.dto.AttendanceSheetRow(a.id, e.id, e.employeeId, " +
+           "CONCAT(e.firstName, ' ', e.lastName), e.department, a.date, a.checkInTime, a.checkOutTime, a.status, " +
+           "a.workHours, a.overtimeHours, a.isLate, a.lateMinutes, a.location) " +
+           "FROM Attendance a JOIN a.employee e WHERE a.date = :date ORDER BY e.firstName, e.lastName")
+    List<AttendanceSheetRow> findSheetByDate(@Param("date") LocalDate date);
+    
+    @Query("SELECT new com.workzen.dto.AttendanceSheetRow(a.id, e.id, e.employeeId, " +
+           "CONCAT(e.firstName, ' ', e.lastName), e.department, a.date, a.checkInTime, a.checkOutTime, a.status, " +
+           "a.workHours, a.overtimeHours, a.isLate, a.lateMinutes, a.location) " +
+           "FROM Attendance a JOIN a.employee e WHERE a.date = :date AND a.status = :status " +
+           "ORDER BY e.firstName, e.lastName")
+    List<AttendanceSheetRow> findSheetByDateAndStatus(@Param("date") LocalDate date,
+                                                      @Param("status") AttendanceStatus status);
+    
+    // Half-open range on the raw column so (employee_id, date) can be used as an index range
     @Query("SELECT a FROM Attendance a WHERE a.employee = :employee AND " +
-           "YEAR(a.date) = :year AND MONTH(a.date) = :month ORDER BY a.date")
-    List<Attendance> findMonthlyAttendance(@Param("employee") Employee employee, 
-                                         @Param("year") int year, 
-                                         @Param("month") int month);
+           "a.date >= :fromDate AND a.date < :toDateExclusive ORDER BY a.date")
+    List<Attendance> findByEmployeeAndDateRange(@Param("employee") Employee employee,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDateExclusive") LocalDate toDateExclusive);
+    
+    default List<Attendance> findMonthlyAttendance(Employee employee, int year, int month) {
+        return findMonthlyAttendance(employee, YearMonth.of(year, month));
+    }
+    
+    default List<Attendance> findMonthlyAttendance(Employee employee, YearMonth month) {
+        return findByEmployeeAndDateRange(employee, month.atDay(1), month.plusMonths(1).atDay(1));
+    }
     
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee = :employee AND " +
            "a.date BETWEEN :startDate AND :endDate AND a.status = :status")
@@ -45,10 +80,45 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                               @Param("startDate") LocalDate startDate,
                               @Param("endDate") LocalDate endDate);
     
+    default long countMonthlyByStatus(Employee employee, YearMonth month, AttendanceStatus status) {
+        return countByEmployeeAndDateRangeAndStatus(employee, month.atDay(1), month.atEndOfMonth(), status);
+    }
+    
+    default Double getMonthlyAverageWorkHours(Employee employee, YearMonth month) {
+        return getAverageWorkHours(employee, month.atDay(1), month.atEndOfMonth());
+    }
+    
+    @Query("SELECT new com.workzen.dto.AttendanceStatusCount(a.employee.id, a.status, COUNT(a), SUM(a.overtimeHours)) " +
+           "FROM Attendance a WHERE a.employee.id IN :employeeIds AND a.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.employee.id, a.status")
+    List<AttendanceStatusCount> countByStatusForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+    
     Page<Attendance> findByEmployee(Employee employee, Pageable pageable);
     
+    @EntityGraph(attributePaths = "employee")
     @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate")
     Page<Attendance> findByDateRange(@Param("startDate") LocalDate startDate, 
                                    @Param("endDate") LocalDate endDate, 
                                    Pageable pageable);
+    
+    // Keyset variants of the two listings above: no COUNT and no OFFSET, every chunk seeks
+    // on (date, id) from the last row of the previous one
+    @EntityGraph(attributePaths = "employee")
+    Window<Attendance> findByDateBetweenOrderByDateAscIdAsc(LocalDate startDate, LocalDate endDate,
+                                                            ScrollPosition position, Limit limit);
+    
+    Window<Attendance> findByEmployeeOrderByDateDescIdDesc(Employee employee, ScrollPosition position, Limit limit);
+    
+    default CursorPage<Attendance> scrollByDateRange(LocalDate startDate, LocalDate endDate, String cursor,
+                                                     int size) {
+        return CursorPage.of(findByDateBetweenOrderByDateAscIdAsc(startDate, endDate,
+                ScrollCursors.decode(cursor), Limit.of(size)));
+    }
+    
+    default CursorPage<Attendance> scrollByEmployee(Employee employee, String cursor, int size) {
+        return CursorPage.of(findByEmployeeOrderByDateDescIdDesc(employee, ScrollCursors.decode(cursor),
+                Limit.of(size)));
+    }
 }
@@ -0,0 +1,89 @@
+package com.workzen.repository;
+
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.EmployeeStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based statements of the nightly attendance roll-call. Each one covers every active
+ * employee for a date in a single round trip; rows that already exist are left alone
+ * through the {@code (employee_id, date)} unique constraint, so running a date twice is
+ * harmless.
+ */
+@Repository
+public class AttendanceRollCallRepository {
+    
+    private static final String ACTIVE_STATUSES = EmployeeStatus.activeStatuses().stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+    
+    // Correlated per employee; each probe is an index range on idx_leave_applications_employee_dates
+    // (008_leave_application_indexes.sql) instead of a scan of the leave table
+    private static final String APPROVED_LEAVE_ON_DATE = """
+            SELECT 1 FROM leave_applications la
+            WHERE la.employee_id = %s AND la.status = '%s' AND CAST(? AS date) BETWEEN la.start_date AND la.end_date
+            """;
+    
+    // The NOT EXISTS keeps rows that are already there from drawing ids off the sequence;
+    // ON CONFLICT covers a punch committed in between
+    private static final String INSERT_MISSING_SQL = """
+            INSERT INTO attendance (id, employee_id, date, status, is_late,
+                                    created_at, updated_at, created_by, updated_by, version)
+            SELECT nextval('attendance_seq'), e.id, CAST(? AS date),
+                   CASE WHEN EXISTS (%s) THEN '%s' ELSE '%s' END,
+                   false, LOCALTIMESTAMP, LOCALTIMESTAMP, ?, ?, 0
+            FROM employees e
+            WHERE e.status IN (%s)
+              AND (e.date_of_joining IS NULL OR e.date_of_joining <= CAST(? AS date))
+              AND NOT EXISTS (SELECT 1 FROM attendance a WHERE a.employee_id = e.id AND a.date = CAST(? AS date))
+            ON CONFLICT (employee_id, date) DO NOTHING
+            """.formatted(APPROVED_LEAVE_ON_DATE.formatted("e.id", LeaveStatus.APPROVED.name()),
+            AttendanceStatus.ON_LEAVE.name(), AttendanceStatus.ABSENT.name(), ACTIVE_STATUSES);
+    
+    // Leave approved after its dates were already rolled up turns those ABSENT rows into ON_LEAVE
+    private static final String MARK_ON_LEAVE_SQL = """
+            UPDATE attendance a
+            SET status = '%s', updated_at = LOCALTIMESTAMP, updated_by = ?, version = COALESCE(a.version, 0) + 1
+            WHERE a.date = CAST(? AS date) AND a.status = '%s' AND a.check_in_time IS NULL
+              AND EXISTS (%s)
+            """.formatted(AttendanceStatus.ON_LEAVE.name(), AttendanceStatus.ABSENT.name(),
+            APPROVED_LEAVE_ON_DATE.formatted("a.employee_id", LeaveStatus.APPROVED.name()));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public AttendanceRollCallRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Takes a Postgres advisory lock held until the surrounding transaction ends.
+     *
+     * @return {@code false} if another session holds it
+     */
+    public boolean tryTransactionLock(long key) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                key));
+    }
+    
+    /**
+     * Inserts an ABSENT, or ON_LEAVE where approved leave covers the date, row for every
+     * active employee without attendance on {@code date}.
+     *
+     * @return the number of rows inserted
+     */
+    public int insertMissing(LocalDate date, String writtenBy) {
+        return jdbcTemplate.update(INSERT_MISSING_SQL, date, date, writtenBy, writtenBy, date, date);
+    }
+    
+    /**
+     * @return the number of ABSENT rows turned into ON_LEAVE
+     */
+    public int markOnLeave(LocalDate date, String writtenBy) {
+        return jdbcTemplate.update(MARK_ON_LEAVE_SQL, writtenBy, date, date);
+    }
+}
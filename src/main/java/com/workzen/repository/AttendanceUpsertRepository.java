@@ -0,0 +1,120 @@
+package com.workzen.repository;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceUpsert;
+import com.workzen.dto.AttendanceWriteEvent;
+import com.workzen.enums.AttendanceStatus;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Batched Postgres upsert into {@code attendance} keyed by the
+ * {@code (employee_id, date)} unique constraint. Used by the bulk write paths that
+ * must not go through the persistence context.
+ *
+ * <p>On conflict the punch times are merged (earliest check-in, latest check-out) and
+ * the derived columns are recomputed from the merged times with the same rules as
+ * {@link com.workzen.service.AttendancePolicy}. Every batch publishes an
+ * {@link AttendanceWriteEvent}, since these writes are invisible to entity listeners.
+ */
+@Repository
+public class AttendanceUpsertRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String upsertSql;
+    
+    public AttendanceUpsertRepository(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                      AttendanceProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.upsertSql = buildUpsertSql(properties);
+    }
+    
+    public void upsert(List<AttendanceUpsert> rows, String writtenBy) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertSql, rows, rows.size(), (ps, row) -> bind(ps, row, writtenBy));
+        eventPublisher.publishEvent(new AttendanceWriteEvent(
+                rows.stream().map(AttendanceUpsert::employeeId).distinct().toList(),
+                rows.stream().map(AttendanceUpsert::date).min(Comparator.naturalOrder()).orElseThrow(),
+                rows.stream().map(AttendanceUpsert::date).max(Comparator.naturalOrder()).orElseThrow()));
+    }
+    
+    private static void bind(PreparedStatement ps, AttendanceUpsert row, String writtenBy) throws SQLException {
+        ps.setLong(1, row.employeeId());
+        ps.setObject(2, row.date());
+        ps.setObject(3, row.checkInTime(), Types.TIME);
+        ps.setObject(4, row.checkOutTime(), Types.TIME);
+        ps.setString(5, row.status().name());
+        ps.setObject(6, row.workHours(), Types.DOUBLE);
+        ps.setObject(7, row.overtimeHours(), Types.DOUBLE);
+        ps.setBoolean(8, row.late());
+        ps.setObject(9, row.lateMinutes(), Types.INTEGER);
+        ps.setString(10, row.location());
+        ps.setString(11, row.remarks());
+        ps.setString(12, writtenBy);
+        ps.setString(13, writtenBy);
+    }
+    
+    private static String buildUpsertSql(AttendanceProperties properties) {
+        String checkIn = "LEAST(attendance.check_in_time, EXCLUDED.check_in_time)";
+        String checkOut = "GREATEST(attendance.check_out_time, EXCLUDED.check_out_time)";
+        String workHours = ("CASE WHEN %2$s > %1$s THEN "
+                + "round(CAST(EXTRACT(EPOCH FROM (%2$s - %1$s)) / 3600 AS numeric), 2) END")
+                .formatted(checkIn, checkOut);
+        String standardHours = String.format(Locale.ROOT, "%.4f", properties.getStandardWorkHours());
+        String halfDayHours = String.format(Locale.ROOT, "%.4f", properties.getHalfDayHours());
+        String shiftStart = "TIME '" + properties.getShiftStart() + "'";
+        String lateAfter = "TIME '" + properties.lateAfter() + "'";
+        
+        return """
+                INSERT INTO attendance (id, employee_id, date, check_in_time, check_out_time, status,
+                                        work_hours, overtime_hours, is_late, late_minutes, location, remarks,
+                                        created_at, updated_at, created_by, updated_by, version)
+                VALUES (nextval('attendance_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,
+                        LOCALTIMESTAMP, LOCALTIMESTAMP, ?, ?, 0)
+                ON CONFLICT (employee_id, date) DO UPDATE SET
+                    check_in_time = %1$s,
+                    check_out_time = %2$s,
+                    work_hours = %3$s,
+                    overtime_hours = CASE WHEN (%3$s) IS NULL THEN NULL
+                                          WHEN (%3$s) > %4$s THEN (%3$s) - %4$s ELSE 0 END,
+                    is_late = COALESCE(%1$s > %7$s, false),
+                    late_minutes = CASE WHEN %1$s > %7$s
+                                        THEN CAST(FLOOR(EXTRACT(EPOCH FROM (%1$s - %6$s)) / 60) AS integer) END,
+                    status = CASE
+                        WHEN EXCLUDED.status IN (%8$s) THEN EXCLUDED.status
+                        WHEN attendance.status IN (%9$s) THEN attendance.status
+                        WHEN (%1$s) IS NULL THEN EXCLUDED.status
+                        WHEN (%3$s) < %5$s THEN 'HALF_DAY'
+                        WHEN %1$s > %7$s THEN 'LATE'
+                        ELSE 'PRESENT' END,
+                    location = COALESCE(EXCLUDED.location, attendance.location),
+                    remarks = COALESCE(EXCLUDED.remarks, attendance.remarks),
+                    updated_at = LOCALTIMESTAMP,
+                    updated_by = EXCLUDED.updated_by,
+                    version = COALESCE(attendance.version, 0) + 1
+                """.formatted(checkIn, checkOut, workHours, standardHours, halfDayHours, shiftStart, lateAfter,
+                sqlList(Arrays.stream(AttendanceStatus.values()).filter(s -> !s.isDerivedFromPunches())),
+                sqlList(Arrays.stream(AttendanceStatus.values())
+                        .filter(s -> !s.isDerivedFromPunches() && s != AttendanceStatus.ON_LEAVE)));
+    }
+    
+    private static String sqlList(Stream<AttendanceStatus> statuses) {
+        return statuses.map(s -> "'" + s.name() + "'").collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,51 @@
+package com.workzen.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workzen.dto.AuditRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Batched JDBC inserts into the append-only {@code audit_events} table. Writes here do
+ * not go through the persistence context, so they raise no entity events of their own.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    public void insert(List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO audit_events (entity_type, entity_id, action, changes, changed_by, changed_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, records, records.size(), this::bind);
+    }
+    
+    private void bind(PreparedStatement ps, AuditRecord record) throws SQLException {
+        ps.setString(1, record.entityType());
+        ps.setLong(2, record.entityId());
+        ps.setString(3, record.action().name());
+        ps.setString(4, toJson(record.changes()));
+        ps.setString(5, record.changedBy());
+        ps.setObject(6, record.changedAt());
+    }
+    
+    private String toJson(List<AuditRecord.FieldChange> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize audit changes", e);
+        }
+    }
+}
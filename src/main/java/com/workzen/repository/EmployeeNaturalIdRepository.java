@@ -0,0 +1,14 @@
+package com.workzen.repository;
+
+import com.workzen.entity.Employee;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the {@code employeeId} natural id, resolved through the natural-id cache and
+ * then the entity cache, so a warm lookup does not reach the database.
+ */
+public interface EmployeeNaturalIdRepository {
+    
+    Optional<Employee> findByEmployeeId(String employeeId);
+}
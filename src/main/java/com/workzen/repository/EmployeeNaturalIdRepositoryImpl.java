@@ -0,0 +1,25 @@
+package com.workzen.repository;
+
+import com.workzen.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Unwrapping the shared EntityManager outside a transaction hands out a session that is
+    // closed straight away
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Employee> findByEmployeeId(String employeeId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(employeeId);
+    }
+}
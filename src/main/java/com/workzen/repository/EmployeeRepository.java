@@ -1,36 +1,90 @@
 package com.workzen.repository;
 
+import com.workzen.dto.CursorPage;
+import com.workzen.dto.EmployeeGrouping;
+import com.workzen.dto.EmployeeKey;
+import com.workzen.dto.EmployeeSearchDocument;
+import com.workzen.dto.EmployeeSummary;
+import com.workzen.dto.HeadcountGroup;
+import com.workzen.dto.PayrollCandidate;
+import com.workzen.dto.ReportingLine;
 import com.workzen.entity.Employee;
 import com.workzen.enums.Department;
 import com.workzen.enums.EmployeeStatus;
 import com.workzen.enums.Role;
+import com.workzen.security.EmployeePrincipal;
+import com.workzen.util.ScrollCursors;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeNaturalIdRepository {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     Optional<Employee> findByEmail(String email);
     
-    Optional<Employee> findByEmployeeId(String employeeId);
+    @Query("SELECT new com.workzen.security.EmployeePrincipal(e.id, e.email, e.password, e.role, e.status, " +
+           "e.accountNonExpired, e.accountNonLocked, e.credentialsNonExpired, e.enabled) " +
+           "FROM Employee e WHERE e.email = :email")
+    Optional<EmployeePrincipal> findPrincipalByEmail(@Param("email") String email);
     
+    @Query("SELECT new com.workzen.dto.EmployeeKey(e.id, e.employeeId) FROM Employee e " +
+           "WHERE e.employeeId IN :employeeIds")
+    List<EmployeeKey> findKeysByEmployeeIdIn(@Param("employeeIds") Collection<String> employeeIds);
+    
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByDepartment(Department department);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByRole(Role role);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByStatus(EmployeeStatus status);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByManager(Employee manager);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     Page<Employee> findByDepartmentAndStatus(Department department, EmployeeStatus status, Pageable pageable);
     
+    // Keyset variant for large departments, seeks on (lastName, id)
+    Window<Employee> findByDepartmentAndStatusOrderByLastNameAscIdAsc(Department department, EmployeeStatus status,
+                                                                     ScrollPosition position, Limit limit);
+    
+    default CursorPage<Employee> scrollByDepartmentAndStatus(Department department, EmployeeStatus status,
+                                                             String cursor, int size) {
+        return CursorPage.of(findByDepartmentAndStatusOrderByLastNameAscIdAsc(department, status,
+                ScrollCursors.decode(cursor), Limit.of(size)));
+    }
+    
+    @Query(value = "SELECT new com.workzen.dto.EmployeeSummary(e.id, e.employeeId, e.firstName, e.lastName, " +
+                   "e.email, e.department, e.role, e.status, e.designation) " +
+                   "FROM Employee e WHERE e.department = :department AND e.status = :status",
+           countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.department = :department AND e.status = :status")
+    Page<EmployeeSummary> findSummariesByDepartmentAndStatus(@Param("department") Department department,
+                                                             @Param("status") EmployeeStatus status,
+                                                             Pageable pageable);
+    
     @Query("SELECT e FROM Employee e WHERE e.manager = :manager AND e.status = :status")
     List<Employee> findSubordinates(@Param("manager") Employee manager, @Param("status") EmployeeStatus status);
     
@@ -41,6 +95,32 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
            "LOWER(e.employeeId) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<Employee> searchEmployees(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    @Query("SELECT e.id FROM Employee e WHERE e.status IN :statuses ORDER BY e.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<EmployeeStatus> statuses);
+    
+    @Query("SELECT new com.workzen.dto.PayrollCandidate(e.id, e.firstName, e.email, e.salary) FROM Employee e " +
+           "WHERE e.status IN :statuses AND e.id > :afterId AND e.id <= :toId ORDER BY e.id")
+    List<PayrollCandidate> findPayrollCandidates(@Param("statuses") Collection<EmployeeStatus> statuses,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("toId") Long toId,
+                                                 Pageable pageable);
+    
+    @Query("SELECT new com.workzen.dto.EmployeeSearchDocument(e.id, e.firstName, e.lastName, e.email, e.employeeId) " +
+           "FROM Employee e")
+    List<EmployeeSearchDocument> findAllSearchDocuments();
+    
+    @Query("SELECT new com.workzen.dto.ReportingLine(e.id, m.id) FROM Employee e LEFT JOIN e.manager m")
+    List<ReportingLine> findAllReportingLines();
+    
+    @Query("SELECT new com.workzen.dto.EmployeeGrouping(e.id, e.department, e.role) FROM Employee e")
+    List<EmployeeGrouping> findAllGroupings();
+    
+    List<Employee> findByIdInAndStatus(Collection<Long> ids, EmployeeStatus status);
+    
+    @Query("SELECT new com.workzen.dto.HeadcountGroup(e.department, e.status, e.role, COUNT(e)) " +
+           "FROM Employee e GROUP BY e.department, e.status, e.role")
+    List<HeadcountGroup> countByDepartmentStatusAndRole();
+    
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.status = :status")
     long countByStatus(@Param("status") EmployeeStatus status);
     
@@ -52,4 +132,11 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     boolean existsByEmployeeId(String employeeId);
     
     boolean existsByPhoneNumber(String phoneNumber);
+    
+    /**
+     * Row-locks the employee until the transaction ends, so checks across the employee's
+     * other rows, such as leave overlap, run one at a time on every node.
+     */
+    @Query(value = "SELECT id FROM employees WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
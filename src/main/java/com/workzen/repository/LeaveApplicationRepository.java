@@ -0,0 +1,60 @@
+package com.workzen.repository;
+
+import com.workzen.dto.LeaveApplicationSummary;
+import com.workzen.dto.LeaveInterval;
+import com.workzen.entity.Employee;
+import com.workzen.entity.LeaveApplication;
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.enums.LeaveType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveApplicationRepository extends JpaRepository<LeaveApplication, Long> {
+    
+    @EntityGraph(attributePaths = "approvedBy")
+    List<LeaveApplication> findByEmployeeOrderByStartDateDesc(Employee employee);
+    
+    @Query(value = "SELECT new com.workzen.dto.LeaveApplicationSummary(la.id, e.id, " +
+                   "CONCAT(e.firstName, ' ', e.lastName), la.leaveType, la.startDate, la.endDate, " +
+                   "la.totalDays, la.status, la.isHalfDay, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+                   "FROM LeaveApplication la JOIN la.employee e LEFT JOIN la.approvedBy a WHERE e.id = :employeeId",
+           countQuery = "SELECT COUNT(la) FROM LeaveApplication la WHERE la.employee.id = :employeeId")
+    Page<LeaveApplicationSummary> findSummariesByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+    
+    @Query(value = "SELECT new com.workzen.dto.LeaveApplicationSummary(la.id, e.id, " +
+                   "CONCAT(e.firstName, ' ', e.lastName), la.leaveType, la.startDate, la.endDate, " +
+                   "la.totalDays, la.status, la.isHalfDay, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+                   "FROM LeaveApplication la JOIN la.employee e LEFT JOIN la.approvedBy a WHERE la.status = :status",
+           countQuery = "SELECT COUNT(la) FROM LeaveApplication la WHERE la.status = :status")
+    Page<LeaveApplicationSummary> findSummariesByStatus(@Param("status") LeaveStatus status, Pageable pageable);
+    
+    @Query("SELECT new com.workzen.dto.LeaveInterval(la.id, la.employee.id, la.startDate, la.endDate) " +
+           "FROM LeaveApplication la WHERE la.status IN :statuses")
+    List<LeaveInterval> findIntervalsByStatusIn(@Param("statuses") Collection<LeaveStatus> statuses);
+    
+    // Only read when a leave_balances row is first created for the employee, year and type
+    @Query("SELECT la FROM LeaveApplication la WHERE la.employee.id = :employeeId " +
+           "AND la.leaveType = :leaveType AND la.startDate BETWEEN :from AND :to AND la.status IN :statuses")
+    List<LeaveApplication> findForBalance(@Param("employeeId") Long employeeId,
+                                          @Param("leaveType") LeaveType leaveType,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("statuses") Collection<LeaveStatus> statuses);
+    
+    @Query("SELECT COUNT(la) > 0 FROM LeaveApplication la WHERE la.employee.id = :employeeId " +
+           "AND la.status IN :statuses AND la.startDate <= :endDate AND la.endDate >= :startDate")
+    boolean existsOverlapping(@Param("employeeId") Long employeeId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate,
+                              @Param("statuses") Collection<LeaveStatus> statuses);
+}
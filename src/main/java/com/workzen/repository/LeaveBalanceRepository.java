@@ -0,0 +1,51 @@
+package com.workzen.repository;
+
+import com.workzen.entity.LeaveBalance;
+import com.workzen.enums.LeaveType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employee.id = :employeeId AND b.year = :year " +
+           "AND b.leaveType = :leaveType")
+    Optional<LeaveBalance> findForUpdate(@Param("employeeId") Long employeeId,
+                                         @Param("year") int year,
+                                         @Param("leaveType") LeaveType leaveType);
+    
+    List<LeaveBalance> findByEmployeeIdAndYear(Long employeeId, int year);
+    
+    /**
+     * Inserts a ledger row in the caller's transaction unless the employee already has one
+     * for the year and type; a concurrent insert of the same row is skipped rather than
+     * failing the transaction. The unique key is the only one besides the sequence-generated
+     * id, so the conflict target can be left out, which H2 requires.
+     *
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_balances (id, employee_id, leave_year, leave_type, allowed_days, used_days, " +
+                   "pending_days, created_at, updated_at, version) " +
+                   "VALUES (nextval('leave_balances_seq'), :employeeId, :year, :leaveType, :allowedDays, :usedDays, " +
+                   ":pendingDays, :now, :now, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("employeeId") Long employeeId,
+                       @Param("year") int year,
+                       @Param("leaveType") String leaveType,
+                       @Param("allowedDays") int allowedDays,
+                       @Param("usedDays") BigDecimal usedDays,
+                       @Param("pendingDays") BigDecimal pendingDays,
+                       @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,101 @@
+package com.workzen.repository;
+
+import com.workzen.dto.OutboundMail;
+import com.workzen.dto.PendingMail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to {@code mail_outbox}. {@link #enqueue} joins the caller's transaction;
+ * {@link #claim} must run in one of its own so the row locks are released as soon as
+ * the claimed rows have been pushed past their lease.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MailOutboxRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Inserts the mails, silently dropping any whose dedup key is already in the outbox.
+     * dedup_key is the only unique column besides the sequence-generated id, so the
+     * conflict target can be left out, which H2 requires.
+     */
+    public void enqueue(List<OutboundMail> mails, LocalDateTime now) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO mail_outbox (id, dedup_key, recipient, subject, body, status, attempts,
+                                         next_attempt_at, created_at)
+                VALUES (nextval('mail_outbox_seq'), ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+                ON CONFLICT DO NOTHING
+                """, mails, mails.size(), (ps, mail) -> {
+            ps.setString(1, mail.dedupKey());
+            ps.setString(2, mail.recipient());
+            ps.setString(3, mail.subject());
+            ps.setString(4, mail.body());
+            ps.setObject(5, now);
+            ps.setObject(6, now);
+        });
+    }
+    
+    /**
+     * Locks up to {@code limit} due messages, skipping those another dispatcher holds, and
+     * pushes them out to {@code leaseUntil} with one more attempt counted.
+     */
+    public List<PendingMail> claim(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<PendingMail> claimed = jdbcTemplate.query("""
+                SELECT id, dedup_key, recipient, subject, body, attempts
+                FROM mail_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= ?
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, (rs, row) -> new PendingMail(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getString(5), rs.getInt(6) + 1), now, limit);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        jdbcTemplate.batchUpdate("UPDATE mail_outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id = ?",
+                claimed, claimed.size(), (ps, mail) -> {
+                    ps.setObject(1, leaseUntil);
+                    ps.setLong(2, mail.id());
+                });
+        return claimed;
+    }
+    
+    public void markSent(Collection<Long> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE mail_outbox SET status = 'SENT', sent_at = ?, last_error = NULL WHERE id = ?",
+                ids, ids.size(), (ps, id) -> {
+                    ps.setObject(1, sentAt);
+                    ps.setLong(2, id);
+                });
+    }
+    
+    public void reschedule(Long id, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update("UPDATE mail_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?",
+                nextAttemptAt, truncate(error), id);
+    }
+    
+    public void markFailed(Long id, String error) {
+        jdbcTemplate.update("UPDATE mail_outbox SET status = 'FAILED', last_error = ? WHERE id = ?",
+                truncate(error), id);
+    }
+    
+    public int deleteSentBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM mail_outbox WHERE status = 'SENT' AND sent_at < ?", before);
+    }
+    
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
@@ -0,0 +1,49 @@
+package com.workzen.repository;
+
+import com.workzen.dto.PayrollRegisterRow;
+import com.workzen.entity.Employee;
+import com.workzen.entity.Payroll;
+import com.workzen.enums.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+    
+    Optional<Payroll> findByEmployeeAndSalaryMonth(Employee employee, LocalDate salaryMonth);
+    
+    @Query("SELECT p.employee.id FROM Payroll p WHERE p.salaryMonth = :salaryMonth AND p.employee.id IN :employeeIds")
+    List<Long> findEmployeeIdsWithPayroll(@Param("employeeIds") Collection<Long> employeeIds,
+                                          @Param("salaryMonth") LocalDate salaryMonth);
+    
+    long countBySalaryMonth(LocalDate salaryMonth);
+    
+    /**
+     * The register of one month, optionally of one department, as a forward-only stream of
+     * projections. Must be consumed inside a transaction and closed; Postgres only honours
+     * the fetch size with autocommit off.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.workzen.dto.PayrollRegisterRow(e.employeeId, e.firstName, e.lastName, e.department, " +
+           "e.designation, e.bankName, e.bankAccountNumber, e.ifscCode, e.panNumber, p.salaryMonth, " +
+           "p.basicSalary, p.hra, p.transportAllowance, p.medicalAllowance, p.otherAllowances, " +
+           "p.overtimeAmount, p.bonus, p.grossSalary, p.providentFund, p.professionalTax, p.incomeTax, " +
+           "p.otherDeductions, p.totalDeductions, p.netSalary, p.daysWorked, p.daysOnLeave, p.overtimeHours, " +
+           "p.processedDate, pb.employeeId) " +
+           "FROM Payroll p JOIN p.employee e LEFT JOIN p.processedBy pb " +
+           "WHERE p.salaryMonth = :salaryMonth AND (:department IS NULL OR e.department = :department) " +
+           "ORDER BY e.employeeId")
+    Stream<PayrollRegisterRow> streamRegister(@Param("salaryMonth") LocalDate salaryMonth,
+                                              @Param("department") Department department);
+}
@@ -0,0 +1,14 @@
+package com.workzen.repository;
+
+import com.workzen.entity.PayrollRun;
+import com.workzen.entity.PayrollRunPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRunPartitionRepository extends JpaRepository<PayrollRunPartition, Long> {
+    
+    List<PayrollRunPartition> findByPayrollRunOrderByFirstEmployeeId(PayrollRun payrollRun);
+}
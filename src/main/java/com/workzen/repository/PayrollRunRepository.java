@@ -0,0 +1,14 @@
+package com.workzen.repository;
+
+import com.workzen.entity.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    
+    Optional<PayrollRun> findBySalaryMonth(LocalDate salaryMonth);
+}
@@ -0,0 +1,46 @@
+package com.workzen.repository;
+
+import com.workzen.dto.PerformanceReviewSummary;
+import com.workzen.dto.ReviewRating;
+import com.workzen.entity.Employee;
+import com.workzen.entity.PerformanceReview;
+import com.workzen.entity.PerformanceReview.ReviewStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Long> {
+    
+    @EntityGraph(attributePaths = "reviewer")
+    List<PerformanceReview> findByEmployeeOrderByReviewPeriodEndDesc(Employee employee);
+    
+    @Query(value = "SELECT new com.workzen.dto.PerformanceReviewSummary(pr.id, e.id, " +
+                   "CONCAT(e.firstName, ' ', e.lastName), r.id, CONCAT(r.firstName, ' ', r.lastName), " +
+                   "pr.reviewPeriodStart, pr.reviewPeriodEnd, pr.overallRating, pr.status, pr.reviewDate) " +
+                   "FROM PerformanceReview pr JOIN pr.employee e JOIN pr.reviewer r WHERE e.id = :employeeId",
+           countQuery = "SELECT COUNT(pr) FROM PerformanceReview pr WHERE pr.employee.id = :employeeId")
+    Page<PerformanceReviewSummary> findSummariesByEmployeeId(@Param("employeeId") Long employeeId,
+                                                             Pageable pageable);
+    
+    @Query(value = "SELECT new com.workzen.dto.PerformanceReviewSummary(pr.id, e.id, " +
+                   "CONCAT(e.firstName, ' ', e.lastName), r.id, CONCAT(r.firstName, ' ', r.lastName), " +
+                   "pr.reviewPeriodStart, pr.reviewPeriodEnd, pr.overallRating, pr.status, pr.reviewDate) " +
+                   "FROM PerformanceReview pr JOIN pr.employee e JOIN pr.reviewer r WHERE r.id = :reviewerId",
+           countQuery = "SELECT COUNT(pr) FROM PerformanceReview pr WHERE pr.reviewer.id = :reviewerId")
+    Page<PerformanceReviewSummary> findSummariesByReviewerId(@Param("reviewerId") Long reviewerId,
+                                                             Pageable pageable);
+    
+    @Query("SELECT new com.workzen.dto.ReviewRating(pr.id, pr.employee.id, pr.reviewer.id, pr.reviewPeriodStart, " +
+           "pr.reviewPeriodEnd, pr.overallRating, pr.technicalSkillsRating, pr.communicationRating, " +
+           "pr.teamworkRating, pr.leadershipRating, pr.punctualityRating) " +
+           "FROM PerformanceReview pr WHERE pr.status IN :statuses")
+    List<ReviewRating> findRatingsByStatusIn(@Param("statuses") Collection<ReviewStatus> statuses);
+}
@@ -0,0 +1,237 @@
+package com.workzen.repository;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.Punch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable local append log of punches, split into numbered segment files. A punch is
+ * acknowledged only once {@link #append} has forced it to disk. Appends are
+ * group-committed: a thread that finds an fsync in progress waits for it and is
+ * usually covered by the next one, so one fsync serves every punch written meanwhile.
+ *
+ * <p>{@link #rotate} closes the current segment; once everything up to it is in the
+ * database, {@link #deleteThrough} drops it. Segments left on disk after a crash are read
+ * back with {@link #recover}. Each record carries a CRC, and a torn record at the end of
+ * a segment is ignored.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "workzen.attendance.punch-buffer.enabled", havingValue = "true")
+public class PunchLog {
+    
+    private static final String SUFFIX = ".punches";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_BYTES = Long.BYTES * 2 + Integer.BYTES + 1 + Short.BYTES;
+    
+    private final Path directory;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final long firstSegment;
+    private long segment;
+    private FileChannel channel;
+    private long written;
+    private volatile long synced;
+    
+    public PunchLog(AttendanceProperties properties) throws IOException {
+        this.directory = properties.getPunchBuffer().getLogDirectory();
+        Files.createDirectories(directory);
+        long last = segments().stream().mapToLong(PunchLog::segmentNumber).max().orElse(0);
+        this.firstSegment = last + 1;
+        this.segment = firstSegment;
+        this.channel = open(segment);
+    }
+    
+    /**
+     * Punches of the segments left by a previous process, oldest first.
+     */
+    public List<Punch> recover() throws IOException {
+        List<Punch> punches = new ArrayList<>();
+        for (Path file : segments()) {
+            if (segmentNumber(file) >= firstSegment) {
+                continue;
+            }
+            int before = punches.size();
+            if (!read(file, punches)) {
+                log.warn("Punch log {} ends with a torn record, ignored", file.getFileName());
+            }
+            log.info("Recovered {} punches from {}", punches.size() - before, file.getFileName());
+        }
+        return punches;
+    }
+    
+    public void append(Punch punch) {
+        ByteBuffer record = encode(punch);
+        long sequence;
+        writeLock.lock();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            sequence = ++written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
+    }
+    
+    /**
+     * Starts a new segment.
+     *
+     * @return the number of the segment just closed
+     */
+    public long rotate() {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            synced = written;
+            long closed = segment;
+            channel = open(++segment);
+            return closed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+    
+    /**
+     * Deletes all closed segments numbered up to {@code lastSegment}, including those
+     * left by a previous process.
+     */
+    public void deleteThrough(long lastSegment) {
+        try {
+            for (Path file : segments()) {
+                if (segmentNumber(file) <= lastSegment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+    
+    private void sync(long sequence) {
+        if (synced >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= sequence) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            writeLock.lock();
+            try {
+                current = channel;
+                target = written;
+            } finally {
+                writeLock.unlock();
+            }
+            current.force(false);
+            synced = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    private static ByteBuffer encode(Punch punch) {
+        byte[] location = punch.location() == null ? new byte[0] : punch.location().getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(location.length, Short.MAX_VALUE);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + FIXED_PAYLOAD_BYTES + length);
+        record.position(HEADER_BYTES);
+        record.putLong(punch.employeeId())
+                .putLong(punch.date().toEpochDay())
+                .putInt(punch.time().toSecondOfDay())
+                .put((byte) punch.kind().ordinal())
+                .putShort((short) length)
+                .put(location, 0, length);
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER_BYTES, record.capacity() - HEADER_BYTES);
+        record.putInt(0, record.capacity() - HEADER_BYTES);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.flip();
+    }
+    
+    // false if the segment ends in a torn or corrupt record
+    private static boolean read(Path file, List<Punch> punches) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (data.remaining() >= HEADER_BYTES) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < FIXED_PAYLOAD_BYTES || length > data.remaining()) {
+                return false;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(data.array(), data.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                return false;
+            }
+            long employeeId = data.getLong();
+            LocalDate date = LocalDate.ofEpochDay(data.getLong());
+            LocalTime time = LocalTime.ofSecondOfDay(data.getInt());
+            Punch.Kind kind = Punch.Kind.values()[data.get()];
+            byte[] location = new byte[data.getShort()];
+            data.get(location);
+            punches.add(new Punch(employeeId, date, time, kind,
+                    location.length == 0 ? null : new String(location, StandardCharsets.UTF_8)));
+        }
+        return !data.hasRemaining();
+    }
+    
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(directory.resolve("%016d%s".formatted(number, SUFFIX)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+    
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.workzen.security;
+
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * The part of an employee Spring Security needs, loaded with a single projection instead
+ * of the full {@link com.workzen.entity.Employee}. Immutable, so one instance can be
+ * cached and shared between requests.
+ */
+public record EmployeePrincipal(Long id, String email, String password, Role role, EmployeeStatus status,
+                                boolean accountNonExpired, boolean accountNonLocked,
+                                boolean credentialsNonExpired, boolean enabled) implements UserDetails {
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return RoleAuthorities.of(role);
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return enabled && status != null && status.canLogin();
+    }
+    
+    @Override
+    public String toString() {
+        return "EmployeePrincipal[id=" + id + ", email=" + email + ", role=" + role + ", status=" + status + "]";
+    }
+}
@@ -0,0 +1,30 @@
+package com.workzen.security;
+
+import com.workzen.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared, immutable {@code ROLE_*} authority lists, one per {@link Role}.
+ */
+public final class RoleAuthorities {
+    
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+    
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+    
+    private RoleAuthorities() {
+    }
+    
+    public static List<GrantedAuthority> of(Role role) {
+        return role == null ? List.of() : AUTHORITIES.get(role);
+    }
+}
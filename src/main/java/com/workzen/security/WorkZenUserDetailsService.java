@@ -0,0 +1,49 @@
+package com.workzen.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workzen.config.PrincipalCacheProperties;
+import com.workzen.repository.EmployeeRepository;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads {@link EmployeePrincipal}s by email through a bounded cache with a time-to-live.
+ * Unknown emails are not cached. Entries are evicted when an employee's credentials,
+ * role or status change (see {@link com.workzen.listener.PrincipalCacheListener}).
+ */
+@Service
+public class WorkZenUserDetailsService implements UserDetailsService {
+    
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, EmployeePrincipal> principals;
+    
+    public WorkZenUserDetailsService(EmployeeRepository employeeRepository, PrincipalCacheProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+    
+    @Override
+    public EmployeePrincipal loadUserByUsername(String email) {
+        EmployeePrincipal principal = principals.get(email,
+                key -> employeeRepository.findPrincipalByEmail(key).orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("No employee with email " + email);
+        }
+        return principal;
+    }
+    
+    public void evict(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+    
+    public void evict(Long employeeId) {
+        principals.asMap().values().removeIf(principal -> principal.id().equals(employeeId));
+    }
+}
@@ -0,0 +1,11 @@
+package com.workzen.service;
+
+import com.workzen.dto.AttendanceImportProgress;
+
+@FunctionalInterface
+public interface AttendanceImportListener {
+    
+    AttendanceImportListener NONE = progress -> { };
+    
+    void onChunkCommitted(AttendanceImportProgress progress);
+}
@@ -0,0 +1,301 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceImportProgress;
+import com.workzen.dto.AttendanceUpsert;
+import com.workzen.dto.EmployeeKey;
+import com.workzen.entity.AttendanceImport;
+import com.workzen.entity.AttendanceImport.ImportStatus;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.repository.AttendanceImportRepository;
+import com.workzen.repository.AttendanceUpsertRepository;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.util.Csv;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams badge-reader/CSV punch files into {@code attendance}.
+ *
+ * <p>The file is read in chunks of {@code workzen.attendance.csv-import.chunk-size} rows.
+ * Each chunk resolves its employee codes with one query, is upserted with
+ * {@link AttendanceUpsertRepository} and advances the {@link AttendanceImport}
+ * checkpoint in the same transaction, so re-running a crashed import continues after
+ * the last committed chunk. Punches of one employee-day within a chunk are merged into
+ * one row; {@code rowsImported} counts the upserted rows and {@code rowsMerged} the
+ * punches folded into them.
+ *
+ * <p>Rejected rows are appended to {@code <file>.errors.csv} and flushed before the
+ * chunk commits, and the checkpoint records the length of the file. A resumed import
+ * cuts the file back to that length, so the rejections of a chunk that rolled back are
+ * not reported twice.
+ *
+ * <p>Expected header (column order is free, the last three are optional):
+ * {@code employee_id,date,check_in,check_out,status,location,remarks}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceImportService {
+    
+    private static final String WRITTEN_BY = "attendance-import";
+    
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceImportRepository attendanceImportRepository;
+    private final AttendanceUpsertRepository attendanceUpsertRepository;
+    private final AttendancePolicy attendancePolicy;
+    private final AttendanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    
+    public AttendanceImportProgress importFile(Path file) throws IOException {
+        return importFile(file, AttendanceImportListener.NONE);
+    }
+    
+    public AttendanceImportProgress importFile(Path file, AttendanceImportListener listener) throws IOException {
+        String fileKey = fileKey(file);
+        String fileName = file.getFileName().toString();
+        Path errorFile = file.resolveSibling(fileName + ".errors.csv");
+        
+        AttendanceImport checkpoint = transactionTemplate.execute(status -> attendanceImportRepository
+                .findByFileKey(fileKey)
+                .orElseGet(() -> attendanceImportRepository.save(AttendanceImport.builder()
+                        .fileKey(fileKey)
+                        .fileName(fileName)
+                        .build())));
+        if (checkpoint.getStatus() == ImportStatus.COMPLETED) {
+            log.info("Attendance file {} was already imported, skipping", fileName);
+            return progress(checkpoint, 0, errorFile);
+        }
+        
+        boolean resuming = checkpoint.getLinesCommitted() > 0;
+        if (resuming) {
+            log.info("Resuming attendance import of {} after line {}", fileName, checkpoint.getLinesCommitted());
+        }
+        
+        int chunkSize = properties.getCsvImport().getChunkSize();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter errors = openErrorFile(errorFile, resuming, checkpoint.getErrorFileSize())) {
+            String header = reader.readLine();
+            Map<String, Integer> columns = header == null ? Map.of() : columnIndex(header);
+            
+            long lineNumber = 0;
+            while (lineNumber < checkpoint.getLinesCommitted() && reader.readLine() != null) {
+                lineNumber++;
+            }
+            
+            List<CsvRow> chunk = new ArrayList<>(chunkSize);
+            int chunks = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    chunk.add(new CsvRow(lineNumber, line));
+                }
+                if (chunk.size() == chunkSize) {
+                    checkpoint = commitChunk(checkpoint.getId(), chunk, lineNumber, columns, errors, errorFile,
+                            false);
+                    listener.onChunkCommitted(progress(checkpoint, ++chunks, errorFile));
+                    log.info("Attendance import {}: {} lines, {} imported, {} merged, {} rejected", fileName,
+                            checkpoint.getLinesCommitted(), checkpoint.getRowsImported(), checkpoint.getRowsMerged(),
+                            checkpoint.getRowsRejected());
+                    chunk.clear();
+                }
+            }
+            checkpoint = commitChunk(checkpoint.getId(), chunk, lineNumber, columns, errors, errorFile, true);
+            AttendanceImportProgress result = progress(checkpoint, ++chunks, errorFile);
+            listener.onChunkCommitted(result);
+            log.info("Attendance import {} completed: {} imported, {} merged, {} rejected", fileName,
+                    checkpoint.getRowsImported(), checkpoint.getRowsMerged(), checkpoint.getRowsRejected());
+            return result;
+        }
+    }
+    
+    private AttendanceImport commitChunk(Long checkpointId, List<CsvRow> chunk, long lastLine,
+                                         Map<String, Integer> columns, BufferedWriter errors, Path errorFile,
+                                         boolean last) {
+        List<Rejection> rejections = new ArrayList<>();
+        List<ParsedRow> parsed = new ArrayList<>(chunk.size());
+        for (CsvRow row : chunk) {
+            try {
+                parsed.add(parse(row, columns));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rejections.add(new Rejection(row, e.getMessage()));
+            }
+        }
+        
+        return transactionTemplate.execute(status -> {
+            Set<String> codes = parsed.stream().map(ParsedRow::employeeCode).collect(Collectors.toSet());
+            Map<String, Long> employeeIds = codes.isEmpty() ? Map.of() : employeeRepository
+                    .findKeysByEmployeeIdIn(codes).stream()
+                    .collect(Collectors.toMap(EmployeeKey::employeeId, EmployeeKey::id));
+            
+            // Several punches for the same employee-day in one chunk collapse into one row,
+            // a single upsert batch must not hit the same conflict key twice
+            Map<EmployeeDay, ParsedRow> merged = new LinkedHashMap<>();
+            for (ParsedRow row : parsed) {
+                Long employeeId = employeeIds.get(row.employeeCode());
+                if (employeeId == null) {
+                    rejections.add(new Rejection(row.source(), "Unknown employee " + row.employeeCode()));
+                    continue;
+                }
+                merged.merge(new EmployeeDay(employeeId, row.date()), row, ParsedRow::mergeWith);
+            }
+            
+            List<AttendanceUpsert> upserts = new ArrayList<>(merged.size());
+            merged.forEach((key, row) -> upserts.add(attendancePolicy.evaluate(key.employeeId(), key.date(),
+                    row.checkIn(), row.checkOut(), row.status(), row.location(), row.remarks())));
+            attendanceUpsertRepository.upsert(upserts, WRITTEN_BY);
+            
+            AttendanceImport current = attendanceImportRepository.findById(checkpointId).orElseThrow();
+            current.setLinesCommitted(lastLine);
+            current.setRowsImported(current.getRowsImported() + upserts.size());
+            current.setRowsMerged(current.getRowsMerged() + chunk.size() - rejections.size() - upserts.size());
+            current.setRowsRejected(current.getRowsRejected() + rejections.size());
+            current.setErrorFileSize(writeRejections(errors, errorFile, rejections));
+            if (last) {
+                current.setStatus(ImportStatus.COMPLETED);
+                current.setCompletedAt(LocalDateTime.now());
+            }
+            return current;
+        });
+    }
+    
+    // Returns the length of the error file after the rejections
+    private static long writeRejections(BufferedWriter errors, Path errorFile, List<Rejection> rejections) {
+        try {
+            for (Rejection rejection : rejections) {
+                errors.write(rejection.source().lineNumber() + 1 + "," + Csv.escape(rejection.reason()) + ","
+                        + Csv.escape(rejection.source().text()));
+                errors.newLine();
+            }
+            errors.flush();
+            return Files.size(errorFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + errorFile, e);
+        }
+    }
+    
+    private ParsedRow parse(CsvRow row, Map<String, Integer> columns) {
+        List<String> fields = Csv.split(row.text());
+        Function<String, String> field = name -> {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        };
+        
+        String employeeCode = field.apply("employee_id");
+        String date = field.apply("date");
+        if (employeeCode == null || date == null) {
+            throw new IllegalArgumentException("employee_id and date are required");
+        }
+        String checkIn = field.apply("check_in");
+        String checkOut = field.apply("check_out");
+        String status = field.apply("status");
+        return new ParsedRow(row, employeeCode, LocalDate.parse(date),
+                checkIn == null ? null : LocalTime.parse(checkIn),
+                checkOut == null ? null : LocalTime.parse(checkOut),
+                status == null ? null : AttendanceStatus.valueOf(status.toUpperCase(Locale.ROOT)),
+                field.apply("location"),
+                field.apply("remarks"));
+    }
+    
+    private static Map<String, Integer> columnIndex(String header) {
+        List<String> names = Csv.split(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        Set<String> missing = new HashSet<>(List.of("employee_id", "date"));
+        missing.removeAll(columns.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Attendance file is missing columns " + missing);
+        }
+        return columns;
+    }
+    
+    private static BufferedWriter openErrorFile(Path errorFile, boolean resuming, Long committedSize)
+            throws IOException {
+        if (resuming && Files.exists(errorFile)) {
+            FileChannel channel = FileChannel.open(errorFile, StandardOpenOption.WRITE);
+            if (committedSize != null) {
+                channel.truncate(committedSize);
+            }
+            channel.position(channel.size());
+            return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        }
+        BufferedWriter writer = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+        writer.write("line,reason,raw");
+        writer.newLine();
+        return writer;
+    }
+    
+    private static String fileKey(Path file) throws IOException {
+        return file.getFileName() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+    
+    private static AttendanceImportProgress progress(AttendanceImport checkpoint, int chunks, Path errorFile) {
+        return new AttendanceImportProgress(checkpoint.getFileName(), checkpoint.getLinesCommitted(),
+                checkpoint.getRowsImported(), checkpoint.getRowsMerged(), checkpoint.getRowsRejected(), chunks,
+                errorFile,
+                checkpoint.getStatus() == ImportStatus.COMPLETED);
+    }
+    
+    private record CsvRow(long lineNumber, String text) {
+    }
+    
+    private record Rejection(CsvRow source, String reason) {
+    }
+    
+    private record EmployeeDay(long employeeId, LocalDate date) {
+    }
+    
+    private record ParsedRow(CsvRow source, String employeeCode, LocalDate date, LocalTime checkIn,
+                             LocalTime checkOut, AttendanceStatus status, String location, String remarks) {
+        
+        ParsedRow mergeWith(ParsedRow later) {
+            return new ParsedRow(later.source, employeeCode, date,
+                    earliest(checkIn, later.checkIn),
+                    latest(checkOut, later.checkOut),
+                    later.status != null ? later.status : status,
+                    later.location != null ? later.location : location,
+                    later.remarks != null ? later.remarks : remarks);
+        }
+        
+        private static LocalTime earliest(LocalTime a, LocalTime b) {
+            return a == null ? b : b == null ? a : a.isBefore(b) ? a : b;
+        }
+        
+        private static LocalTime latest(LocalTime a, LocalTime b) {
+            return a == null ? b : b == null ? a : a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceStatusCount;
+import com.workzen.dto.AttendanceWriteEvent;
+import com.workzen.dto.DepartmentAttendance;
+import com.workzen.dto.MonthlyAttendance;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import com.workzen.index.AttendanceMonthStore;
+import com.workzen.repository.AttendanceMonthRepository;
+import com.workzen.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly attendance totals and heatmaps served from the {@link AttendanceMonthStore}.
+ * The store is loaded in one streaming pass at startup and follows entity writes through
+ * its commit listeners and JDBC writes through {@link AttendanceWriteEvent}. Months
+ * outside the in-memory window are read from the database.
+ *
+ * <p>The store only sees writes made on this node, so it serves dashboards; anything that
+ * must be exact, such as payroll, uses {@link #getMonthlyAttendanceFromDatabase}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceMonthService {
+    
+    private final AttendanceMonthStore store;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            int months = properties.getMonthStore().getMonths();
+            YearMonth from = YearMonth.now().minusMonths(months - 1L);
+            load(store, from, YearMonth.now(), months);
+            log.info("Attendance month store loaded {} employees from {} in {} ms", store.employees(), from,
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceWrite(AttendanceWriteEvent event) {
+        if (store.isReady()) {
+            attendanceMonthRepository.refreshDays(event.employeeIds(), event.from(), event.to(), store);
+        }
+    }
+    
+    public MonthlyAttendance getMonthlyAttendance(Long employeeId, YearMonth month) {
+        return getMonthlyAttendance(List.of(employeeId), month).get(employeeId);
+    }
+    
+    /**
+     * Totals for each of {@code employeeIds}, {@link MonthlyAttendance#NONE} for those without rows.
+     */
+    public Map<Long, MonthlyAttendance> getMonthlyAttendance(Collection<Long> employeeIds, YearMonth month) {
+        if (store().covers(month)) {
+            Map<Long, MonthlyAttendance> result = new HashMap<>(employeeIds.size() * 2);
+            for (Long employeeId : employeeIds) {
+                result.put(employeeId, store.monthly(employeeId, month));
+            }
+            return result;
+        }
+        return getMonthlyAttendanceFromDatabase(employeeIds, month);
+    }
+    
+    /**
+     * Like {@link #getMonthlyAttendance(Collection, YearMonth)}, but always counted from the
+     * committed rows, including those written on other nodes.
+     */
+    public Map<Long, MonthlyAttendance> getMonthlyAttendanceFromDatabase(Collection<Long> employeeIds,
+                                                                         YearMonth month) {
+        Map<Long, MonthlyAttendance> result = new HashMap<>(employeeIds.size() * 2);
+        Map<Long, List<AttendanceStatusCount>> counts = attendanceRepository
+                .countByStatusForEmployees(employeeIds, month.atDay(1), month.atEndOfMonth()).stream()
+                .collect(Collectors.groupingBy(AttendanceStatusCount::employeeId));
+        for (Long employeeId : employeeIds) {
+            List<AttendanceStatusCount> employeeCounts = counts.get(employeeId);
+            result.put(employeeId, employeeCounts == null ? MonthlyAttendance.NONE
+                    : MonthlyAttendance.from(employeeCounts));
+        }
+        return result;
+    }
+    
+    public DepartmentAttendance getDepartmentAttendance(Department department, YearMonth month) {
+        if (store().covers(month)) {
+            return store.department(department, month);
+        }
+        AttendanceMonthStore scratch = new AttendanceMonthStore();
+        load(scratch, month, month, 1);
+        return scratch.department(department, month);
+    }
+    
+    /**
+     * Status of each day of the month for a presence heatmap; {@code null} where there is no row.
+     */
+    public AttendanceStatus[] getHeatmap(Long employeeId, YearMonth month) {
+        if (store().covers(month)) {
+            return store.days(employeeId, month);
+        }
+        AttendanceMonthStore scratch = new AttendanceMonthStore();
+        scratch.loader(month, 1).publish();
+        attendanceMonthRepository.refreshDays(List.of(employeeId), month.atDay(1), month.atEndOfMonth(), scratch);
+        return scratch.days(employeeId, month);
+    }
+    
+    private void load(AttendanceMonthStore target, YearMonth from, YearMonth to, int months) {
+        AttendanceMonthStore.Loader loader = target.loader(from, months);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                attendanceMonthRepository.streamDepartments(loader);
+                attendanceMonthRepository.streamDays(from.atDay(1), to.atEndOfMonth(), loader);
+            });
+            loader.publish();
+        } finally {
+            loader.discard();
+        }
+    }
+    
+    private AttendanceMonthStore store() {
+        if (!store.isReady()) {
+            rebuildLock.lock();
+            try {
+                // Another caller may have finished the load while this one waited
+                if (!store.isReady()) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return store;
+    }
+}
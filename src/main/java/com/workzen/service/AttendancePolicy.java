@@ -0,0 +1,55 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceUpsert;
+import com.workzen.enums.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Derives work hours, overtime, late marking and status from raw punch times.
+ * The merge branch of {@link com.workzen.repository.AttendanceUpsertRepository}
+ * applies the same rules in SQL, keep the two in sync.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendancePolicy {
+    
+    private final AttendanceProperties properties;
+    
+    public AttendanceUpsert evaluate(long employeeId, LocalDate date, LocalTime checkIn, LocalTime checkOut,
+                                     AttendanceStatus requestedStatus, String location, String remarks) {
+        Double workHours = workHours(checkIn, checkOut);
+        Double overtimeHours = workHours == null ? null : Math.max(workHours - properties.getStandardWorkHours(), 0);
+        boolean late = checkIn != null && checkIn.isAfter(properties.lateAfter());
+        Integer lateMinutes = late ? (int) Duration.between(properties.getShiftStart(), checkIn).toMinutes() : null;
+        
+        AttendanceStatus status;
+        if (requestedStatus != null && !requestedStatus.isDerivedFromPunches()) {
+            status = requestedStatus;
+        } else if (checkIn == null) {
+            status = requestedStatus != null ? requestedStatus : AttendanceStatus.ABSENT;
+        } else if (workHours != null && workHours < properties.getHalfDayHours()) {
+            status = AttendanceStatus.HALF_DAY;
+        } else if (late) {
+            status = AttendanceStatus.LATE;
+        } else {
+            status = AttendanceStatus.PRESENT;
+        }
+        
+        return new AttendanceUpsert(employeeId, date, checkIn, checkOut, status, workHours, overtimeHours,
+                late, lateMinutes, location, remarks);
+    }
+    
+    private Double workHours(LocalTime checkIn, LocalTime checkOut) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return null;
+        }
+        long seconds = Duration.between(checkIn, checkOut).getSeconds();
+        return Math.round(seconds / 36.0) / 100.0;
+    }
+}
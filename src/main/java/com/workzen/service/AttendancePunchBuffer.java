@@ -0,0 +1,212 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceUpsert;
+import com.workzen.dto.Punch;
+import com.workzen.repository.AttendanceUpsertRepository;
+import com.workzen.repository.PunchLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind ingestion of check-ins and check-outs for the morning burst. A punch is
+ * acknowledged as soon as it is in the {@link PunchLog} and then coalesced in memory per
+ * employee-day. The earliest check-in and the latest check-out win. Every
+ * {@code flush-interval} the coalesced days are evaluated with {@link AttendancePolicy}
+ * and written with {@link AttendanceUpsertRepository} in batches. That replaces a
+ * versioned read-modify-write of the entity per punch with one merged upsert per
+ * employee-day.
+ *
+ * <p>Each flush closes the current log segment together with the in-memory generation
+ * it belongs to, and deletes the segment only after the database write succeeded.
+ * Punches of a failed flush go back into the buffer. The upsert merges punch times, so
+ * writing a day twice is harmless. On startup, segments left by a crash are replayed
+ * into the buffer.
+ *
+ * <p>A batch rejected by a constraint is retried row by row, and rows that still fail,
+ * e.g. an unknown employee id, are logged and dropped.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "workzen.attendance.punch-buffer.enabled", havingValue = "true")
+public class AttendancePunchBuffer {
+    
+    private static final String WRITTEN_BY = "punch-buffer";
+    
+    private final PunchLog punchLog;
+    private final AttendancePolicy attendancePolicy;
+    private final AttendanceUpsertRepository attendanceUpsertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    // Punches hold the read lock from log append to merge, a flush takes the write lock to
+    // swap the generation, so no punch can land in a segment after its map was drained
+    private final ReentrantReadWriteLock generation = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile Map<DayKey, PunchedDay> pending = new ConcurrentHashMap<>();
+    
+    public AttendancePunchBuffer(PunchLog punchLog, AttendancePolicy attendancePolicy,
+                                 AttendanceUpsertRepository attendanceUpsertRepository,
+                                 TransactionTemplate transactionTemplate, AttendanceProperties properties) {
+        this.punchLog = punchLog;
+        this.attendancePolicy = attendancePolicy;
+        this.attendanceUpsertRepository = attendanceUpsertRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = properties.getPunchBuffer().getBatchSize();
+    }
+    
+    @PostConstruct
+    public void recover() throws IOException {
+        List<Punch> punches = punchLog.recover();
+        punches.forEach(punch -> merge(pending, punch));
+        if (!punches.isEmpty()) {
+            log.info("Replayed {} punches into {} employee-days from the punch log", punches.size(), pending.size());
+        }
+    }
+    
+    public void checkIn(long employeeId, LocalDateTime at, String location) {
+        record(new Punch(employeeId, at.toLocalDate(), at.toLocalTime(), Punch.Kind.CHECK_IN, location));
+    }
+    
+    public void checkOut(long employeeId, LocalDateTime at, String location) {
+        record(new Punch(employeeId, at.toLocalDate(), at.toLocalTime(), Punch.Kind.CHECK_OUT, location));
+    }
+    
+    /**
+     * Returns once the punch is durable in the local log; it reaches the database with the
+     * next flush.
+     */
+    public void record(Punch punch) {
+        generation.readLock().lock();
+        try {
+            punchLog.append(punch);
+            merge(pending, punch);
+        } finally {
+            generation.readLock().unlock();
+        }
+    }
+    
+    public int pendingDays() {
+        return pending.size();
+    }
+    
+    @Scheduled(fixedDelayString = "${workzen.attendance.punch-buffer.flush-interval:250ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    private void flushPending() {
+        Map<DayKey, PunchedDay> drained;
+        long segment;
+        generation.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+            segment = punchLog.rotate();
+        } finally {
+            generation.writeLock().unlock();
+        }
+        
+        long started = System.nanoTime();
+        List<AttendanceUpsert> rows = new ArrayList<>(drained.size());
+        for (PunchedDay day : drained.values()) {
+            rows.add(attendancePolicy.evaluate(day.employeeId(), day.date(), day.checkIn(), day.checkOut(), null,
+                    day.location(), null));
+        }
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                write(rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+        } catch (RuntimeException e) {
+            // Not only DataAccessException: a transaction that cannot even begin (pool exhausted,
+            // shed by the concurrency limit) fails with a TransactionException. Dropping the
+            // days here would lose them, as the next flush deletes this segment as well.
+            log.warn("Flushing {} buffered attendance days failed, retrying with the next flush", rows.size(), e);
+            generation.readLock().lock();
+            try {
+                drained.values().forEach(day -> pending.merge(day.key(), day, PunchedDay::merge));
+            } finally {
+                generation.readLock().unlock();
+            }
+            return;
+        }
+        punchLog.deleteThrough(segment);
+        log.debug("Flushed {} attendance days in {} ms", rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private void write(List<AttendanceUpsert> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> attendanceUpsertRepository.upsert(batch, WRITTEN_BY));
+        } catch (DataIntegrityViolationException e) {
+            for (AttendanceUpsert row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            attendanceUpsertRepository.upsert(List.of(row), WRITTEN_BY));
+                } catch (DataIntegrityViolationException rejected) {
+                    log.error("Dropping buffered attendance of employee {} on {}: {}", row.employeeId(), row.date(),
+                            rejected.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+    
+    private static void merge(Map<DayKey, PunchedDay> days, Punch punch) {
+        PunchedDay day = punch.kind() == Punch.Kind.CHECK_IN
+                ? new PunchedDay(punch.employeeId(), punch.date(), punch.time(), null, punch.location())
+                : new PunchedDay(punch.employeeId(), punch.date(), null, punch.time(), punch.location());
+        days.merge(day.key(), day, PunchedDay::merge);
+    }
+    
+    private record DayKey(long employeeId, LocalDate date) {
+    }
+    
+    private record PunchedDay(long employeeId, LocalDate date, LocalTime checkIn, LocalTime checkOut,
+                              String location) {
+        
+        DayKey key() {
+            return new DayKey(employeeId, date);
+        }
+        
+        PunchedDay merge(PunchedDay later) {
+            return new PunchedDay(employeeId, date, earliest(checkIn, later.checkIn),
+                    latest(checkOut, later.checkOut), later.location != null ? later.location : location);
+        }
+        
+        private static LocalTime earliest(LocalTime a, LocalTime b) {
+            return a == null ? b : b == null || a.isBefore(b) ? a : b;
+        }
+        
+        private static LocalTime latest(LocalTime a, LocalTime b) {
+            return a == null ? b : b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceWriteEvent;
+import com.workzen.repository.AttendanceRollCallRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly roll-call: every active employee without an attendance row on a past working day
+ * gets one, ABSENT or ON_LEAVE where approved leave covers the day. Each run rechecks the
+ * last {@code lookback-days}, which also catches up a night the job did not run.
+ *
+ * <p>Each date is one transaction of two set-based statements. The transaction first takes
+ * a Postgres advisory lock, so when several nodes fire at once only one does the work
+ * and the others skip the date.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollCallJob {
+    
+    static final long LOCK_KEY = 0x726f6c6c63616c6cL; // "rollcall"
+    private static final String WRITTEN_BY = "roll-call";
+    
+    private final AttendanceRollCallRepository rollCallRepository;
+    private final AttendanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Scheduled(cron = "${workzen.attendance.roll-call.cron:0 30 0 * * *}")
+    public void runNightly() {
+        LocalDate today = LocalDate.now();
+        for (int daysBack = properties.getRollCall().getLookbackDays(); daysBack >= 1; daysBack--) {
+            rollCall(today.minusDays(daysBack));
+        }
+    }
+    
+    /**
+     * @return the number of rows inserted or changed, or -1 if another node holds the lock
+     */
+    public int rollCall(LocalDate date) {
+        if (!properties.getRollCall().getWorkingDays().contains(date.getDayOfWeek())) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        Integer written = transactionTemplate.execute(status -> {
+            if (!rollCallRepository.tryTransactionLock(LOCK_KEY)) {
+                return -1;
+            }
+            int rows = rollCallRepository.markOnLeave(date, WRITTEN_BY)
+                    + rollCallRepository.insertMissing(date, WRITTEN_BY);
+            if (rows > 0) {
+                eventPublisher.publishEvent(AttendanceWriteEvent.allEmployees(date));
+            }
+            return rows;
+        });
+        if (written == -1) {
+            log.info("Roll-call for {} skipped, another node is running it", date);
+        } else if (written > 0) {
+            log.info("Roll-call for {} wrote {} attendance rows in {} ms", date, written,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,168 @@
+package com.workzen.service;
+
+import com.workzen.config.AuditProperties;
+import com.workzen.dto.AuditRecord;
+import com.workzen.repository.AuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for the audit history. Committed changes are handed over by
+ * {@link com.workzen.listener.AuditTrailListener} into a bounded, lock-free queue, and
+ * every {@code flush-interval} a single writer drains it into {@code audit_events} in
+ * JDBC batches, so a request pays for building the diff but not for its insert.
+ *
+ * <p>The queue is bounded by a counter next to a {@link ConcurrentLinkedQueue}. When it
+ * is full the committing thread writes its own record: compliance history is not dropped,
+ * and the overflow counter shows the writer falling behind. A batch that fails to insert
+ * is kept and retried before anything newer. A batch the database rejects is written
+ * record by record instead, and the records it still rejects are logged and dropped, so
+ * one bad record cannot hold up the history behind it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "workzen.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrail {
+    
+    private final AuditEventRepository auditEventRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private List<AuditRecord> failedBatch = List.of();
+    
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter failures;
+    private final Timer batchWrites;
+    
+    public AuditTrail(AuditEventRepository auditEventRepository, AuditProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.auditEventRepository = auditEventRepository;
+        this.capacity = properties.getQueueCapacity();
+        this.batchSize = properties.getBatchSize();
+        Gauge.builder("workzen.audit.queue.size", queued, AtomicInteger::get)
+                .description("Audit records waiting for the background writer")
+                .register(meterRegistry);
+        Gauge.builder("workzen.audit.queue.remaining", queued, count -> capacity - count.get())
+                .description("Free slots before committing threads write audit records themselves")
+                .register(meterRegistry);
+        written = Counter.builder("workzen.audit.records.written").register(meterRegistry);
+        overflowed = Counter.builder("workzen.audit.records.overflowed")
+                .description("Audit records written on the committing thread because the queue was full")
+                .register(meterRegistry);
+        failures = Counter.builder("workzen.audit.write.failures").register(meterRegistry);
+        batchWrites = Timer.builder("workzen.audit.batch.write").register(meterRegistry);
+    }
+    
+    public void record(AuditRecord record) {
+        if (queued.incrementAndGet() <= capacity) {
+            queue.offer(record);
+            return;
+        }
+        queued.decrementAndGet();
+        overflowed.increment();
+        try {
+            auditEventRepository.insert(List.of(record));
+            written.increment();
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.error("Lost audit record {}", record, e);
+        }
+    }
+    
+    public int pending() {
+        return queued.get() + failedBatch.size();
+    }
+    
+    @Scheduled(fixedDelayString = "${workzen.audit.flush-interval:200ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!failedBatch.isEmpty()) {
+                failedBatch = write(failedBatch);
+                if (!failedBatch.isEmpty()) {
+                    return;
+                }
+            }
+            while (true) {
+                List<AuditRecord> batch = new ArrayList<>(batchSize);
+                AuditRecord record;
+                while (batch.size() < batchSize && (record = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    batch.add(record);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                failedBatch = write(batch);
+                if (!failedBatch.isEmpty()) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (pending() > 0) {
+            log.error("{} audit records could not be written before shutdown", pending());
+        }
+    }
+    
+    // Returns the records to retry on the next flush
+    private List<AuditRecord> write(List<AuditRecord> batch) {
+        long started = System.nanoTime();
+        try {
+            auditEventRepository.insert(batch);
+            written.increment(batch.size());
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            return writeOneByOne(batch);
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Writing {} audit records failed, will retry", batch.size(), e);
+            return batch;
+        } finally {
+            batchWrites.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private List<AuditRecord> writeOneByOne(List<AuditRecord> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            AuditRecord record = batch.get(i);
+            try {
+                auditEventRepository.insert(List.of(record));
+                written.increment();
+            } catch (DataIntegrityViolationException rejected) {
+                failures.increment();
+                log.error("Dropping audit record {}: {}", record, rejected.getMostSpecificCause().getMessage());
+            } catch (DataAccessException e) {
+                failures.increment();
+                log.warn("Writing {} audit records failed, will retry", batch.size() - i, e);
+                return List.copyOf(batch.subList(i, batch.size()));
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,60 @@
+package com.workzen.service;
+
+import com.workzen.dto.SearchHits;
+import com.workzen.entity.Employee;
+import com.workzen.index.EmployeeSearchIndex;
+import com.workzen.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Employee directory search backed by {@link EmployeeSearchIndex}. Results come back in
+ * rank order, the pageable's sort is ignored. Until the index has been built the search
+ * falls back to {@link EmployeeRepository#searchEmployees}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeSearchService {
+    
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex searchIndex;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long started = System.nanoTime();
+        searchIndex.rebuild(employeeRepository::findAllSearchDocuments);
+        log.info("Employee search index built with {} employees in {} ms", searchIndex.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    public Page<Employee> search(String term, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            return employeeRepository.searchEmployees(term, pageable);
+        }
+        SearchHits hits = searchIndex.search(term, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.ids().length == 0) {
+            return new PageImpl<>(List.of(), pageable, hits.totalMatches());
+        }
+        
+        List<Long> ids = Arrays.stream(hits.ids()).boxed().toList();
+        Map<Long, Integer> rank = ids.stream().collect(Collectors.toMap(Function.identity(), ids::indexOf));
+        List<Employee> employees = employeeRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(employee -> rank.get(employee.getId())))
+                .toList();
+        return new PageImpl<>(employees, pageable, hits.totalMatches());
+    }
+}
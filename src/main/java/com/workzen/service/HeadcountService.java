@@ -0,0 +1,96 @@
+package com.workzen.service;
+
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import com.workzen.index.HeadcountMatrix;
+import com.workzen.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard headcounts served from the {@link HeadcountMatrix}. The matrix is seeded with
+ * one grouped query at startup and follows committed entity changes; a periodic
+ * reconcile re-reads the grouped counts to correct drift from bulk SQL or writes by
+ * other nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeadcountService {
+    
+    private final EmployeeRepository employeeRepository;
+    private final HeadcountMatrix headcount;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuildLock.lock();
+        try {
+            headcount.rebuild(employeeRepository::countByDepartmentStatusAndRole);
+            log.info("Headcount matrix seeded with {} employees", headcount.total());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${workzen.headcount.reconcile-interval:PT10M}",
+               initialDelayString = "${workzen.headcount.reconcile-interval:PT10M}")
+    public void reconcile() {
+        rebuildLock.lock();
+        try {
+            long drift = headcount.rebuild(employeeRepository::countByDepartmentStatusAndRole);
+            if (drift > 0) {
+                log.warn("Headcount matrix was off by {} and has been reconciled", drift);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public int getTotalHeadcount() {
+        return matrix().total();
+    }
+    
+    public int countByStatus(EmployeeStatus status) {
+        return matrix().countByStatus(status);
+    }
+    
+    public int countByDepartment(Department department) {
+        return matrix().countByDepartment(department);
+    }
+    
+    public int countByRole(Role role) {
+        return matrix().countByRole(role);
+    }
+    
+    public int count(Department department, EmployeeStatus status) {
+        return matrix().count(department, status);
+    }
+    
+    public Map<Department, Map<EmployeeStatus, Integer>> getDepartmentStatusGrid() {
+        return matrix().departmentStatusGrid();
+    }
+    
+    private HeadcountMatrix matrix() {
+        if (!headcount.isReady()) {
+            rebuildLock.lock();
+            try {
+                // Another caller may have finished the seed while this one waited
+                if (!headcount.isReady()) {
+                    seed();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return headcount;
+    }
+}
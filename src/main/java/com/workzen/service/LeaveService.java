@@ -0,0 +1,244 @@
+package com.workzen.service;
+
+import com.workzen.entity.Employee;
+import com.workzen.entity.LeaveApplication;
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.entity.LeaveBalance;
+import com.workzen.enums.LeaveType;
+import com.workzen.index.LeaveIntervalIndex;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.repository.LeaveApplicationRepository;
+import com.workzen.repository.LeaveBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Leave submission and approval against the {@link LeaveBalance} ledger and the
+ * {@link LeaveIntervalIndex}. A status change and the matching ledger transfer commit in
+ * the same transaction, with the ledger row locked; two concurrent decisions on the same
+ * application are stopped by its version column. A ledger row is created the first time
+ * it is needed, from the applications already on file for that year and type. The
+ * employee's notification of a decision is written to the outbox in the same transaction.
+ *
+ * <p>A submission is checked for overlap against the database with the employee row
+ * locked, so two nodes cannot both accept the same days; the index answers the quick
+ * {@link #overlapsExistingLeave} checks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveService {
+    
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final LeaveIntervalIndex intervals;
+    private final MailOutbox mailOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            intervals.rebuild(() -> leaveApplicationRepository.findIntervalsByStatusIn(LeaveStatus.holdingStatuses()));
+            log.info("Leave interval index built with {} applications in {} ms", intervals.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public boolean overlapsExistingLeave(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return index().overlaps(employeeId, startDate, endDate);
+    }
+    
+    /**
+     * Saves a new application as pending and reserves its days and dates.
+     *
+     * {@code totalDays} is derived from the dates, both inclusive.
+     *
+     * @throws IllegalArgumentException if the dates are invalid
+     * @throws IllegalStateException if it overlaps other leave or exceeds the remaining balance
+     */
+    public LeaveApplication submit(LeaveApplication application) {
+        LocalDate startDate = application.getStartDate();
+        LocalDate endDate = application.getEndDate();
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Leave needs a start and an end date");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Leave cannot end before it starts");
+        }
+        if (application.isHalfDay() && !endDate.equals(startDate)) {
+            throw new IllegalArgumentException("Half-day leave must start and end on the same day");
+        }
+        application.setTotalDays(Math.toIntExact(ChronoUnit.DAYS.between(startDate, endDate) + 1));
+        Long employeeId = application.getEmployee().getId();
+        index();
+        return transactionTemplate.execute(status -> {
+            // The index only knows this node's writes; the row lock makes the database check
+            // below authoritative across nodes
+            employeeRepository.lockById(employeeId).orElseThrow();
+            if (leaveApplicationRepository.existsOverlapping(employeeId, startDate, endDate,
+                    LeaveStatus.holdingStatuses())) {
+                throw overlap(startDate, endDate);
+            }
+            LeaveBalance balance = lockBalance(employeeId, application.getStartDate().getYear(),
+                    application.getLeaveType());
+            BigDecimal days = application.chargedDays();
+            if (!balance.canCover(days)) {
+                throw new IllegalStateException("Only " + balance.getRemainingDays() + " days of "
+                        + application.getLeaveType().getDisplayName() + " left in " + balance.getYear());
+            }
+            
+            application.setStatus(LeaveStatus.PENDING);
+            LeaveApplication saved = leaveApplicationRepository.save(application);
+            if (!intervals.reserve(saved.getId(), employeeId, startDate, endDate)) {
+                throw overlap(startDate, endDate);
+            }
+            releaseOnRollback(saved.getId(), employeeId);
+            balance.transfer(days, null, LeaveStatus.PENDING);
+            return saved;
+        });
+    }
+    
+    public LeaveApplication approve(Long applicationId, Long approverId, String remarks) {
+        return decide(applicationId, LeaveStatus.APPROVED, approverId, remarks);
+    }
+    
+    public LeaveApplication reject(Long applicationId, Long approverId, String remarks) {
+        return decide(applicationId, LeaveStatus.REJECTED, approverId, remarks);
+    }
+    
+    public LeaveApplication cancel(Long applicationId) {
+        return transactionTemplate.execute(status -> {
+            LeaveApplication application = leaveApplicationRepository.findById(applicationId).orElseThrow();
+            changeStatus(application, LeaveStatus.CANCELLED);
+            return application;
+        });
+    }
+    
+    /**
+     * Ledger rows of every leave type for the employee and year, creating missing ones.
+     */
+    public List<LeaveBalance> getBalances(Long employeeId, int year) {
+        List<LeaveBalance> balances = leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year);
+        if (balances.size() == LeaveType.values().length) {
+            return balances;
+        }
+        Set<LeaveType> existing = balances.stream().map(LeaveBalance::getLeaveType)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(LeaveType.class)));
+        for (LeaveType leaveType : LeaveType.values()) {
+            if (!existing.contains(leaveType)) {
+                createBalance(employeeId, year, leaveType);
+            }
+        }
+        return leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year);
+    }
+    
+    public List<LeaveBalance> getBalances(Long employeeId) {
+        return getBalances(employeeId, Year.now().getValue());
+    }
+    
+    private LeaveApplication decide(Long applicationId, LeaveStatus decision, Long approverId, String remarks) {
+        return transactionTemplate.execute(status -> {
+            LeaveApplication application = leaveApplicationRepository.findById(applicationId).orElseThrow();
+            changeStatus(application, decision);
+            application.setApprovedBy(employeeRepository.getReferenceById(approverId));
+            application.setApprovalDate(LocalDate.now());
+            application.setApprovalRemarks(remarks);
+            mailOutbox.leaveDecided(application);
+            return application;
+        });
+    }
+    
+    private void changeStatus(LeaveApplication application, LeaveStatus to) {
+        LeaveStatus from = application.getStatus();
+        boolean allowed = from == LeaveStatus.PENDING ? to != LeaveStatus.PENDING
+                : from == LeaveStatus.APPROVED && to == LeaveStatus.CANCELLED;
+        if (!allowed) {
+            throw new IllegalStateException("Leave application " + application.getId() + " is "
+                    + from.getDisplayName() + " and cannot become " + to.getDisplayName());
+        }
+        lockBalance(application.getEmployee().getId(), application.getStartDate().getYear(),
+                application.getLeaveType())
+                .transfer(application.chargedDays(), from, to);
+        application.setStatus(to);
+    }
+    
+    private LeaveBalance lockBalance(Long employeeId, int year, LeaveType leaveType) {
+        return leaveBalanceRepository.findForUpdate(employeeId, year, leaveType).orElseGet(() -> {
+            createBalance(employeeId, year, leaveType);
+            return leaveBalanceRepository.findForUpdate(employeeId, year, leaveType).orElseThrow();
+        });
+    }
+    
+    // Joins the caller's transaction, so no second connection is taken; a row inserted
+    // concurrently by another request is kept and this one is dropped.
+    private void createBalance(Long employeeId, int year, LeaveType leaveType) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LeaveBalance balance = LeaveBalance.builder()
+                    .leaveType(leaveType)
+                    .allowedDays(leaveType.getDefaultDaysAllowed())
+                    .build();
+            for (LeaveApplication application : leaveApplicationRepository.findForBalance(employeeId, leaveType,
+                    LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), LeaveStatus.holdingStatuses())) {
+                balance.transfer(application.chargedDays(), null, application.getStatus());
+            }
+            if (leaveBalanceRepository.insertIfAbsent(employeeId, year, leaveType.name(), balance.getAllowedDays(),
+                    balance.getUsedDays(), balance.getPendingDays(), LocalDateTime.now()) == 0) {
+                log.debug("Leave balance for employee {} {} {} was created concurrently", employeeId, year,
+                        leaveType);
+            }
+        });
+    }
+    
+    private static IllegalStateException overlap(LocalDate startDate, LocalDate endDate) {
+        return new IllegalStateException("Leave from " + startDate + " to " + endDate + " overlaps existing leave");
+    }
+    
+    private void releaseOnRollback(Long applicationId, Long employeeId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    intervals.remove(applicationId, employeeId);
+                }
+            }
+        });
+    }
+    
+    private LeaveIntervalIndex index() {
+        if (!intervals.isReady()) {
+            rebuildLock.lock();
+            try {
+                // Another caller may have finished the rebuild while this one waited
+                if (!intervals.isReady()) {
+                    rebuildIndex();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,102 @@
+package com.workzen.service;
+
+import com.workzen.dto.OutboundMail;
+import com.workzen.dto.PayrollCandidate;
+import com.workzen.entity.Employee;
+import com.workzen.entity.LeaveApplication;
+import com.workzen.entity.Payroll;
+import com.workzen.entity.PerformanceReview;
+import com.workzen.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Notification mails for leave decisions, payslips and performance reviews. Each is
+ * written to {@code mail_outbox} in the transaction of the change it reports, so it is
+ * sent exactly when that change commits; {@link MailOutboxDispatcher} delivers it later,
+ * off the request thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class MailOutbox {
+    
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+    
+    private final MailOutboxRepository mailOutboxRepository;
+    
+    public void leaveDecided(LeaveApplication application) {
+        Employee employee = application.getEmployee();
+        String decision = application.getStatus().getDisplayName().toLowerCase(Locale.ENGLISH);
+        StringBuilder body = new StringBuilder()
+                .append("Hi ").append(employee.getFirstName()).append(",\n\n")
+                .append("Your ").append(application.getLeaveType().getDisplayName())
+                .append(" from ").append(application.getStartDate())
+                .append(" to ").append(application.getEndDate())
+                .append(" has been ").append(decision).append('.');
+        if (application.getApprovalRemarks() != null && !application.getApprovalRemarks().isBlank()) {
+            body.append("\n\nRemarks: ").append(application.getApprovalRemarks());
+        }
+        enqueue(List.of(new OutboundMail("leave-decision:" + application.getId() + ":" + application.getStatus(),
+                employee.getEmail(), "Leave " + decision, body.toString())));
+    }
+    
+    /**
+     * @param candidates the employees of {@code payrolls}, in the same order
+     */
+    public void payslipsAvailable(YearMonth month, List<PayrollCandidate> candidates, List<Payroll> payrolls) {
+        String period = month.format(MONTH);
+        List<OutboundMail> mails = new ArrayList<>(payrolls.size());
+        for (int i = 0; i < payrolls.size(); i++) {
+            PayrollCandidate candidate = candidates.get(i);
+            mails.add(new OutboundMail("payslip:" + candidate.employeeId() + ":" + month, candidate.email(),
+                    "Your payslip for " + period,
+                    "Hi " + candidate.firstName() + ",\n\nYour payslip for " + period + " is available. Net pay: "
+                            + payrolls.get(i).getNetSalary().toPlainString() + "."));
+        }
+        enqueue(mails);
+    }
+    
+    /**
+     * Tells the employee when their review is completed and the reviewer when it has been
+     * acknowledged; other transitions send nothing.
+     */
+    public void reviewStatusChanged(PerformanceReview review) {
+        String period = review.getReviewPeriodStart() + " to " + review.getReviewPeriodEnd();
+        Employee recipient;
+        String subject;
+        String text;
+        switch (review.getStatus()) {
+            case COMPLETED -> {
+                recipient = review.getEmployee();
+                subject = "Your performance review is ready";
+                text = "Your performance review for " + period + " has been completed. Please read and acknowledge it.";
+            }
+            case ACKNOWLEDGED -> {
+                recipient = review.getReviewer();
+                subject = "Performance review acknowledged";
+                text = review.getEmployee().getFirstName() + " " + review.getEmployee().getLastName()
+                        + " has acknowledged their performance review for " + period + ".";
+            }
+            default -> {
+                return;
+            }
+        }
+        enqueue(List.of(new OutboundMail("review:" + review.getId() + ":" + review.getStatus(), recipient.getEmail(),
+                subject, "Hi " + recipient.getFirstName() + ",\n\n" + text)));
+    }
+    
+    public void enqueue(List<OutboundMail> mails) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox mail must be written in the transaction of the change it reports");
+        }
+        mailOutboxRepository.enqueue(mails, LocalDateTime.now());
+    }
+}
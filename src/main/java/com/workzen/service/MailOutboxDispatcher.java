@@ -0,0 +1,233 @@
+package com.workzen.service;
+
+import com.workzen.config.MailOutboxProperties;
+import com.workzen.dto.PendingMail;
+import com.workzen.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains {@code mail_outbox} on its own thread, so a slow SMTP server never holds up the
+ * shared scheduler. Each batch is claimed in a short transaction with
+ * {@code FOR UPDATE SKIP LOCKED}, which lets several nodes dispatch side by side, and is
+ * then sent over a single SMTP connection with no transaction open.
+ *
+ * <p>Messages the server refused are retried with exponential back-off until
+ * {@code max-attempts}, then marked {@code FAILED}; a message that cannot even be built
+ * fails at once. Sending is paced to {@code max-per-second}. A node that dies mid-batch
+ * leaves its messages to be claimed again when the lease runs out, so in that one case a
+ * recipient may get a mail twice.
+ */
+@Slf4j
+@Service
+public class MailOutboxDispatcher {
+    
+    private final MailOutboxRepository mailOutboxRepository;
+    private final Optional<JavaMailSender> mailSender;
+    private final MailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private ScheduledExecutorService executor;
+    private long nextSendNanos = System.nanoTime();
+    
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchSends;
+    
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository, Optional<JavaMailSender> mailSender,
+                                MailOutboxProperties properties, TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        sent = Counter.builder("workzen.mail.outbox.sent").register(meterRegistry);
+        retried = Counter.builder("workzen.mail.outbox.retried").register(meterRegistry);
+        failed = Counter.builder("workzen.mail.outbox.failed")
+                .description("Mails given up on after max-attempts or because they could not be built")
+                .register(meterRegistry);
+        batchSends = Timer.builder("workzen.mail.outbox.batch.send").register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isDispatcherEnabled()) {
+            return;
+        }
+        if (mailSender.isEmpty()) {
+            log.warn("No mail server configured (spring.mail.host); outbox mail is kept but not sent");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("mail-outbox").factory());
+        executor.scheduleWithFixedDelay(this::drain, 0, properties.getPollInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    /**
+     * Sends due messages until none are left.
+     */
+    public void drain() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatch();
+            } while (claimed == batchSize() && !Thread.currentThread().isInterrupted());
+            int purged = mailOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(properties.getSentRetention()));
+            if (purged > 0) {
+                log.debug("Purged {} sent outbox mails", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Mail outbox dispatch failed", e);
+        }
+    }
+    
+    /**
+     * Claims and sends one batch.
+     *
+     * @return how many messages were claimed
+     */
+    public int dispatch() {
+        JavaMailSender sender = mailSender.orElseThrow(() -> new IllegalStateException("No mail server configured"));
+        dispatchLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingMail> batch = transactionTemplate.execute(status -> mailOutboxRepository.claim(batchSize(),
+                    now, now.plus(properties.getClaimLease())));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            pace(batch.size());
+            Map<PendingMail, Exception> failures = batchSends.record(() -> send(sender, batch));
+            record(batch, failures);
+            return batch.size();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+    
+    // Never more than a second's worth of messages in one batch, so pacing stays smooth
+    private int batchSize() {
+        return Math.max(1, Math.min(properties.getBatchSize(), properties.getMaxPerSecond()));
+    }
+    
+    private void pace(int messages) {
+        long now = System.nanoTime();
+        if (nextSendNanos > now) {
+            LockSupport.parkNanos(nextSendNanos - now);
+        }
+        nextSendNanos = Math.max(now, nextSendNanos) + messages * 1_000_000_000L / properties.getMaxPerSecond();
+    }
+    
+    private Map<PendingMail, Exception> send(JavaMailSender sender, List<PendingMail> batch) {
+        Map<PendingMail, Exception> failures = new IdentityHashMap<>();
+        List<PendingMail> built = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (PendingMail mail : batch) {
+            try {
+                messages.add(toMimeMessage(sender, mail));
+                built.add(mail);
+            } catch (MessagingException e) {
+                failures.put(mail, new PermanentFailure(e));
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            sender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> refused = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                Exception cause = refused.isEmpty() ? e : refused.get(messages.get(i));
+                if (cause != null) {
+                    failures.put(built.get(i), cause);
+                }
+            }
+        } catch (MailException e) {
+            built.forEach(mail -> failures.put(mail, e));
+        }
+        return failures;
+    }
+    
+    private MimeMessage toMimeMessage(JavaMailSender sender, PendingMail mail) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(properties.getFrom());
+        helper.setTo(mail.recipient());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.body());
+        message.setHeader("X-WorkZen-Dedup-Key", mail.dedupKey());
+        return message;
+    }
+    
+    private void record(List<PendingMail> batch, Map<PendingMail, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingMail mail : batch) {
+                Exception failure = failures.get(mail);
+                if (failure == null) {
+                    delivered.add(mail.id());
+                } else if (failure instanceof PermanentFailure || mail.attempts() >= properties.getMaxAttempts()) {
+                    log.warn("Giving up on outbox mail {} to {} after {} attempts", mail.dedupKey(), mail.recipient(),
+                            mail.attempts(), failure);
+                    mailOutboxRepository.markFailed(mail.id(), failure.toString());
+                    failed.increment();
+                } else {
+                    mailOutboxRepository.reschedule(mail.id(), now.plus(backoff(mail.attempts())), failure.toString());
+                    retried.increment();
+                }
+            }
+            mailOutboxRepository.markSent(delivered, now);
+        });
+        sent.increment(delivered.size());
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+    
+    private static final class PermanentFailure extends Exception {
+        
+        PermanentFailure(MessagingException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.workzen.service;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.index.OrgHierarchyIndex;
+import com.workzen.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Manager-scoped views over the {@link OrgHierarchyIndex}. The org chart is resolved in
+ * memory; the database is only asked for the employee rows themselves, in id batches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrgHierarchyService {
+    
+    private static final int ID_BATCH_SIZE = 1_000;
+    
+    private final EmployeeRepository employeeRepository;
+    private final OrgHierarchyIndex hierarchy;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            hierarchy.rebuild(employeeRepository::findAllReportingLines);
+            log.info("Org hierarchy built with {} employees in {} ms", hierarchy.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public List<Employee> getDirectReports(Employee manager, EmployeeStatus status) {
+        return findEmployees(index().directReports(manager.getId()), status);
+    }
+    
+    public List<Employee> getOrganization(Employee manager, EmployeeStatus status) {
+        return findEmployees(index().subordinates(manager.getId()), status);
+    }
+    
+    public int getOrganizationSize(Employee manager) {
+        return index().countSubordinates(manager.getId());
+    }
+    
+    public boolean canManage(Employee manager, Employee employee) {
+        return manager.canManage(employee, index());
+    }
+    
+    private OrgHierarchyIndex index() {
+        if (!hierarchy.isReady()) {
+            rebuildLock.lock();
+            try {
+                // Another caller may have finished the rebuild while this one waited
+                if (!hierarchy.isReady()) {
+                    rebuildIndex();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return hierarchy;
+    }
+    
+    private List<Employee> findEmployees(long[] ids, EmployeeStatus status) {
+        List<Employee> employees = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += ID_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(ids, from, Math.min(from + ID_BATCH_SIZE, ids.length)).boxed().toList();
+            employees.addAll(employeeRepository.findByIdInAndStatus(batch, status));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,73 @@
+package com.workzen.service;
+
+import lombok.Getter;
+
+/**
+ * Inputs and results of {@link PayrollKernel} for a batch of employees, one primitive
+ * array per field. All amounts are paise. A batch is sized once and can be
+ * {@link #clear() cleared} and refilled, so a payroll run allocates nothing per employee
+ * until the {@code Payroll} entities are built.
+ */
+@Getter
+public class PayrollBatch {
+    
+    private final int capacity;
+    private int size;
+    
+    private final long[] employeeIds;
+    private final long[] annualSalary;
+    private final int[] lossOfPayHalfDays;
+    private final long[] overtimeCentiHours;
+    
+    private final long[] basic;
+    private final long[] hra;
+    private final long[] transport;
+    private final long[] medical;
+    private final long[] other;
+    private final long[] overtime;
+    private final long[] gross;
+    private final long[] providentFund;
+    private final long[] professionalTax;
+    private final long[] incomeTax;
+    private final long[] totalDeductions;
+    private final long[] net;
+    
+    public PayrollBatch(int capacity) {
+        this.capacity = capacity;
+        employeeIds = new long[capacity];
+        annualSalary = new long[capacity];
+        lossOfPayHalfDays = new int[capacity];
+        overtimeCentiHours = new long[capacity];
+        basic = new long[capacity];
+        hra = new long[capacity];
+        transport = new long[capacity];
+        medical = new long[capacity];
+        other = new long[capacity];
+        overtime = new long[capacity];
+        gross = new long[capacity];
+        providentFund = new long[capacity];
+        professionalTax = new long[capacity];
+        incomeTax = new long[capacity];
+        totalDeductions = new long[capacity];
+        net = new long[capacity];
+    }
+    
+    /**
+     * @param lossOfPayHalfDays absent days count twice, half days once
+     * @return the index of the employee in the batch
+     */
+    public int add(long employeeId, long annualSalaryPaise, int lossOfPayHalfDays, long overtimeCentiHours) {
+        if (size == capacity) {
+            throw new IllegalStateException("Payroll batch is full (" + capacity + ")");
+        }
+        employeeIds[size] = employeeId;
+        annualSalary[size] = annualSalaryPaise;
+        this.lossOfPayHalfDays[size] = lossOfPayHalfDays;
+        this.overtimeCentiHours[size] = overtimeCentiHours;
+        return size++;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.workzen.service;
+
+import com.workzen.config.PayrollProperties;
+import com.workzen.dto.MonthlyAttendance;
+import com.workzen.dto.PayrollCandidate;
+import com.workzen.entity.Payroll;
+import com.workzen.util.Money;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes one month of {@link Payroll} from the employee's annual salary
+ * ({@code Employee.salary}, CTC) and the month's attendance. Absent days and half
+ * days are loss of pay against the month's working days (Monday to Friday).
+ *
+ * <p>The arithmetic is done by {@link PayrollKernel} in paise over a whole chunk of
+ * employees; this class only moves values in and out of the {@link PayrollBatch}.
+ */
+@Component
+public class PayrollCalculator {
+    
+    private final PayrollKernel kernel;
+    
+    public PayrollCalculator(PayrollProperties properties) {
+        this.kernel = new PayrollKernel(properties.getRules());
+    }
+    
+    public Payroll calculate(PayrollCandidate candidate, MonthlyAttendance attendance, YearMonth month) {
+        return calculate(List.of(candidate), Map.of(candidate.employeeId(), attendance), month).get(0);
+    }
+    
+    /**
+     * Payrolls of {@code candidates} in the same order; employees missing from
+     * {@code attendance} are treated as having no attendance rows.
+     */
+    public List<Payroll> calculate(List<PayrollCandidate> candidates, Map<Long, MonthlyAttendance> attendance,
+                                   YearMonth month) {
+        PayrollBatch batch = new PayrollBatch(candidates.size());
+        for (PayrollCandidate candidate : candidates) {
+            MonthlyAttendance totals = attendance.getOrDefault(candidate.employeeId(), MonthlyAttendance.NONE);
+            batch.add(candidate.employeeId(), Money.toPaise(candidate.salary()),
+                    totals.daysAbsent() * 2 + totals.halfDays(), Math.round(totals.overtimeHours() * 100));
+        }
+        kernel.calculate(batch, workingDays(month));
+        
+        LocalDate salaryMonth = month.atDay(1);
+        List<Payroll> payrolls = new ArrayList<>(candidates.size());
+        for (int i = 0; i < batch.getSize(); i++) {
+            MonthlyAttendance totals = attendance.getOrDefault(candidates.get(i).employeeId(), MonthlyAttendance.NONE);
+            payrolls.add(Payroll.builder()
+                    .salaryMonth(salaryMonth)
+                    .basicSalary(Money.ofPaise(batch.getBasic()[i]))
+                    .hra(Money.ofPaise(batch.getHra()[i]))
+                    .transportAllowance(Money.ofPaise(batch.getTransport()[i]))
+                    .medicalAllowance(Money.ofPaise(batch.getMedical()[i]))
+                    .otherAllowances(Money.ofPaise(batch.getOther()[i]))
+                    .overtimeAmount(Money.ofPaise(batch.getOvertime()[i]))
+                    .bonus(Money.ofPaise(0))
+                    .grossSalary(Money.ofPaise(batch.getGross()[i]))
+                    .providentFund(Money.ofPaise(batch.getProvidentFund()[i]))
+                    .professionalTax(Money.ofPaise(batch.getProfessionalTax()[i]))
+                    .incomeTax(Money.ofPaise(batch.getIncomeTax()[i]))
+                    .otherDeductions(Money.ofPaise(0))
+                    .totalDeductions(Money.ofPaise(batch.getTotalDeductions()[i]))
+                    .netSalary(Money.ofPaise(batch.getNet()[i]))
+                    .daysWorked(totals.daysWorked())
+                    .daysOnLeave(totals.daysOnLeave())
+                    .overtimeHours(totals.overtimeHours())
+                    .build());
+        }
+        return payrolls;
+    }
+    
+    public int workingDays(YearMonth month) {
+        int days = 0;
+        for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days++;
+            }
+        }
+        return days;
+    }
+}
@@ -0,0 +1,178 @@
+package com.workzen.service;
+
+import com.workzen.dto.PayrollRegisterRow;
+import com.workzen.enums.Department;
+import com.workzen.repository.PayrollRepository;
+import com.workzen.util.Csv;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams the monthly payroll register as CSV or XLSX. Rows come from a fetch-size-bounded
+ * projection stream and go straight to the output; XLSX uses POI's streaming workbook,
+ * which keeps only a small window of rows in memory and spills the rest to a temp file.
+ * Memory use does not grow with headcount either way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollExportService {
+    
+    // Rows of the XLSX sheet kept in memory before they are flushed to the temp file
+    private static final int XLSX_ROW_WINDOW = 200;
+    
+    private static final List<Column> COLUMNS = List.of(
+            new Column("Employee ID", PayrollRegisterRow::employeeCode),
+            new Column("First Name", PayrollRegisterRow::firstName),
+            new Column("Last Name", PayrollRegisterRow::lastName),
+            new Column("Department", row -> row.department() == null ? null : row.department().getDisplayName()),
+            new Column("Designation", PayrollRegisterRow::designation),
+            new Column("Bank", PayrollRegisterRow::bankName),
+            new Column("Account Number", PayrollRegisterRow::bankAccountNumber),
+            new Column("IFSC", PayrollRegisterRow::ifscCode),
+            new Column("PAN", PayrollRegisterRow::panNumber),
+            new Column("Salary Month", PayrollRegisterRow::salaryMonth),
+            new Column("Basic", PayrollRegisterRow::basicSalary),
+            new Column("HRA", PayrollRegisterRow::hra),
+            new Column("Transport Allowance", PayrollRegisterRow::transportAllowance),
+            new Column("Medical Allowance", PayrollRegisterRow::medicalAllowance),
+            new Column("Other Allowances", PayrollRegisterRow::otherAllowances),
+            new Column("Overtime Amount", PayrollRegisterRow::overtimeAmount),
+            new Column("Bonus", PayrollRegisterRow::bonus),
+            new Column("Gross Salary", PayrollRegisterRow::grossSalary),
+            new Column("Provident Fund", PayrollRegisterRow::providentFund),
+            new Column("Professional Tax", PayrollRegisterRow::professionalTax),
+            new Column("Income Tax", PayrollRegisterRow::incomeTax),
+            new Column("Other Deductions", PayrollRegisterRow::otherDeductions),
+            new Column("Total Deductions", PayrollRegisterRow::totalDeductions),
+            new Column("Net Salary", PayrollRegisterRow::netSalary),
+            new Column("Days Worked", PayrollRegisterRow::daysWorked),
+            new Column("Days On Leave", PayrollRegisterRow::daysOnLeave),
+            new Column("Overtime Hours", PayrollRegisterRow::overtimeHours),
+            new Column("Processed Date", PayrollRegisterRow::processedDate),
+            new Column("Processed By", PayrollRegisterRow::processedBy));
+    
+    private final PayrollRepository payrollRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * @param department {@code null} for the whole company
+     * @return the number of rows written
+     */
+    public long writeCsv(YearMonth month, Department department, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        writeCsvLine(writer, COLUMNS.stream().map(Column::header).toList());
+        long rows = stream(month, department, row -> {
+            try {
+                writeCsvLine(writer, COLUMNS.stream().map(column -> column.value().apply(row)).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows;
+    }
+    
+    /**
+     * @param department {@code null} for the whole company
+     * @return the number of rows written
+     */
+    public long writeXlsx(YearMonth month, Department department, OutputStream output) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("Payroll " + month);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                header.createCell(i).setCellValue(COLUMNS.get(i).header());
+            }
+            sheet.createFreezePane(0, 1);
+            
+            long rows = stream(month, department, new Consumer<>() {
+                private int next = 1;
+                
+                @Override
+                public void accept(PayrollRegisterRow row) {
+                    Row line = sheet.createRow(next++);
+                    for (int i = 0; i < COLUMNS.size(); i++) {
+                        setCell(line.createCell(i), COLUMNS.get(i).value().apply(row), dateStyle);
+                    }
+                }
+            });
+            workbook.write(output);
+            return rows;
+        } finally {
+            // Also deletes the temp files
+            workbook.close();
+        }
+    }
+    
+    private long stream(YearMonth month, Department department, Consumer<PayrollRegisterRow> sink) {
+        long started = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        Long rows = readOnly.execute(status -> {
+            long count = 0;
+            try (Stream<PayrollRegisterRow> register = payrollRepository.streamRegister(month.atDay(1), department)) {
+                for (PayrollRegisterRow row : (Iterable<PayrollRegisterRow>) register::iterator) {
+                    sink.accept(row);
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Exported {} payroll rows for {} {} in {} ms", rows, month,
+                department == null ? "(all departments)" : department, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+    
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(Csv.escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+    
+    private static void setCell(Cell cell, Object value, CellStyle dateStyle) {
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value != null) {
+            cell.setCellValue(value.toString());
+        }
+    }
+    
+    private record Column(String header, Function<PayrollRegisterRow, Object> value) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.workzen.service;
+
+import com.workzen.config.PayrollProperties;
+import com.workzen.config.PayrollProperties.IncomeTaxSlab;
+import com.workzen.config.PayrollProperties.ProfessionalTaxSlab;
+import com.workzen.util.Money;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static com.workzen.util.Money.BPS;
+import static com.workzen.util.Money.mulDiv;
+
+/**
+ * Fixed-point payroll arithmetic over a {@link PayrollBatch}. Amounts are {@code long}
+ * paise and rates basis points, converted once from {@link PayrollProperties.Rules};
+ * every division rounds half up to the paisa, so the components always add up exactly to
+ * the gross and the deductions to gross minus net.
+ *
+ * <p>The monthly CTC earned after loss of pay is rounded once and then split: basic and
+ * HRA by share, transport and medical pro rata up to what is left, the remainder as other
+ * allowances. Income tax is the annualised gross under the new regime with the rebate
+ * and cess, divided back over twelve months.
+ */
+public class PayrollKernel {
+    
+    private final long basicBps;
+    private final long hraBps;
+    private final long transportPaise;
+    private final long medicalPaise;
+    private final long overtimeBps;
+    private final long standardDayHours;
+    private final long providentFundBps;
+    private final long providentFundCeilingPaise;
+    // Professional tax slabs, highest threshold first
+    private final long[] professionalTaxAbove;
+    private final long[] professionalTaxAmount;
+    private final long standardDeductionPaise;
+    private final long rebateLimitPaise;
+    private final long cessBps;
+    // Income tax slab upper bounds, ascending, the last one Long.MAX_VALUE
+    private final long[] incomeTaxUpTo;
+    private final long[] incomeTaxBps;
+    
+    public PayrollKernel(PayrollProperties.Rules rules) {
+        basicBps = Money.toBasisPoints(rules.getBasicShare());
+        hraBps = Money.toBasisPoints(rules.getHraShareOfBasic());
+        transportPaise = Money.toPaise(rules.getTransportAllowance());
+        medicalPaise = Money.toPaise(rules.getMedicalAllowance());
+        overtimeBps = Money.toBasisPoints(rules.getOvertimeRate());
+        standardDayHours = rules.getStandardDayHours();
+        providentFundBps = Money.toBasisPoints(rules.getProvidentFundRate());
+        providentFundCeilingPaise = Money.toPaise(rules.getProvidentFundWageCeiling());
+        
+        List<ProfessionalTaxSlab> professionalTax = rules.getProfessionalTax().stream()
+                .sorted(Comparator.comparing(ProfessionalTaxSlab::getGrossAbove).reversed())
+                .toList();
+        professionalTaxAbove = new long[professionalTax.size()];
+        professionalTaxAmount = new long[professionalTax.size()];
+        for (int i = 0; i < professionalTax.size(); i++) {
+            professionalTaxAbove[i] = Money.toPaise(professionalTax.get(i).getGrossAbove());
+            professionalTaxAmount[i] = Money.toPaise(professionalTax.get(i).getAmount());
+        }
+        
+        standardDeductionPaise = Money.toPaise(rules.getStandardDeduction());
+        rebateLimitPaise = Money.toPaise(rules.getRebateLimit());
+        cessBps = Money.toBasisPoints(rules.getCessRate());
+        List<IncomeTaxSlab> incomeTax = rules.getIncomeTax();
+        incomeTaxUpTo = new long[incomeTax.size()];
+        incomeTaxBps = new long[incomeTax.size()];
+        for (int i = 0; i < incomeTax.size(); i++) {
+            IncomeTaxSlab slab = incomeTax.get(i);
+            incomeTaxUpTo[i] = slab.getUpTo() == null ? Long.MAX_VALUE : Money.toPaise(slab.getUpTo());
+            incomeTaxBps[i] = Money.toBasisPoints(slab.getRate());
+            if (i > 0 && incomeTaxUpTo[i] <= incomeTaxUpTo[i - 1]) {
+                throw new IllegalArgumentException("Income tax slabs must be in ascending order");
+            }
+        }
+        if (incomeTax.isEmpty() || incomeTaxUpTo[incomeTax.size() - 1] != Long.MAX_VALUE) {
+            throw new IllegalArgumentException("The last income tax slab must have no upper limit");
+        }
+    }
+    
+    /**
+     * Fills the result arrays of the first {@code batch.getSize()} employees.
+     */
+    public void calculate(PayrollBatch batch, int workingDays) {
+        long halfDays = workingDays * 2L;
+        long overtimeDivisor = 12L * workingDays * standardDayHours * 100 * BPS;
+        long[] annualSalary = batch.getAnnualSalary();
+        int[] lossOfPay = batch.getLossOfPayHalfDays();
+        long[] overtimeCentiHours = batch.getOvertimeCentiHours();
+        long[] basicOut = batch.getBasic();
+        long[] hraOut = batch.getHra();
+        long[] transportOut = batch.getTransport();
+        long[] medicalOut = batch.getMedical();
+        long[] otherOut = batch.getOther();
+        long[] overtimeOut = batch.getOvertime();
+        long[] grossOut = batch.getGross();
+        long[] providentFundOut = batch.getProvidentFund();
+        long[] professionalTaxOut = batch.getProfessionalTax();
+        long[] incomeTaxOut = batch.getIncomeTax();
+        long[] deductionsOut = batch.getTotalDeductions();
+        long[] netOut = batch.getNet();
+        
+        for (int i = 0, size = batch.getSize(); i < size; i++) {
+            long annual = annualSalary[i];
+            long paidHalfDays = Math.max(0, halfDays - lossOfPay[i]);
+            
+            long earned = mulDiv(annual, paidHalfDays, 12 * halfDays);
+            long basic = mulDiv(earned, basicBps, BPS);
+            long hra = Math.min(mulDiv(basic, hraBps, BPS), earned - basic);
+            long remaining = earned - basic - hra;
+            long transport = Math.min(mulDiv(transportPaise, paidHalfDays, halfDays), remaining);
+            remaining -= transport;
+            long medical = Math.min(mulDiv(medicalPaise, paidHalfDays, halfDays), remaining);
+            long other = remaining - medical;
+            long overtime = mulDiv(annual, overtimeCentiHours[i] * overtimeBps, overtimeDivisor);
+            long gross = earned + overtime;
+            
+            long providentFund = mulDiv(Math.min(basic, providentFundCeilingPaise), providentFundBps, BPS);
+            long professionalTax = professionalTax(gross);
+            long incomeTax = monthlyIncomeTax(gross);
+            long deductions = providentFund + professionalTax + incomeTax;
+            
+            basicOut[i] = basic;
+            hraOut[i] = hra;
+            transportOut[i] = transport;
+            medicalOut[i] = medical;
+            otherOut[i] = other;
+            overtimeOut[i] = overtime;
+            grossOut[i] = gross;
+            providentFundOut[i] = providentFund;
+            professionalTaxOut[i] = professionalTax;
+            incomeTaxOut[i] = incomeTax;
+            deductionsOut[i] = deductions;
+            netOut[i] = gross - deductions;
+        }
+    }
+    
+    private long professionalTax(long gross) {
+        for (int i = 0; i < professionalTaxAbove.length; i++) {
+            if (gross > professionalTaxAbove[i]) {
+                return professionalTaxAmount[i];
+            }
+        }
+        return 0;
+    }
+    
+    private long monthlyIncomeTax(long monthlyGross) {
+        long taxable = monthlyGross * 12 - standardDeductionPaise;
+        if (taxable <= rebateLimitPaise) {
+            return 0;
+        }
+        // Paise x basis points; the 30% slab keeps this far below overflow for any salary
+        long tax = 0;
+        long lower = 0;
+        for (int i = 0; i < incomeTaxUpTo.length && taxable > lower; i++) {
+            tax += (Math.min(taxable, incomeTaxUpTo[i]) - lower) * incomeTaxBps[i];
+            lower = incomeTaxUpTo[i];
+        }
+        return mulDiv(tax, BPS + cessBps, BPS * BPS * 12);
+    }
+}
@@ -0,0 +1,218 @@
+package com.workzen.service;
+
+import com.workzen.config.PayrollProperties;
+import com.workzen.dto.MonthlyAttendance;
+import com.workzen.dto.PayrollCandidate;
+import com.workzen.entity.BaseEntity;
+import com.workzen.entity.Employee;
+import com.workzen.entity.Payroll;
+import com.workzen.entity.PayrollRun;
+import com.workzen.entity.PayrollRun.RunStatus;
+import com.workzen.entity.PayrollRunPartition;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.repository.PayrollRepository;
+import com.workzen.repository.PayrollRunPartitionRepository;
+import com.workzen.repository.PayrollRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the monthly {@link Payroll} of every active employee.
+ *
+ * <p>A run splits the active employees into contiguous id ranges of roughly equal size
+ * ({@link PayrollRunPartition}) and works through them on a fixed number of virtual
+ * threads. Each partition is processed in chunks; a chunk's payroll rows and the
+ * partition checkpoint commit together, so calling {@link #run} again for the same month
+ * after a crash resumes where the committed work stopped. The
+ * {@code (employee_id, salary_month)} unique constraint on {@code payroll} guards against
+ * duplicates if two runners ever overlap. Payslip mails go to the outbox with the chunk
+ * they belong to.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollRunService {
+    
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceMonthService attendanceMonthService;
+    private final PayrollRepository payrollRepository;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunPartitionRepository partitionRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final MailOutbox mailOutbox;
+    private final PayrollProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    
+    public PayrollRun run(YearMonth month, Long processedById) {
+        return run(month, processedById, properties.getParallelism());
+    }
+    
+    public PayrollRun run(YearMonth month, Long processedById, int parallelism) {
+        PayrollRun run = transactionTemplate.execute(status -> prepare(month, processedById, parallelism));
+        if (run.getStatus() == RunStatus.COMPLETED) {
+            log.info("Payroll for {} was already generated", month);
+            return run;
+        }
+        
+        List<Long> pendingPartitions = transactionTemplate.execute(status -> partitionRepository
+                .findByPayrollRunOrderByFirstEmployeeId(run).stream()
+                .filter(partition -> !partition.isCompleted())
+                .map(BaseEntity::getId)
+                .toList());
+        log.info("Payroll run for {}: {} partitions pending, parallelism {}", month, pendingPartitions.size(),
+                parallelism);
+        
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("payroll-run-", 0).factory());
+        try {
+            List<Future<Long>> results = new ArrayList<>(pendingPartitions.size());
+            for (Long partitionId : pendingPartitions) {
+                results.add(executor.submit(() -> processPartition(partitionId, month, processedById)));
+            }
+            long processed = 0;
+            for (Future<Long> result : results) {
+                processed += result.get();
+            }
+            log.info("Payroll run for {} generated {} payslips in {} ms", month, processed,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (ExecutionException e) {
+            markFailed(run.getId());
+            throw new IllegalStateException("Payroll run for " + month + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markFailed(run.getId());
+            throw new IllegalStateException("Payroll run for " + month + " was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        return transactionTemplate.execute(status -> complete(run.getId()));
+    }
+    
+    private PayrollRun prepare(YearMonth month, Long processedById, int parallelism) {
+        Optional<PayrollRun> existing = payrollRunRepository.findBySalaryMonth(month.atDay(1));
+        if (existing.isPresent()) {
+            PayrollRun run = existing.get();
+            if (run.getStatus() != RunStatus.COMPLETED) {
+                log.info("Resuming payroll run for {}", month);
+                run.setStatus(RunStatus.RUNNING);
+            }
+            return run;
+        }
+        
+        PayrollRun run = payrollRunRepository.save(PayrollRun.builder()
+                .salaryMonth(month.atDay(1))
+                .startedAt(LocalDateTime.now())
+                .processedBy(processedById == null ? null : employeeRepository.getReferenceById(processedById))
+                .build());
+        
+        List<Long> employeeIds = employeeRepository.findIdsByStatusIn(EmployeeStatus.activeStatuses());
+        int partitions = Math.max(1, Math.min(employeeIds.size(), parallelism * properties.getPartitionsPerWorker()));
+        List<PayrollRunPartition> ranges = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int from = (int) ((long) employeeIds.size() * i / partitions);
+            int to = (int) ((long) employeeIds.size() * (i + 1) / partitions) - 1;
+            if (to < from) {
+                continue;
+            }
+            ranges.add(PayrollRunPartition.builder()
+                    .payrollRun(run)
+                    .firstEmployeeId(employeeIds.get(from))
+                    .lastEmployeeIdInRange(employeeIds.get(to))
+                    .build());
+        }
+        partitionRepository.saveAll(ranges);
+        return run;
+    }
+    
+    private long processPartition(Long partitionId, YearMonth month, Long processedById) {
+        long processed = 0;
+        ChunkResult result;
+        do {
+            result = transactionTemplate.execute(status -> processChunk(partitionId, month, processedById));
+            processed += result.processed();
+        } while (!result.completed());
+        return processed;
+    }
+    
+    private ChunkResult processChunk(Long partitionId, YearMonth month, Long processedById) {
+        PayrollRunPartition partition = partitionRepository.findById(partitionId).orElseThrow();
+        if (partition.isCompleted()) {
+            return new ChunkResult(0, true);
+        }
+        
+        int chunkSize = properties.getChunkSize();
+        List<PayrollCandidate> candidates = employeeRepository.findPayrollCandidates(
+                EmployeeStatus.activeStatuses(), partition.resumeAfterId(), partition.getLastEmployeeIdInRange(),
+                PageRequest.of(0, chunkSize));
+        if (candidates.isEmpty()) {
+            partition.setCompleted(true);
+            return new ChunkResult(0, true);
+        }
+        
+        List<Long> employeeIds = candidates.stream().map(PayrollCandidate::employeeId).toList();
+        LocalDate salaryMonth = month.atDay(1);
+        Set<Long> alreadyGenerated = new HashSet<>(payrollRepository.findEmployeeIdsWithPayroll(employeeIds, salaryMonth));
+        // Pay is computed from the committed rows, not this node's in-memory month store
+        Map<Long, MonthlyAttendance> attendance = attendanceMonthService.getMonthlyAttendanceFromDatabase(
+                employeeIds, month);
+        Employee processedBy = processedById == null ? null : employeeRepository.getReferenceById(processedById);
+        
+        List<PayrollCandidate> pending = alreadyGenerated.isEmpty() ? candidates : candidates.stream()
+                .filter(candidate -> !alreadyGenerated.contains(candidate.employeeId()))
+                .toList();
+        List<Payroll> payrolls = payrollCalculator.calculate(pending, attendance, month);
+        for (int i = 0; i < payrolls.size(); i++) {
+            Payroll payroll = payrolls.get(i);
+            payroll.setEmployee(employeeRepository.getReferenceById(pending.get(i).employeeId()));
+            payroll.setIsProcessed(true);
+            payroll.setProcessedDate(LocalDate.now());
+            payroll.setProcessedBy(processedBy);
+        }
+        payrollRepository.saveAll(payrolls);
+        mailOutbox.payslipsAvailable(month, pending, payrolls);
+        
+        boolean completed = candidates.size() < chunkSize;
+        partition.setLastProcessedEmployeeId(employeeIds.get(employeeIds.size() - 1));
+        partition.setEmployeesProcessed(partition.getEmployeesProcessed() + payrolls.size());
+        partition.setCompleted(completed);
+        return new ChunkResult(payrolls.size(), completed);
+    }
+    
+    private PayrollRun complete(Long runId) {
+        PayrollRun run = payrollRunRepository.findById(runId).orElseThrow();
+        run.setEmployeesProcessed(partitionRepository.findByPayrollRunOrderByFirstEmployeeId(run).stream()
+                .mapToLong(PayrollRunPartition::getEmployeesProcessed)
+                .sum());
+        run.setStatus(RunStatus.COMPLETED);
+        run.setCompletedAt(LocalDateTime.now());
+        return run;
+    }
+    
+    private void markFailed(Long runId) {
+        transactionTemplate.executeWithoutResult(status -> payrollRunRepository.findById(runId)
+                .ifPresent(run -> run.setStatus(RunStatus.FAILED)));
+    }
+    
+    private record ChunkResult(long processed, boolean completed) {
+    }
+}
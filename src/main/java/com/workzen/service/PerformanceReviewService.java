@@ -0,0 +1,139 @@
+package com.workzen.service;
+
+import com.workzen.dto.RatingStats;
+import com.workzen.dto.ReviewPeriod;
+import com.workzen.dto.ReviewerCalibration;
+import com.workzen.entity.PerformanceReview;
+import com.workzen.entity.PerformanceReview.ReviewStatus;
+import com.workzen.enums.Department;
+import com.workzen.enums.RatingDimension;
+import com.workzen.enums.Role;
+import com.workzen.index.ReviewRollupStore;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.repository.PerformanceReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appraisal-cycle dashboards over the {@link ReviewRollupStore}: rating averages and
+ * spread per department, role and reviewer, and reviewers whose ratings sit far from
+ * everyone else's in the same period. Completed and acknowledged reviews are rolled up
+ * once at startup and then follow committed changes.
+ *
+ * <p>Status changes go through {@link #changeStatus}, which writes the matching
+ * notification to the mail outbox in the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PerformanceReviewService {
+    
+    // Below this many reviews a reviewer's mean says little about calibration
+    private static final int MIN_CALIBRATION_REVIEWS = 5;
+    
+    private final PerformanceReviewRepository reviewRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ReviewRollupStore rollups;
+    private final MailOutbox mailOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRollups() {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            rollups.rebuild(employeeRepository::findAllGroupings,
+                    () -> reviewRepository.findRatingsByStatusIn(ReviewStatus.finishedStatuses()));
+            log.info("Review rollups built from {} reviews in {} ms", rollups.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Moves a review forward through draft, submitted, completed and acknowledged.
+     *
+     * @throws IllegalStateException if {@code to} is not after the current status
+     */
+    public PerformanceReview changeStatus(Long reviewId, ReviewStatus to) {
+        return transactionTemplate.execute(status -> {
+            PerformanceReview review = reviewRepository.findById(reviewId).orElseThrow();
+            ReviewStatus from = review.getStatus();
+            if (to.ordinal() <= from.ordinal()) {
+                throw new IllegalStateException("Performance review " + reviewId + " is " + from.getDisplayName()
+                        + " and cannot become " + to.getDisplayName());
+            }
+            review.setStatus(to);
+            if (to == ReviewStatus.COMPLETED && review.getReviewDate() == null) {
+                review.setReviewDate(LocalDate.now());
+            }
+            mailOutbox.reviewStatusChanged(review);
+            return review;
+        });
+    }
+    
+    public List<ReviewPeriod> getReviewPeriods() {
+        return store().periods();
+    }
+    
+    public RatingStats getRatingStats(ReviewPeriod period, RatingDimension dimension) {
+        return store().stats(period, dimension);
+    }
+    
+    public RatingStats getDepartmentRatingStats(ReviewPeriod period, Department department,
+                                                RatingDimension dimension) {
+        return store().departmentStats(period, department, dimension);
+    }
+    
+    public Map<Department, RatingStats> getRatingStatsByDepartment(ReviewPeriod period, RatingDimension dimension) {
+        return store().departments(period, dimension);
+    }
+    
+    public RatingStats getRoleRatingStats(ReviewPeriod period, Role role, RatingDimension dimension) {
+        return store().roleStats(period, role, dimension);
+    }
+    
+    public RatingStats getReviewerRatingStats(ReviewPeriod period, Long reviewerId, RatingDimension dimension) {
+        return store().reviewerStats(period, reviewerId, dimension);
+    }
+    
+    public ReviewerCalibration getReviewerCalibration(ReviewPeriod period, Long reviewerId,
+                                                      RatingDimension dimension) {
+        return store().calibration(period, reviewerId, dimension);
+    }
+    
+    /**
+     * Reviewers whose mean rating is at least {@code zThreshold} standard errors away from
+     * the period mean, furthest first.
+     */
+    public List<ReviewerCalibration> getCalibrationOutliers(ReviewPeriod period, RatingDimension dimension,
+                                                            double zThreshold) {
+        return store().outliers(period, dimension, MIN_CALIBRATION_REVIEWS, zThreshold);
+    }
+    
+    private ReviewRollupStore store() {
+        if (!rollups.isReady()) {
+            rebuildLock.lock();
+            try {
+                // Another caller may have finished the rebuild while this one waited
+                if (!rollups.isReady()) {
+                    rebuildRollups();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return rollups;
+    }
+}
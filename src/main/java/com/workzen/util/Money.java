@@ -0,0 +1,47 @@
+package com.workzen.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Rupee amounts as {@code long} paise for arithmetic and as scale-2 {@link BigDecimal}s
+ * at the persistence boundary.
+ */
+public final class Money {
+    
+    public static final int SCALE = 2;
+    // Rates are held in basis points, 1/10,000
+    public static final long BPS = 10_000;
+    
+    private Money() {
+    }
+    
+    public static long toPaise(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public static BigDecimal ofPaise(long paise) {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+    
+    public static long toBasisPoints(BigDecimal rate) {
+        return rate.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+    
+    /**
+     * {@code a * b / c} rounded half up, for non-negative operands. Falls back to
+     * {@link BigInteger} only when the product does not fit in a long.
+     */
+    public static long mulDiv(long a, long b, long c) {
+        long product = a * b;
+        if (Math.multiplyHigh(a, b) == 0 && product >= 0) {
+            long quotient = product / c;
+            return product % c * 2 >= c ? quotient + 1 : quotient;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                .add(BigInteger.valueOf(c / 2))
+                .divide(BigInteger.valueOf(c))
+                .longValueExact();
+    }
+}
@@ -0,0 +1,85 @@
+package com.workzen.util;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns a {@link KeysetScrollPosition} into an opaque, URL-safe cursor string and back,
+ * so keyset-paged listings can hand the client a "next" token instead of a page number.
+ * Supports the key types our sort keys use: {@link LocalDate}, {@link String},
+ * {@link Long} and {@link Integer}.
+ */
+public final class ScrollCursors {
+    
+    private ScrollCursors() {
+    }
+    
+    public static String encode(KeysetScrollPosition position) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(position.scrollsForward() ? 'F' : 'B');
+            out.writeByte(position.getKeys().size());
+            for (Map.Entry<String, ?> key : position.getKeys().entrySet()) {
+                out.writeUTF(key.getKey());
+                Object value = key.getValue();
+                if (value instanceof LocalDate date) {
+                    out.writeByte('D');
+                    out.writeLong(date.toEpochDay());
+                } else if (value instanceof String text) {
+                    out.writeByte('S');
+                    out.writeUTF(text);
+                } else if (value instanceof Long number) {
+                    out.writeByte('L');
+                    out.writeLong(number);
+                } else if (value instanceof Integer number) {
+                    out.writeByte('I');
+                    out.writeInt(number);
+                } else {
+                    throw new IllegalArgumentException("Unsupported cursor key " + key.getKey() + " of type "
+                            + (value == null ? "null" : value.getClass().getName()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+    
+    /**
+     * @return the decoded position, or the initial keyset position when {@code cursor} is blank
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            boolean forward = in.readByte() == 'F';
+            int size = in.readByte();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                String name = in.readUTF();
+                byte type = in.readByte();
+                keys.put(name, switch (type) {
+                    case 'D' -> LocalDate.ofEpochDay(in.readLong());
+                    case 'S' -> in.readUTF();
+                    case 'L' -> in.readLong();
+                    case 'I' -> in.readInt();
+                    default -> throw new IllegalArgumentException("Invalid cursor");
+                });
+            }
+            return forward ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
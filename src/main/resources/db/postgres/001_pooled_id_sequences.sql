@@ -0,0 +1,33 @@
+-- Moves the BaseEntity tables off IDENTITY/serial ids onto the pooled <table>_seq
+-- sequences used by PooledSequenceGenerator.
+--
+-- Run once with psql against an existing database before deploying the new mapping.
+-- INCREMENT BY is workzen.id.allocation_size (default 50); pass any other value with
+--   psql -v allocation_size=100 -f 001_pooled_id_sequences.sql
+-- If you change the allocation size later, ALTER SEQUENCE ... INCREMENT BY to the same
+-- value: Hibernate refuses to start while the two differ.
+--
+-- The pooled optimizer treats each nextval() as the upper bound of a block of
+-- ids, so every sequence is moved one full block past the current MAX(id).
+
+\if :{?allocation_size}
+\else
+    \set allocation_size 50
+\endif
+SELECT set_config('workzen.allocation_size', :'allocation_size', false);
+
+DO $$
+DECLARE
+    tbl text;
+    step integer := current_setting('workzen.allocation_size')::integer;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['employees', 'attendance', 'leave_applications', 'payroll', 'performance_reviews'] LOOP
+        IF to_regclass(tbl) IS NULL THEN
+            CONTINUE;
+        END IF;
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', tbl);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tbl);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY %s', tbl || '_seq', step);
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + %s FROM %I))', tbl || '_seq', step, tbl);
+    END LOOP;
+END $$;
@@ -0,0 +1,12 @@
+-- Indexes backing the date-range attendance queries in AttendanceRepository.
+--
+-- (employee_id, date) is already indexed by the unique constraint on attendance;
+-- findByEmployeeAndDateRange, countByEmployeeAndDateRangeAndStatus and
+-- getAverageWorkHours use it as an index range scan.
+-- (date, status) serves the daily sheet / roll-call style lookups.
+--
+-- CONCURRENTLY cannot run inside a transaction block; run with psql autocommit.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_date_status ON attendance (date, status);
+
+ANALYZE attendance;
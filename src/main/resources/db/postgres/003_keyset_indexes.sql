@@ -0,0 +1,16 @@
+-- Indexes backing the keyset (scroll) listings.
+--
+-- findByDateBetweenOrderByDateAscIdAsc seeks on (date, id).
+-- findByEmployeeOrderByDateDescIdDesc is served by the (employee_id, date) unique index,
+-- date being unique per employee.
+-- findByDepartmentAndStatusOrderByLastNameAscIdAsc seeks on (last_name, id) within a
+-- department and status.
+--
+-- CONCURRENTLY cannot run inside a transaction block; run with psql autocommit.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_date_id ON attendance (date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_status_last_name
+    ON employees (department, status, last_name, id);
+
+ANALYZE attendance;
+ANALYZE employees;
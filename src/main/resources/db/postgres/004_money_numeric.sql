@@ -0,0 +1,26 @@
+-- Money columns move from double precision to numeric(14,2) so persisted amounts are
+-- exact to the paisa.
+--
+-- Run once against an existing database before deploying the new mapping. Rewrites both tables under an ACCESS EXCLUSIVE lock; run outside business hours.
+
+ALTER TABLE employees
+    ALTER COLUMN salary TYPE numeric(14, 2) USING round(salary::numeric, 2);
+
+ALTER TABLE payroll
+    ALTER COLUMN basic_salary TYPE numeric(14, 2) USING round(basic_salary::numeric, 2),
+    ALTER COLUMN hra TYPE numeric(14, 2) USING round(hra::numeric, 2),
+    ALTER COLUMN transport_allowance TYPE numeric(14, 2) USING round(transport_allowance::numeric, 2),
+    ALTER COLUMN medical_allowance TYPE numeric(14, 2) USING round(medical_allowance::numeric, 2),
+    ALTER COLUMN other_allowances TYPE numeric(14, 2) USING round(other_allowances::numeric, 2),
+    ALTER COLUMN overtime_amount TYPE numeric(14, 2) USING round(overtime_amount::numeric, 2),
+    ALTER COLUMN bonus TYPE numeric(14, 2) USING round(bonus::numeric, 2),
+    ALTER COLUMN gross_salary TYPE numeric(14, 2) USING round(gross_salary::numeric, 2),
+    ALTER COLUMN provident_fund TYPE numeric(14, 2) USING round(provident_fund::numeric, 2),
+    ALTER COLUMN professional_tax TYPE numeric(14, 2) USING round(professional_tax::numeric, 2),
+    ALTER COLUMN income_tax TYPE numeric(14, 2) USING round(income_tax::numeric, 2),
+    ALTER COLUMN other_deductions TYPE numeric(14, 2) USING round(other_deductions::numeric, 2),
+    ALTER COLUMN total_deductions TYPE numeric(14, 2) USING round(total_deductions::numeric, 2),
+    ALTER COLUMN net_salary TYPE numeric(14, 2) USING round(net_salary::numeric, 2);
+
+ANALYZE employees;
+ANALYZE payroll;
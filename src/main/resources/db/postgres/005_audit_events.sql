@@ -0,0 +1,18 @@
+-- Append-only change history written by AuditTrail.
+--
+-- Run once against an existing database before deploying; new schemas get the table
+-- from the AuditEvent mapping. Rows are only ever inserted, so a BRIN index on
+-- changed_at stays tiny while serving time-range scans.
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type varchar(64) NOT NULL,
+    entity_id   bigint      NOT NULL,
+    action      varchar(16) NOT NULL,
+    changes     text        NOT NULL,
+    changed_by  varchar(255),
+    changed_at  timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_events_entity ON audit_events (entity_type, entity_id, changed_at);
+CREATE INDEX IF NOT EXISTS idx_audit_events_changed_at ON audit_events USING brin (changed_at);
@@ -0,0 +1,31 @@
+-- Notification mails written in the business transaction and sent by MailOutboxDispatcher.
+--
+-- Run once with psql against an existing database before deploying; new schemas get the
+-- table from the MailOutboxMessage mapping. As for 001_pooled_id_sequences.sql, pass
+-- -v allocation_size=<n> if workzen.id.allocation_size is not 50. The partial index
+-- only covers pending rows, which are all the dispatcher ever polls, so it stays small
+-- however many sent rows are kept.
+
+\if :{?allocation_size}
+\else
+    \set allocation_size 50
+\endif
+
+CREATE SEQUENCE IF NOT EXISTS mail_outbox_seq INCREMENT BY :allocation_size;
+
+CREATE TABLE IF NOT EXISTS mail_outbox (
+    id              bigint        PRIMARY KEY,
+    dedup_key       varchar(200)  NOT NULL,
+    recipient       varchar(255)  NOT NULL,
+    subject         varchar(255)  NOT NULL,
+    body            text          NOT NULL,
+    status          varchar(16)   NOT NULL,
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp(6)  NOT NULL,
+    sent_at         timestamp(6),
+    CONSTRAINT uk_mail_outbox_dedup_key UNIQUE (dedup_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_mail_outbox_due ON mail_outbox (next_attempt_at) WHERE status = 'PENDING';
@@ -0,0 +1,11 @@
+-- Attendance import checkpoints count the punches merged into another row of the same
+-- employee-day apart from the upserted rows, and record how much of the error file
+-- belongs to the committed lines.
+--
+-- Run once against an existing database before deploying. Rows of earlier imports keep
+-- rows_merged at 0 and error_file_size empty; a resumed import then appends to the
+-- error file as before.
+
+ALTER TABLE attendance_imports
+    ADD COLUMN IF NOT EXISTS rows_merged bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS error_file_size bigint;
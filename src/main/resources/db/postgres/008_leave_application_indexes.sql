@@ -0,0 +1,15 @@
+-- Index backing the leave overlap check.
+--
+-- LeaveApplicationRepository.existsOverlapping runs on every submission while the
+-- employee's row is locked; without this index it scans the whole leave_applications
+-- table, as Postgres does not index foreign key columns. The equality on employee_id
+-- and the range on start_date are index conditions, and end_date is checked from the
+-- index entry. The nightly roll-call's approved-leave EXISTS, correlated per employee,
+-- probes the same index.
+--
+-- CONCURRENTLY cannot run inside a transaction block; run with psql autocommit.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_applications_employee_dates
+    ON leave_applications (employee_id, start_date, end_date);
+
+ANALYZE leave_applications;
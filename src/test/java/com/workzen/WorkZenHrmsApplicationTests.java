@@ -1,10 +1,10 @@
-package com.odoo.odoo;
+package com.workzen;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
-class OdooApplicationTests {
+class WorkZenHrmsApplicationTests {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,158 @@
+package com.workzen.benchmark;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.repository.AttendanceRepository;
+import com.workzen.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a few million attendance rows and checks with EXPLAIN that the monthly and
+ * daily attendance queries are answered from the composite indexes instead of
+ * scanning an employee's whole history. The plans are for the SQL Hibernate generates
+ * for the repository methods, captured with a {@link StatementInspector} and explained
+ * with the same parameter values.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AttendanceQueryPlanBenchmark {
+    
+    private static final int EMPLOYEES = 5_000;
+    private static final int DAYS = 730;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private CapturedSql capturedSql;
+    
+    private Employee employee;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'PLAN-' || g, 'Plan', 'Employee ' || g,
+                       'plan' || g || '@workzen.test', '{noop}secret', 'ACTIVE', true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        jdbcTemplate.update("""
+                INSERT INTO attendance (id, employee_id, date, status, is_late, version)
+                SELECT nextval('attendance_seq'), e.id, CAST(? AS date) + d,
+                       CASE WHEN (e.id + d) % 10 = 0 THEN 'ABSENT' ELSE 'PRESENT' END, false, 0
+                FROM employees e CROSS JOIN generate_series(0, ? - 1) d
+                WHERE e.employee_id LIKE 'PLAN-%'
+                """, Date.valueOf(FIRST_DAY), DAYS);
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE attendance");
+        employee = employeeRepository.findByEmployeeId("PLAN-42").orElseThrow();
+    }
+    
+    @Test
+    void monthlyAttendanceUsesEmployeeDateIndexRange() {
+        String sql = capture(() -> attendanceRepository.findMonthlyAttendance(employee, MONTH));
+        List<String> plan = explain(sql, employee.getId(), Date.valueOf(MONTH.atDay(1)),
+                Date.valueOf(MONTH.plusMonths(1).atDay(1)));
+        
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan on attendance"));
+        assertThat(plan).anyMatch(line -> line.contains("Index Cond") && line.contains("date >="));
+    }
+    
+    @Test
+    void averageWorkHoursUsesEmployeeDateIndexRange() {
+        String sql = capture(() -> attendanceRepository.getMonthlyAverageWorkHours(employee, MONTH));
+        List<String> plan = explain(sql, employee.getId(), Date.valueOf(MONTH.atDay(1)),
+                Date.valueOf(MONTH.atEndOfMonth()));
+        
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan on attendance"));
+        assertThat(plan).anyMatch(line -> line.contains("Index Cond") && line.contains("date >="));
+    }
+    
+    @Test
+    void dailyAbsenteesUseDateStatusIndex() {
+        LocalDate day = MONTH.atDay(15);
+        String sql = capture(() -> attendanceRepository.findSheetByDateAndStatus(day, AttendanceStatus.ABSENT));
+        List<String> plan = explain(sql, Date.valueOf(day), AttendanceStatus.ABSENT.name());
+        
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan on attendance"));
+        assertThat(plan).anyMatch(line -> line.contains("idx_attendance_date_status"));
+    }
+    
+    // The one statement the repository call issued
+    private String capture(Runnable repositoryCall) {
+        capturedSql.clear();
+        repositoryCall.run();
+        List<String> statements = capturedSql.statements();
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+    
+    private List<String> explain(String sql, Object... parameters) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+        log.info("AttendanceQueryPlanBenchmark: {}{}{}", sql, System.lineSeparator(),
+                String.join(System.lineSeparator(), plan));
+        return plan;
+    }
+    
+    static class CapturedSql implements StatementInspector {
+        
+        private final List<String> statements = new ArrayList<>();
+        
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+        
+        synchronized List<String> statements() {
+            return List.copyOf(statements);
+        }
+        
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+    
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CapturedSqlConfiguration {
+        
+        @Bean
+        CapturedSql capturedSql() {
+            return new CapturedSql();
+        }
+        
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturedSql capturedSql) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedSql);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.workzen.benchmark;
+
+import com.workzen.service.AttendanceRollCallJob;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rolls call for 100k active employees, a tenth of them on approved leave, and checks
+ * that the set-based statements finish in seconds and that a second run writes nothing.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AttendanceRollCallBenchmark {
+    
+    private static final int EMPLOYEES = 100_000;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 18); // a Monday
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AttendanceRollCallJob rollCallJob;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'ROLL-' || g, 'Roll', 'Employee ' || g,
+                       'roll' || g || '@workzen.test', '{noop}secret',
+                       CASE WHEN g % 50 = 0 THEN 'TERMINATED' ELSE 'ACTIVE' END, true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        jdbcTemplate.update("""
+                INSERT INTO leave_applications (id, employee_id, leave_type, start_date, end_date, total_days,
+                                                status, is_half_day, version)
+                SELECT nextval('leave_applications_seq'), e.id, 'CASUAL_LEAVE', CAST(? AS date) - 1,
+                       CAST(? AS date) + 1, 3, 'APPROVED', false, 0
+                FROM employees e WHERE e.id % 10 = 0
+                """, Date.valueOf(DAY), Date.valueOf(DAY));
+        // Some employees punched in already
+        jdbcTemplate.update("""
+                INSERT INTO attendance (id, employee_id, date, status, is_late, version)
+                SELECT nextval('attendance_seq'), e.id, CAST(? AS date), 'PRESENT', false, 0
+                FROM employees e WHERE e.id % 10 = 1
+                """, Date.valueOf(DAY));
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE leave_applications");
+        jdbcTemplate.execute("ANALYZE attendance");
+    }
+    
+    @Test
+    void rollsCallInOneSetBasedPassAndIsIdempotent() {
+        long started = System.nanoTime();
+        int written = rollCallJob.rollCall(DAY);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("AttendanceRollCallBenchmark: roll-call for {} employees wrote {} rows in {} ms", EMPLOYEES,
+                written, millis);
+        
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM employees WHERE status = 'ACTIVE'", Integer.class);
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM attendance WHERE date = ?", Integer.class, Date.valueOf(DAY));
+        Integer onLeave = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM attendance WHERE date = ? AND status = 'ON_LEAVE'", Integer.class,
+                Date.valueOf(DAY));
+        assertThat(rows).isEqualTo(active);
+        assertThat(onLeave).isPositive();
+        assertThat(millis).isLessThan(10_000);
+        
+        assertThat(rollCallJob.rollCall(DAY)).isZero();
+    }
+}
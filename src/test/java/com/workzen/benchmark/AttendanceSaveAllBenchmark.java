@@ -0,0 +1,104 @@
+package com.workzen.benchmark;
+
+import com.workzen.entity.Attendance;
+import com.workzen.entity.Employee;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import com.workzen.enums.Role;
+import com.workzen.repository.AttendanceRepository;
+import com.workzen.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saves 100k {@link Attendance} rows through {@link AttendanceRepository#saveAll}.
+ * Compare the "before" numbers by running with
+ * {@code -Dspring.jpa.properties.hibernate.jdbc.batch_size=1}, which gives the same
+ * one-statement-per-row behaviour the old IDENTITY ids forced on us.
+ */
+@Slf4j
+@PostgresBenchmark
+class AttendanceSaveAllBenchmark {
+    
+    private static final int ROWS = 100_000;
+    private static final int EMPLOYEES = 1_000;
+    private static final int CHUNK_SIZE = 10_000;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private List<Employee> employees = List.of();
+    
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            attendanceRepository.deleteAllInBatch();
+            employeeRepository.deleteAllInBatch(employees);
+        });
+    }
+    
+    @Test
+    void saveAllHundredThousandAttendanceRows() {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        employees = transactionTemplate.execute(status -> employeeRepository.saveAll(seedEmployees(runId)));
+        
+        List<Attendance> rows = new ArrayList<>(ROWS);
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        for (int day = 0; rows.size() < ROWS; day++) {
+            for (Employee employee : employees) {
+                rows.add(Attendance.builder()
+                        .employee(employee)
+                        .date(firstDay.plusDays(day))
+                        .checkInTime(LocalTime.of(9, 0))
+                        .checkOutTime(LocalTime.of(18, 0))
+                        .status(AttendanceStatus.PRESENT)
+                        .workHours(9.0)
+                        .build());
+            }
+        }
+        
+        long started = System.nanoTime();
+        for (int from = 0; from < ROWS; from += CHUNK_SIZE) {
+            List<Attendance> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, ROWS));
+            transactionTemplate.executeWithoutResult(status -> attendanceRepository.saveAll(chunk));
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        log.info("AttendanceSaveAllBenchmark: {} rows in {} ms ({} rows/s)",
+                ROWS, elapsedMillis, ROWS * 1000L / Math.max(elapsedMillis, 1));
+        assertThat(attendanceRepository.count()).isGreaterThanOrEqualTo(ROWS);
+    }
+    
+    private List<Employee> seedEmployees(String runId) {
+        List<Employee> seeded = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            seeded.add(Employee.builder()
+                    .employeeId("BENCH-" + runId + "-" + i)
+                    .firstName("Bench")
+                    .lastName("Employee" + i)
+                    .email("bench" + i + "." + runId + "@workzen.test")
+                    .password("{noop}secret")
+                    .department(Department.values()[i % Department.values().length])
+                    .role(Role.JUNIOR_DEVELOPER)
+                    .build());
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,110 @@
+package com.workzen.benchmark;
+
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.service.AuditTrail;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Salary edits, one transaction each from concurrent virtual threads, with the audit
+ * trail on; reports commit latency percentiles. Run again with
+ * {@code -Dworkzen.audit.enabled=false} for the baseline the p99 is compared against.
+ * With auditing on, every edit must end up in {@code audit_events} without the
+ * committing threads ever having to write themselves.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuditTrailLatencyBenchmark {
+    
+    private static final int EMPLOYEES = 2_000;
+    private static final int EDITS = 20_000;
+    private static final int CONCURRENCY = 16;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectProvider<AuditTrail> auditTrail;
+    
+    private long[] employeeIds;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status, salary,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'AUDIT-' || g, 'Audit', 'Employee ' || g,
+                       'audit' || g || '@workzen.test', '{noop}secret', 'ACTIVE', 600000, true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees WHERE employee_id LIKE 'AUDIT-%'",
+                Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    @Test
+    void salaryEditsStayOffTheAuditWrite() throws Exception {
+        long[] latencies = new long[EDITS];
+        List<Future<?>> edits = new ArrayList<>(EDITS);
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY,
+                Thread.ofVirtual().name("salary-edit-", 0).factory())) {
+            for (int i = 0; i < EDITS; i++) {
+                int edit = i;
+                edits.add(workers.submit(() -> {
+                    long begun = System.nanoTime();
+                    transactionTemplate.executeWithoutResult(status -> employeeRepository
+                            .findById(employeeIds[edit % EMPLOYEES]).orElseThrow()
+                            .setSalary(BigDecimal.valueOf(600_000 + edit)));
+                    latencies[edit] = System.nanoTime() - begun;
+                }));
+            }
+            for (Future<?> edit : edits) {
+                edit.get();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        
+        Arrays.sort(latencies);
+        log.info("AuditTrailLatencyBenchmark (audit {}): {} edits in {} s, commit p50 {} ms, p99 {} ms, max {} ms",
+                auditTrail.getIfAvailable() == null ? "off" : "on", EDITS, "%.2f".formatted(seconds),
+                millis(latencies[EDITS / 2]), millis(latencies[EDITS * 99 / 100]), millis(latencies[EDITS - 1]));
+        
+        AuditTrail trail = auditTrail.getIfAvailable();
+        if (trail != null) {
+            trail.flush();
+            assertThat(trail.pending()).isZero();
+            assertThat(jdbcTemplate.queryForObject("""
+                    SELECT count(*) FROM audit_events
+                    WHERE entity_type = 'Employee' AND action = 'UPDATE' AND changes LIKE '%"salary"%'
+                    """, Integer.class)).isEqualTo(EDITS);
+        }
+    }
+    
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1e6);
+    }
+}
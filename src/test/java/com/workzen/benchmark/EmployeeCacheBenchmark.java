@@ -0,0 +1,98 @@
+package com.workzen.benchmark;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeated {@link Employee} lookups through the second-level and query cache: by natural
+ * id, by email, by department and status, and by initialising a lazy reference as the
+ * {@code Attendance}/{@code Payroll} joins do. Once warm, none of them may reach the
+ * database; reports latency per lookup and the hit ratio of each pass.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeCacheBenchmark {
+    
+    private static final int EMPLOYEES = 1_000;
+    private static final int LOOKUPS = 50_000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private long[] ids;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, department, status,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'CACHE-' || g, 'Cache', 'Employee ' || g,
+                       'cache' || g || '@workzen.test', '{noop}secret', 'FINANCE', 'ACTIVE', true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        ids = jdbcTemplate.queryForList("SELECT id FROM employees WHERE employee_id LIKE 'CACHE-%' ORDER BY id",
+                Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    @Test
+    void warmLookupsStayOutOfTheDatabase() {
+        measure("natural id", LOOKUPS, i -> employeeRepository.findByEmployeeId("CACHE-" + (i % EMPLOYEES + 1))
+                .orElseThrow());
+        measure("email", LOOKUPS, i -> employeeRepository.findByEmail("cache" + (i % EMPLOYEES + 1) + "@workzen.test")
+                .orElseThrow());
+        measure("reference", LOOKUPS, i -> employeeRepository.getReferenceById(ids[i % EMPLOYEES]).getFirstName());
+        // Each result assembles every employee of the department from the entity cache
+        measure("department", LOOKUPS / 100, i -> assertThat(employeeRepository.findByDepartment(Department.FINANCE))
+                .hasSizeGreaterThanOrEqualTo(EMPLOYEES));
+        measure("status", LOOKUPS / 100, i -> employeeRepository.findByStatus(EmployeeStatus.ACTIVE));
+    }
+    
+    private void measure(String name, int lookups, Consumer<Integer> lookup) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            int lookupIndex = i;
+            transactionTemplate.executeWithoutResult(status -> lookup.accept(lookupIndex));
+        }
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            int lookupIndex = i;
+            transactionTemplate.executeWithoutResult(status -> lookup.accept(lookupIndex));
+        }
+        long nanos = (System.nanoTime() - started) / lookups;
+        long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount()
+                + statistics.getNaturalIdCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount() + statistics.getQueryCacheMissCount()
+                + statistics.getNaturalIdCacheMissCount();
+        log.info("EmployeeCacheBenchmark: {} {} ns/lookup, hit ratio {}, {} statements", name, nanos,
+                "%.3f".formatted(hits / (double) Math.max(1, hits + misses)), statistics.getPrepareStatementCount());
+        assertThat(statistics.getPrepareStatementCount()).as(name).isZero();
+    }
+}
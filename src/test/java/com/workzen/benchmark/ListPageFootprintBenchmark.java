@@ -0,0 +1,110 @@
+package com.workzen.benchmark;
+
+import com.workzen.dto.EmployeeSummary;
+import com.workzen.entity.Employee;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import com.workzen.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads pages of a department list as entities and as {@link EmployeeSummary}
+ * projections and reports the bytes allocated per page. Run against an enhanced build
+ * ({@code mvn process-classes} applies the Hibernate enhancer), otherwise the lazy
+ * {@code @Lob} fields load eagerly and the entity check fails.
+ */
+@Slf4j
+@PostgresBenchmark
+class ListPageFootprintBenchmark {
+    
+    private static final int EMPLOYEES = 1_000;
+    private static final int PAGES = 200;
+    private static final Pageable PAGE = PageRequest.of(0, 50, Sort.by("lastName"));
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private List<Employee> employees = List.of();
+    
+    @BeforeEach
+    void seed() {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        String address = "Long address line with landmark and directions. ".repeat(80);
+        List<Employee> seeded = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            seeded.add(Employee.builder()
+                    .employeeId("PAGE-" + runId + "-" + i)
+                    .firstName("Page")
+                    .lastName("Employee" + i)
+                    .email("page" + i + "." + runId + "@workzen.test")
+                    .password("{noop}secret")
+                    .address(address)
+                    .department(Department.values()[0])
+                    .role(Role.JUNIOR_DEVELOPER)
+                    .build());
+        }
+        employees = transactionTemplate.execute(status -> employeeRepository.saveAll(seeded));
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAllInBatch(employees));
+    }
+    
+    @Test
+    void departmentPageFootprint() {
+        Department department = Department.values()[0];
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee first = employeeRepository.findByDepartmentAndStatus(department, EmployeeStatus.ACTIVE, PAGE)
+                    .getContent().get(0);
+            assertThat(Hibernate.isPropertyInitialized(first, "address")).isFalse();
+        });
+        
+        long entityBytes = bytesPerPage("entity page", () -> employeeRepository
+                .findByDepartmentAndStatus(department, EmployeeStatus.ACTIVE, PAGE));
+        long summaryBytes = bytesPerPage("summary projection page", () -> employeeRepository
+                .findSummariesByDepartmentAndStatus(department, EmployeeStatus.ACTIVE, PAGE));
+        
+        assertThat(summaryBytes).isLessThan(entityBytes);
+    }
+    
+    private long bytesPerPage(String name, Supplier<Page<?>> page) {
+        for (int i = 0; i < PAGES / 4; i++) {
+            transactionTemplate.execute(status -> page.get());
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < PAGES; i++) {
+            transactionTemplate.execute(status -> page.get());
+        }
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / PAGES;
+        log.info("ListPageFootprintBenchmark: {} {} us/page, {} bytes/page", name,
+                (System.nanoTime() - started) / PAGES / 1_000, bytes);
+        return bytes;
+    }
+}
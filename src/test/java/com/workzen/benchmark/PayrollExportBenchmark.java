@@ -0,0 +1,102 @@
+package com.workzen.benchmark;
+
+import com.workzen.service.PayrollExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Date;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a 100k-row payroll register as CSV and XLSX and reports the time and the heap
+ * in use afterwards. Heap must stay flat, i.e. not grow with the number of rows.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayrollExportBenchmark {
+    
+    private static final int EMPLOYEES = 100_000;
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PayrollExportService payrollExportService;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status, department,
+                                       bank_name, bank_account_number, ifsc_code,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'PAY-' || lpad(g::text, 6, '0'), 'Pay', 'Employee ' || g,
+                       'pay' || g || '@workzen.test', '{noop}secret', 'ACTIVE', 'FINANCE',
+                       'State Bank', '0000' || g, 'SBIN0001234', true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        jdbcTemplate.update("""
+                INSERT INTO payroll (id, employee_id, salary_month, basic_salary, hra, gross_salary,
+                                     provident_fund, total_deductions, net_salary, days_worked, days_on_leave,
+                                     is_processed, version)
+                SELECT nextval('payroll_seq'), e.id, ?, 40000, 16000, 60000, 4800, 7000, 53000, 21, 1, true, 0
+                FROM employees e WHERE e.employee_id LIKE 'PAY-%'
+                """, Date.valueOf(MONTH.atDay(1)));
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE payroll");
+    }
+    
+    @Test
+    void exportsRegisterInBoundedMemory() throws Exception {
+        long csvRows = measure("csv", output -> payrollExportService.writeCsv(MONTH, null, output));
+        long xlsxRows = measure("xlsx", output -> payrollExportService.writeXlsx(MONTH, null, output));
+        
+        assertThat(csvRows).isEqualTo(EMPLOYEES);
+        assertThat(xlsxRows).isEqualTo(EMPLOYEES);
+    }
+    
+    private long measure(String format, Export export) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long started = System.nanoTime();
+        CountingOutputStream output = new CountingOutputStream();
+        long rows = export.writeTo(output);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        long peakDuring = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        log.info("PayrollExportBenchmark: {} {} rows, {} KB in {} ms, heap delta {} MB", format, rows,
+                output.bytes / 1024, millis, peakDuring / (1024 * 1024));
+        return rows;
+    }
+    
+    @FunctionalInterface
+    private interface Export {
+        long writeTo(OutputStream output) throws Exception;
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private long bytes;
+        
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.workzen.benchmark;
+
+import com.workzen.entity.PayrollRun;
+import com.workzen.repository.PayrollRepository;
+import com.workzen.service.PayrollRunService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates payroll for 50k employees with increasing parallelism and prints the
+ * speed-up over a single worker. Keep the connection pool at least as large as the
+ * highest parallelism ({@code -Dspring.datasource.hikari.maximum-pool-size=16}).
+ */
+@Slf4j
+@PostgresBenchmark
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayrollRunScalingBenchmark {
+    
+    private static final int EMPLOYEES = 50_000;
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+    private static final int[] PARALLELISM = {1, 2, 4, 8};
+    
+    @Autowired
+    private PayrollRunService payrollRunService;
+    
+    @Autowired
+    private PayrollRepository payrollRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status, salary,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'PAY-' || g, 'Pay', 'Employee ' || g, 'pay' || g || '@workzen.test',
+                       '{noop}secret', 'ACTIVE', 300000 + (g % 50) * 40000, true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        jdbcTemplate.update("""
+                INSERT INTO attendance (id, employee_id, date, status, overtime_hours, is_late, version)
+                SELECT nextval('attendance_seq'), e.id, d,
+                       CASE WHEN (e.id + EXTRACT(DAY FROM d)) % 15 = 0 THEN 'ABSENT' ELSE 'PRESENT' END,
+                       (e.id % 3)::double precision, false, 0
+                FROM employees e
+                CROSS JOIN generate_series(CAST(? AS date), CAST(? AS date), interval '1 day') d
+                WHERE EXTRACT(ISODOW FROM d) < 6
+                """, Date.valueOf(MONTH.atDay(1)), Date.valueOf(MONTH.atEndOfMonth()));
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void runtimeScalesWithParallelism() {
+        Map<Integer, Long> millis = new LinkedHashMap<>();
+        for (int parallelism : PARALLELISM) {
+            jdbcTemplate.update("DELETE FROM payroll");
+            jdbcTemplate.update("DELETE FROM payroll_run_partitions");
+            jdbcTemplate.update("DELETE FROM payroll_runs");
+            
+            long started = System.nanoTime();
+            PayrollRun run = payrollRunService.run(MONTH, null, parallelism);
+            millis.put(parallelism, (System.nanoTime() - started) / 1_000_000);
+            
+            assertThat(run.getEmployeesProcessed()).isEqualTo(EMPLOYEES);
+            assertThat(payrollRepository.countBySalaryMonth(MONTH.atDay(1))).isEqualTo(EMPLOYEES);
+        }
+        
+        long baseline = millis.get(1);
+        millis.forEach((parallelism, elapsed) -> log.info(
+                "PayrollRunScalingBenchmark: parallelism {} -> {} ms, speed-up {}x",
+                parallelism, elapsed, "%.2f".formatted(baseline / (double) elapsed)));
+    }
+}
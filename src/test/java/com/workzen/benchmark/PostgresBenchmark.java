@@ -0,0 +1,24 @@
+package com.workzen.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a full-context benchmark that needs a real, disposable Postgres database: the
+ * schema is created and dropped around the run. Skipped unless the JVM is started with
+ * {@code -Dspring.datasource.url=jdbc:postgresql://...} (plus username/password), e.g.
+ * {@code mvn test -Dtest='*Benchmark' -Dspring.datasource.url=jdbc:postgresql://localhost/workzen_bench?reWriteBatchedInserts=true}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+public @interface PostgresBenchmark {
+}
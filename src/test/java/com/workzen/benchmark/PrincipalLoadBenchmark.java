@@ -0,0 +1,118 @@
+package com.workzen.benchmark;
+
+import com.workzen.entity.Employee;
+import com.workzen.enums.Role;
+import com.workzen.repository.EmployeeRepository;
+import com.workzen.security.WorkZenUserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-request principal lookup of loading the whole {@link Employee} by
+ * email (the old path) with the {@link com.workzen.security.EmployeePrincipal} projection,
+ * both uncached and from the principal cache. Reports mean latency and bytes allocated
+ * per lookup on the calling thread. The second-level cache is off so the entity path is
+ * measured as it was.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class PrincipalLoadBenchmark {
+    
+    private static final int EMPLOYEES = 200;
+    private static final int WARMUP = 2_000;
+    private static final int LOOKUPS = 20_000;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private WorkZenUserDetailsService userDetailsService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private List<Employee> employees = List.of();
+    
+    @BeforeEach
+    void seed() {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<Employee> seeded = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            seeded.add(Employee.builder()
+                    .employeeId("AUTH-" + runId + "-" + i)
+                    .firstName("Auth")
+                    .lastName("Employee" + i)
+                    .email("auth" + i + "." + runId + "@workzen.test")
+                    .password("{noop}secret")
+                    .address("Flat " + i + ", " + "Long address line ".repeat(20))
+                    .role(Role.JUNIOR_DEVELOPER)
+                    .build());
+        }
+        employees = transactionTemplate.execute(status -> employeeRepository.saveAll(seeded));
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAllInBatch(employees));
+    }
+    
+    @Test
+    void principalLookupLatencyAndAllocation() {
+        Result entity = measure("full Employee entity", email -> transactionTemplate.execute(status ->
+                employeeRepository.findByEmail(email).orElseThrow()));
+        Result projection = measure("principal projection", email -> {
+            userDetailsService.evict(email);
+            return userDetailsService.loadUserByUsername(email);
+        });
+        Result cached = measure("cached principal", userDetailsService::loadUserByUsername);
+        
+        assertThat(projection.bytesPerLookup()).isLessThan(entity.bytesPerLookup());
+        assertThat(cached.nanosPerLookup()).isLessThan(projection.nanosPerLookup());
+    }
+    
+    private Result measure(String name, Function<String, UserDetails> lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            authenticate(lookup.apply(employees.get(i % EMPLOYEES).getEmail()));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            authenticate(lookup.apply(employees.get(i % EMPLOYEES).getEmail()));
+        }
+        Result result = new Result((System.nanoTime() - started) / LOOKUPS,
+                (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / LOOKUPS);
+        log.info("PrincipalLoadBenchmark: {} {} ns/lookup, {} bytes/lookup", name,
+                result.nanosPerLookup(), result.bytesPerLookup());
+        return result;
+    }
+    
+    // What the authentication filter chain touches on every request
+    private static void authenticate(UserDetails user) {
+        if (!user.isEnabled() || user.getAuthorities().isEmpty() || user.getPassword() == null) {
+            throw new IllegalStateException("Unexpected principal " + user.getUsername());
+        }
+    }
+    
+    private record Result(long nanosPerLookup, long bytesPerLookup) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.workzen.benchmark;
+
+import com.workzen.dto.Punch;
+import com.workzen.service.AttendancePunchBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offers punches to the write-behind buffer at 5,000 per second for ten seconds, each on
+ * its own virtual thread like concurrent requests, and reports the sustained rate and the
+ * acknowledgement latency. Afterwards every employee-day must be in {@code attendance}
+ * with its earliest check-in and latest check-out.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestPropertySource(properties = {
+        "workzen.attendance.punch-buffer.enabled=true",
+        "workzen.attendance.punch-buffer.log-directory=target/punch-log-benchmark"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PunchBufferThroughputBenchmark {
+    
+    private static final int EMPLOYEES = 5_000;
+    private static final int PUNCHES_PER_SECOND = 5_000;
+    private static final int SECONDS = 10;
+    private static final int CHECK_IN_ROUNDS = 8;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 18);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AttendancePunchBuffer punchBuffer;
+    
+    private long[] employeeIds;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, employee_id, first_name, last_name, email, password, status,
+                                       is_account_non_expired, is_account_non_locked,
+                                       is_credentials_non_expired, is_enabled, version)
+                SELECT nextval('employees_seq'), 'PUNCH-' || g, 'Punch', 'Employee ' || g,
+                       'punch' || g || '@workzen.test', '{noop}secret', 'ACTIVE', true, true, true, true, 0
+                FROM generate_series(1, ?) g
+                """, EMPLOYEES);
+        employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees WHERE employee_id LIKE 'PUNCH-%'",
+                Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    @Test
+    void sustainsMorningBurst() throws Exception {
+        int total = PUNCHES_PER_SECOND * SECONDS;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / PUNCHES_PER_SECOND;
+        long[] latencies = new long[total];
+        List<Future<?>> acks = new ArrayList<>(total);
+        
+        long started = System.nanoTime();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long due = started + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Punch punch = punch(i);
+                int slot = i;
+                acks.add(requests.submit(() -> {
+                    long offered = System.nanoTime();
+                    punchBuffer.record(punch);
+                    latencies[slot] = System.nanoTime() - offered;
+                }));
+            }
+            for (Future<?> ack : acks) {
+                ack.get();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        punchBuffer.flush();
+        
+        Arrays.sort(latencies);
+        double rate = total / seconds;
+        log.info("PunchBufferThroughputBenchmark: {} punches in {} s = {}/s, ack p50 {} ms, p99 {} ms, max {} ms",
+                total, "%.2f".formatted(seconds), Math.round(rate), millis(latencies[total / 2]),
+                millis(latencies[total * 99 / 100]), millis(latencies[total - 1]));
+        
+        assertThat(rate).isGreaterThan(PUNCHES_PER_SECOND * 0.95);
+        assertThat(punchBuffer.pendingDays()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM attendance WHERE date = ?", Integer.class,
+                Date.valueOf(DAY))).isEqualTo(EMPLOYEES);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM attendance
+                WHERE date = ? AND check_in_time = TIME '08:55' AND check_out_time IS NOT NULL
+                """, Integer.class, Date.valueOf(DAY))).isEqualTo(EMPLOYEES);
+    }
+    
+    // Every employee taps in several times between 08:55 and 09:10, then taps out
+    private Punch punch(int i) {
+        int round = i / EMPLOYEES;
+        long employeeId = employeeIds[i % EMPLOYEES];
+        if (round < CHECK_IN_ROUNDS) {
+            return new Punch(employeeId, DAY, LocalTime.of(8, 55).plusMinutes(round * 2L), Punch.Kind.CHECK_IN,
+                    "HQ");
+        }
+        return new Punch(employeeId, DAY, LocalTime.of(18, 0).plusMinutes(round), Punch.Kind.CHECK_OUT, "HQ");
+    }
+    
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1e6);
+    }
+}
@@ -0,0 +1,119 @@
+package com.workzen.benchmark;
+
+import com.workzen.WorkZenHrmsApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time from {@code SpringApplication.run} to {@link ApplicationReadyEvent} with the
+ * default configuration and with the {@code fast-startup} profile (lazy bean init,
+ * deferred repositories, no JDBC metadata lookup), plus where the time went according to
+ * the {@link BufferingApplicationStartup} steps: the slowest step kinds and the slowest
+ * bean instantiations. Both times include nested steps.
+ *
+ * <p>Runs in one JVM, so classes are already loaded after the warm-up run; AOT and the
+ * class-data sharing archive of the {@code fast-startup} Maven profile mostly save class
+ * loading and are measured by starting the packaged jar, e.g. with
+ * {@code -Dworkzen.startup.record-steps=true} and {@code /actuator/startup}.
+ * Needs a disposable Postgres database, like {@link PostgresBenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+class StartupBenchmark {
+    
+    private static final int RUNS = 5;
+    private static final int TOP_STEPS = 10;
+    
+    @Test
+    void fastStartupProfileIsReadySooner() {
+        start(null);
+        List<Startup> standard = new ArrayList<>(RUNS);
+        List<Startup> fast = new ArrayList<>(RUNS);
+        // Alternate the modes so neither benefits from running second
+        for (int i = 0; i < RUNS; i++) {
+            standard.add(start(null));
+            fast.add(start("fast-startup"));
+        }
+        Startup standardMedian = median(standard);
+        Startup fastMedian = median(fast);
+        report("default", standardMedian);
+        report("fast-startup", fastMedian);
+        
+        assertThat(fastMedian.timeToReady()).isLessThan(standardMedian.timeToReady());
+    }
+    
+    private Startup start(String profile) {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(20_000);
+        AtomicReference<Duration> timeToReady = new AtomicReference<>();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(WorkZenHrmsApplication.class)
+                .applicationStartup(applicationStartup)
+                .properties("server.port=0", "spring.jpa.hibernate.ddl-auto=create-drop")
+                .listeners((ApplicationListener<ApplicationReadyEvent>) event -> timeToReady.set(event.getTimeTaken()));
+        if (profile != null) {
+            builder.profiles(profile);
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            return new Startup(timeToReady.get(), context.getBeanDefinitionCount(),
+                    applicationStartup.getBufferedTimeline().getEvents());
+        }
+    }
+    
+    private static Startup median(List<Startup> runs) {
+        List<Startup> sorted = new ArrayList<>(runs);
+        sorted.sort(Comparator.comparing(Startup::timeToReady));
+        return sorted.get(sorted.size() / 2);
+    }
+    
+    private static void report(String mode, Startup startup) {
+        log.info("StartupBenchmark {}: ready in {} ms, {} bean definitions, {} steps", mode,
+                startup.timeToReady().toMillis(), startup.beanDefinitions(), startup.steps().size());
+        
+        Map<String, Duration> byStep = new HashMap<>();
+        Map<String, Duration> byBean = new HashMap<>();
+        for (TimelineEvent event : startup.steps()) {
+            StartupStep step = event.getStartupStep();
+            byStep.merge(step.getName(), event.getDuration(), Duration::plus);
+            if ("spring.beans.instantiate".equals(step.getName())) {
+                StreamSupport.stream(step.getTags().spliterator(), false)
+                        .filter(tag -> "beanName".equals(tag.getKey()))
+                        .findFirst()
+                        .ifPresent(tag -> byBean.merge(tag.getValue(), event.getDuration(), Duration::plus));
+            }
+        }
+        log.info("StartupBenchmark {}: slowest steps{}", mode, top(byStep));
+        log.info("StartupBenchmark {}: slowest beans{}", mode, top(byBean));
+    }
+    
+    private static String top(Map<String, Duration> durations) {
+        return durations.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .limit(TOP_STEPS)
+                .map(entry -> "%n  %6d ms  %s".formatted(entry.getValue().toMillis(), entry.getKey()))
+                .collect(Collectors.joining());
+    }
+    
+    private record Startup(Duration timeToReady, int beanDefinitions, List<TimelineEvent> steps) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.workzen.benchmark;
+
+import com.workzen.config.DatabaseConcurrencyProperties;
+import com.workzen.jdbc.ConcurrencyLimitingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of simulated requests, each waiting on a slow downstream call and then running
+ * one short transaction, against a 10-connection pool. Compares the default mode (200
+ * platform threads, Tomcat's default maximum) with virtual threads behind the adaptive
+ * {@link ConcurrencyLimitingDataSource}; reports throughput, latency from arrival to
+ * completion and failures. The thread pools stand in for Tomcat's request threads, which
+ * {@code spring.threads.virtual.enabled} switches the same way.
+ */
+@Slf4j
+@PostgresBenchmark
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=10")
+class VirtualThreadLoadBenchmark {
+    
+    private static final int REQUESTS = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration DOWNSTREAM_CALL = Duration.ofMillis(100);
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Test
+    void virtualThreadsWithLimiterOutperformThreadPool() throws Exception {
+        Result platform = run("platform threads", Executors.newFixedThreadPool(PLATFORM_THREADS), dataSource);
+        
+        DatabaseConcurrencyProperties limits = new DatabaseConcurrencyProperties();
+        limits.setMaxLimit(12);
+        limits.setMaxQueued(REQUESTS);
+        limits.setMaxQueueWait(Duration.ofSeconds(30));
+        ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(dataSource, limits);
+        Result virtual = run("virtual threads", Executors.newVirtualThreadPerTaskExecutor(), limited);
+        log.info("VirtualThreadLoadBenchmark: limit settled at {}, {} requests shed",
+                limited.getLimit(), limited.getRejected());
+        
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+        assertThat(virtual.requestsPerSecond()).isGreaterThan(platform.requestsPerSecond());
+    }
+    
+    private Result run(String mode, ExecutorService executor, DataSource requestDataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(requestDataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(requestDataSource));
+        AtomicInteger failures = new AtomicInteger();
+        long[] latencies = new long[REQUESTS];
+        List<Future<?>> requests = new ArrayList<>(REQUESTS);
+        long started = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                requests.add(executor.submit(() -> {
+                    try {
+                        Thread.sleep(DOWNSTREAM_CALL);
+                        transactionTemplate.executeWithoutResult(status -> {
+                            jdbcTemplate.queryForObject("SELECT pg_sleep(0.002) IS NULL", Boolean.class);
+                            jdbcTemplate.queryForObject("SELECT count(*) FROM employees", Long.class);
+                        });
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[request] = System.nanoTime() - started;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        Result result = new Result(REQUESTS * 1e9 / elapsed, failures.get());
+        log.info("VirtualThreadLoadBenchmark: {} {} req/s, p50 {} ms, p99 {} ms, {} failed", mode,
+                Math.round(result.requestsPerSecond()), latencies[REQUESTS / 2] / 1_000_000,
+                latencies[REQUESTS * 99 / 100] / 1_000_000, result.failures());
+        return result;
+    }
+    
+    private record Result(double requestsPerSecond, int failures) {
+    }
+}
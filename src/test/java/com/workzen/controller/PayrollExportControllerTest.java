@@ -0,0 +1,62 @@
+package com.workzen.controller;
+
+import com.workzen.monitoring.StatementBudget;
+import com.workzen.service.PayrollExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The register carries bank details and salaries, so only admin, HR and finance roles
+ * may download it.
+ */
+@WebMvcTest(PayrollExportController.class)
+class PayrollExportControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockitoBean
+    private PayrollExportService payrollExportService;
+    
+    @MockitoBean
+    private StatementBudget statementBudget;
+    
+    @Test
+    @WithMockUser(roles = "PAYROLL_SPECIALIST")
+    void financeMayExport() throws Exception {
+        var result = mockMvc.perform(get("/api/payroll/register").param("month", "2024-03"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"payroll-register-2024-03.csv\""));
+    }
+    
+    @Test
+    @WithMockUser(roles = "SENIOR_DEVELOPER")
+    void otherRolesAreForbidden() throws Exception {
+        mockMvc.perform(get("/api/payroll/register").param("month", "2024-03"))
+                .andExpect(status().isForbidden());
+        
+        verifyNoInteractions(payrollExportService);
+    }
+    
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void recruitersAreForbidden() throws Exception {
+        mockMvc.perform(get("/api/payroll/register").param("month", "2024-03"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,93 @@
+package com.workzen.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The allocation size in {@value PooledSequenceGenerator#ALLOCATION_SIZE_SETTING} has to
+ * match the {@code INCREMENT BY} of the existing sequences, otherwise two nodes hand out
+ * overlapping id blocks. A mismatch must stop the session factory from starting.
+ */
+class PooledSequenceGeneratorTest {
+    
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    
+    @Test
+    void idsComeFromThePooledSequence() throws SQLException {
+        String url = createDatabase(50);
+        try (SessionFactory sessionFactory = buildSessionFactory(url, 50)) {
+            List<Long> ids = sessionFactory.fromTransaction(session -> List.of(
+                    persist(session, 1), persist(session, 2)));
+            
+            assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        }
+    }
+    
+    @Test
+    void failsToStartWhenTheSequenceIncrementDiffers() throws SQLException {
+        String url = createDatabase(1);
+        
+        assertThatThrownBy(() -> buildSessionFactory(url, 50).close())
+                .isInstanceOf(MappingException.class)
+                .hasMessageContaining("employees_seq");
+    }
+    
+    private static String createDatabase(int increment) throws SQLException {
+        String url = "jdbc:h2:mem:pooled-sequence-%d;DB_CLOSE_DELAY=-1".formatted(DATABASES.incrementAndGet());
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE employees_seq START WITH 1 INCREMENT BY " + increment);
+        }
+        return url;
+    }
+    
+    private static SessionFactory buildSessionFactory(String url, int allocationSize) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "update")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, new SpringImplicitNamingStrategy())
+                .applySetting(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize)
+                .build();
+        try {
+            return new MetadataSources(registry)
+                    .addAnnotatedClass(Employee.class)
+                    .buildMetadata()
+                    .buildSessionFactory();
+        } catch (RuntimeException e) {
+            StandardServiceRegistryBuilder.destroy(registry);
+            throw e;
+        }
+    }
+    
+    private static Long persist(Session session, int i) {
+        Employee employee = Employee.builder()
+                .employeeId("SEQ-%02d".formatted(i))
+                .firstName("Sequence")
+                .lastName("%02d".formatted(i))
+                .email("seq%d@workzen.test".formatted(i))
+                .password("{noop}secret")
+                .build();
+        session.persist(employee);
+        return employee.getId();
+    }
+}
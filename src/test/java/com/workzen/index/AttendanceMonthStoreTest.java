@@ -0,0 +1,106 @@
+package com.workzen.index;
+
+import com.workzen.dto.DepartmentAttendance;
+import com.workzen.dto.MonthlyAttendance;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendanceMonthStoreTest {
+    
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+    
+    private final AttendanceMonthStore store = new AttendanceMonthStore();
+    
+    @BeforeEach
+    void setUp() {
+        AttendanceMonthStore.Loader loader = store.loader(YearMonth.of(2024, 1), 3);
+        loader.department(1L, Department.INFORMATION_TECHNOLOGY);
+        loader.department(2L, Department.INFORMATION_TECHNOLOGY);
+        loader.department(3L, Department.SALES);
+        for (int day = 1; day <= 31; day++) {
+            loader.day(1L, MARCH.atDay(day), AttendanceStatus.PRESENT, 9.5, 1.5);
+        }
+        loader.day(2L, MARCH.atDay(4), AttendanceStatus.ABSENT, null, null);
+        loader.day(2L, MARCH.atDay(5), AttendanceStatus.HALF_DAY, 3.25, 0.0);
+        loader.day(2L, MARCH.atDay(6), AttendanceStatus.ON_LEAVE, null, null);
+        loader.day(3L, MARCH.atDay(4), AttendanceStatus.LATE, 8.0, 0.0);
+        loader.publish();
+    }
+    
+    @Test
+    void summarizesEmployeeMonth() {
+        assertThat(store.monthly(1L, MARCH)).isEqualTo(new MonthlyAttendance(31, 0, 0, 0, 46.5));
+        assertThat(store.monthly(2L, MARCH)).isEqualTo(new MonthlyAttendance(1, 1, 1, 1, 0));
+        assertThat(store.monthly(4L, MARCH)).isEqualTo(MonthlyAttendance.NONE);
+        assertThat(store.days(2L, MARCH)[3]).isEqualTo(AttendanceStatus.ABSENT);
+        assertThat(store.days(2L, MARCH)[0]).isNull();
+        assertThat(store.days(1L, MARCH)[30]).isEqualTo(AttendanceStatus.PRESENT);
+    }
+    
+    @Test
+    void aggregatesDepartmentByDay() {
+        DepartmentAttendance it = store.department(Department.INFORMATION_TECHNOLOGY, MARCH);
+        
+        assertThat(it.employees()).isEqualTo(2);
+        assertThat(it.count(AttendanceStatus.PRESENT, 4)).isEqualTo(1);
+        assertThat(it.count(AttendanceStatus.ABSENT, 4)).isEqualTo(1);
+        assertThat(it.total(AttendanceStatus.PRESENT)).isEqualTo(31);
+        assertThat(it.workHours()).isEqualTo(31 * 9.5 + 3.25);
+        assertThat(store.department(Department.SALES, MARCH).count(AttendanceStatus.LATE, 4)).isEqualTo(1);
+    }
+    
+    @Test
+    void followsWritesAndSlidesTheWindow() {
+        store.put(2L, LocalDate.of(2024, 3, 4), AttendanceStatus.PRESENT, 8.0, 0.0);
+        store.put(5L, LocalDate.of(2024, 3, 4), AttendanceStatus.PRESENT, 8.0, 0.0);
+        assertThat(store.monthly(2L, MARCH).daysAbsent()).isZero();
+        assertThat(store.monthly(5L, MARCH).daysWorked()).isEqualTo(1);
+        
+        assertThat(store.covers(MARCH)).isTrue();
+        assertThat(store.covers(YearMonth.of(2023, 12))).isFalse();
+        
+        store.put(1L, LocalDate.of(2024, 4, 1), AttendanceStatus.PRESENT, 8.0, 0.0);
+        store.put(1L, LocalDate.of(2024, 5, 1), AttendanceStatus.PRESENT, 8.0, 0.0);
+        store.put(1L, LocalDate.of(2024, 6, 1), AttendanceStatus.PRESENT, 8.0, 0.0);
+        assertThat(store.covers(MARCH)).isFalse();
+        assertThat(store.covers(YearMonth.of(2024, 6))).isTrue();
+    }
+    
+    @Test
+    void keepsWritesThatArriveDuringARebuild() {
+        AttendanceMonthStore.Loader loader = store.loader(YearMonth.of(2024, 1), 3);
+        loader.department(3L, Department.SALES);
+        loader.day(3L, MARCH.atDay(4), AttendanceStatus.LATE, 8.0, 0.0);
+        // Committed after the load read employee 3's rows
+        store.put(3L, MARCH.atDay(5), AttendanceStatus.PRESENT, 8.0, 0.0);
+        store.setDepartment(3L, Department.MARKETING);
+        assertThat(store.monthly(3L, MARCH).daysWorked()).isEqualTo(2);
+        
+        assertThatThrownBy(() -> store.loader(YearMonth.of(2024, 1), 3)).isInstanceOf(IllegalStateException.class);
+        loader.publish();
+        
+        assertThat(store.monthly(3L, MARCH).daysWorked()).isEqualTo(2);
+        assertThat(store.department(Department.MARKETING, MARCH).employees()).isEqualTo(1);
+        assertThat(store.department(Department.SALES, MARCH).employees()).isZero();
+        assertThat(store.monthly(1L, MARCH)).isEqualTo(MonthlyAttendance.NONE);
+    }
+    
+    @Test
+    void discardedLoadLeavesTheStoreAsItWas() {
+        AttendanceMonthStore.Loader loader = store.loader(YearMonth.of(2024, 1), 3);
+        loader.day(1L, MARCH.atDay(1), AttendanceStatus.ABSENT, null, null);
+        loader.discard();
+        
+        assertThat(store.monthly(1L, MARCH).daysWorked()).isEqualTo(31);
+        store.loader(YearMonth.of(2024, 1), 3).publish();
+        assertThat(store.monthly(1L, MARCH)).isEqualTo(MonthlyAttendance.NONE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.workzen.index;
+
+import com.workzen.dto.EmployeeSearchDocument;
+import com.workzen.dto.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeSearchIndexTest {
+    
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+    
+    @BeforeEach
+    void setUp() {
+        index.rebuild(() -> List.of(
+                new EmployeeSearchDocument(1L, "John", "Smith", "john.smith@workzen.com", "EMP-001"),
+                new EmployeeSearchDocument(2L, "Johanna", "Meyer", "johanna.meyer@workzen.com", "EMP-002"),
+                new EmployeeSearchDocument(3L, "Priya", "Sharma", "priya.sharma@workzen.com", "EMP-003"),
+                new EmployeeSearchDocument(4L, "Jonathan", "Reed", "j.reed@workzen.com", "EMP-004")));
+    }
+    
+    @Test
+    void prefixMatchesRankExactFieldFirst() {
+        SearchHits hits = index.search("john", 0, 10);
+        
+        assertThat(hits.ids()).startsWith(1L);
+        assertThat(hits.ids()).doesNotContain(3L);
+    }
+    
+    @Test
+    void shortPrefixMatchesEveryNameStartingWithIt() {
+        assertThat(index.search("jo", 0, 10).ids()).contains(1L, 2L, 4L).doesNotContain(3L);
+    }
+    
+    @Test
+    void toleratesTypoInLongerWords() {
+        assertThat(index.search("sharna", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("jonathon", 0, 10).ids()).startsWith(4L);
+    }
+    
+    @Test
+    void matchesEmployeeCodeAndEmail() {
+        assertThat(index.search("emp-003", 0, 10).ids()).startsWith(3L);
+        assertThat(index.search("johanna.meyer", 0, 10).ids()).startsWith(2L);
+    }
+    
+    @Test
+    void pagesThroughRankedMatches() {
+        SearchHits firstPage = index.search("workzen", 0, 3);
+        SearchHits secondPage = index.search("workzen", 3, 3);
+        
+        assertThat(firstPage.totalMatches()).isEqualTo(4);
+        assertThat(firstPage.ids()).hasSize(3);
+        assertThat(secondPage.ids()).hasSize(1);
+    }
+    
+    @Test
+    void appliesUpdatesAndRemovals() {
+        index.upsert(new EmployeeSearchDocument(3L, "Priya", "Kapoor", "priya.kapoor@workzen.com", "EMP-003"));
+        index.remove(1L);
+        
+        assertThat(index.search("sharma", 0, 10).ids()).isEmpty();
+        assertThat(index.search("kapoor", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("smith", 0, 10).ids()).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+    
+    @Test
+    void keepsUpdatesThatArriveDuringARebuild() {
+        index.rebuild(() -> {
+            // Committed after the snapshot below was read
+            index.upsert(new EmployeeSearchDocument(5L, "Mei", "Tanaka", "mei.tanaka@workzen.com", "EMP-005"));
+            index.remove(2L);
+            assertThatThrownBy(() -> index.rebuild(List::of)).isInstanceOf(IllegalStateException.class);
+            return List.of(
+                    new EmployeeSearchDocument(1L, "John", "Smith", "john.smith@workzen.com", "EMP-001"),
+                    new EmployeeSearchDocument(2L, "Johanna", "Meyer", "johanna.meyer@workzen.com", "EMP-002"));
+        });
+        
+        assertThat(index.search("tanaka", 0, 10).ids()).containsExactly(5L);
+        assertThat(index.search("meyer", 0, 10).ids()).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void failedRebuildLeavesTheIndexAsItWas() {
+        assertThatThrownBy(() -> index.rebuild(() -> {
+            throw new IllegalStateException("database unavailable");
+        })).hasMessage("database unavailable");
+        
+        assertThat(index.search("priya", 0, 10).ids()).containsExactly(3L);
+        index.rebuild(List::of);
+        assertThat(index.size()).isZero();
+    }
+}
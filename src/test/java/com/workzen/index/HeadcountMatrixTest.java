@@ -0,0 +1,95 @@
+package com.workzen.index;
+
+import com.workzen.dto.HeadcountGroup;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import com.workzen.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeadcountMatrixTest {
+    
+    private final HeadcountMatrix headcount = new HeadcountMatrix();
+    
+    @BeforeEach
+    void setUp() {
+        headcount.rebuild(() -> List.of(
+                new HeadcountGroup(Department.FINANCE, EmployeeStatus.ACTIVE, Role.ACCOUNTANT, 5L),
+                new HeadcountGroup(Department.FINANCE, EmployeeStatus.ON_LEAVE, Role.ACCOUNTANT, 1L),
+                new HeadcountGroup(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT, 2L),
+                new HeadcountGroup(null, EmployeeStatus.ACTIVE, null, 3L)));
+    }
+    
+    @Test
+    void aggregatesAlongEachDimension() {
+        assertThat(headcount.total()).isEqualTo(11);
+        assertThat(headcount.countByDepartment(Department.FINANCE)).isEqualTo(6);
+        assertThat(headcount.countByDepartment(null)).isEqualTo(3);
+        assertThat(headcount.countByStatus(EmployeeStatus.ACTIVE)).isEqualTo(10);
+        assertThat(headcount.countByRole(Role.ACCOUNTANT)).isEqualTo(6);
+        assertThat(headcount.countByRole(null)).isEqualTo(3);
+        assertThat(headcount.count(Department.FINANCE, EmployeeStatus.ACTIVE)).isEqualTo(5);
+        assertThat(headcount.departmentStatusGrid().get(Department.LEGAL))
+                .containsEntry(EmployeeStatus.ACTIVE, 2)
+                .containsEntry(EmployeeStatus.RETIRED, 0);
+    }
+    
+    @Test
+    void movesEmployeesBetweenCells() {
+        headcount.remove(Department.FINANCE, EmployeeStatus.ACTIVE, Role.ACCOUNTANT);
+        headcount.add(Department.FINANCE, EmployeeStatus.RESIGNED, Role.ACCOUNTANT);
+        
+        assertThat(headcount.countByDepartment(Department.FINANCE)).isEqualTo(6);
+        assertThat(headcount.countByStatus(EmployeeStatus.RESIGNED)).isEqualTo(1);
+        assertThat(headcount.count(Department.FINANCE, EmployeeStatus.ACTIVE)).isEqualTo(4);
+    }
+    
+    @Test
+    void reportsDriftOnReconcile() {
+        headcount.add(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT);
+        
+        long drift = headcount.rebuild(() -> List.of(
+                new HeadcountGroup(Department.FINANCE, EmployeeStatus.ACTIVE, Role.ACCOUNTANT, 5L),
+                new HeadcountGroup(Department.FINANCE, EmployeeStatus.ON_LEAVE, Role.ACCOUNTANT, 1L),
+                new HeadcountGroup(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT, 2L),
+                new HeadcountGroup(null, EmployeeStatus.ACTIVE, null, 3L)));
+        
+        assertThat(drift).isEqualTo(1);
+        assertThat(headcount.total()).isEqualTo(11);
+    }
+    
+    @Test
+    void keepsChangesThatArriveDuringARebuild() {
+        long drift = headcount.rebuild(() -> {
+            // Committed after the grouped query read its rows
+            headcount.add(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT);
+            headcount.remove(Department.FINANCE, EmployeeStatus.ON_LEAVE, Role.ACCOUNTANT);
+            return List.of(
+                    new HeadcountGroup(Department.FINANCE, EmployeeStatus.ACTIVE, Role.ACCOUNTANT, 5L),
+                    new HeadcountGroup(Department.FINANCE, EmployeeStatus.ON_LEAVE, Role.ACCOUNTANT, 1L),
+                    new HeadcountGroup(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT, 2L),
+                    new HeadcountGroup(null, EmployeeStatus.ACTIVE, null, 3L));
+        });
+        
+        assertThat(drift).isZero();
+        assertThat(headcount.count(Department.LEGAL, EmployeeStatus.ACTIVE)).isEqualTo(3);
+        assertThat(headcount.count(Department.FINANCE, EmployeeStatus.ON_LEAVE)).isZero();
+        assertThat(headcount.total()).isEqualTo(11);
+    }
+    
+    @Test
+    void failedRebuildLeavesTheCountsAsTheyWere() {
+        assertThatThrownBy(() -> headcount.rebuild(() -> {
+            throw new IllegalStateException("database unavailable");
+        })).hasMessage("database unavailable");
+        headcount.add(Department.LEGAL, EmployeeStatus.ACTIVE, Role.CONSULTANT);
+        
+        assertThat(headcount.total()).isEqualTo(12);
+        assertThat(headcount.rebuild(List::of)).isEqualTo(12);
+    }
+}
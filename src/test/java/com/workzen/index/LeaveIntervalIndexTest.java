@@ -0,0 +1,75 @@
+package com.workzen.index;
+
+import com.workzen.dto.LeaveInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeaveIntervalIndexTest {
+    
+    private final LeaveIntervalIndex index = new LeaveIntervalIndex();
+    
+    @BeforeEach
+    void setUp() {
+        index.rebuild(() -> List.of(
+                new LeaveInterval(10L, 1L, day(3, 10), day(3, 14)),
+                new LeaveInterval(11L, 1L, day(1, 2), day(1, 31)),
+                new LeaveInterval(12L, 1L, day(6, 1), day(6, 1)),
+                new LeaveInterval(20L, 2L, day(3, 10), day(3, 14))));
+    }
+    
+    @Test
+    void detectsOverlapWithInclusiveDates() {
+        assertThat(index.overlaps(1L, day(3, 14), day(3, 20))).isTrue();
+        assertThat(index.overlaps(1L, day(3, 1), day(3, 10))).isTrue();
+        assertThat(index.overlaps(1L, day(3, 11), day(3, 12))).isTrue();
+        assertThat(index.overlaps(1L, day(2, 1), day(3, 9))).isFalse();
+        assertThat(index.overlaps(1L, day(3, 15), day(5, 31))).isFalse();
+        assertThat(index.overlaps(3L, day(3, 10), day(3, 14))).isFalse();
+    }
+    
+    @Test
+    void findsOverlapBehindAShorterLaterInterval() {
+        // 13 starts after 11 but ends before it; 11 must still be seen through the running max
+        index.put(13L, 1L, day(1, 5), day(1, 6));
+        assertThat(index.overlaps(1L, day(1, 20), day(1, 25))).isTrue();
+    }
+    
+    @Test
+    void reserveRejectsOverlapAndRemoveReleasesDays() {
+        assertThat(index.reserve(14L, 1L, day(6, 1), day(6, 3))).isFalse();
+        assertThat(index.reserve(14L, 1L, day(6, 2), day(6, 3))).isTrue();
+        
+        index.remove(12L, 1L);
+        assertThat(index.overlaps(1L, day(6, 1), day(6, 1))).isFalse();
+        assertThat(index.overlaps(1L, day(6, 3), day(6, 3))).isTrue();
+        assertThat(index.size()).isEqualTo(4);
+    }
+    
+    @Test
+    void keepsReservationsThatArriveDuringARebuild() {
+        index.rebuild(() -> {
+            // Committed after the snapshot below was read
+            assertThat(index.reserve(30L, 3L, day(4, 1), day(4, 5))).isTrue();
+            index.remove(10L, 1L);
+            assertThatThrownBy(() -> index.rebuild(List::of)).isInstanceOf(IllegalStateException.class);
+            return List.of(
+                    new LeaveInterval(10L, 1L, day(3, 10), day(3, 14)),
+                    new LeaveInterval(20L, 2L, day(3, 10), day(3, 14)));
+        });
+        
+        assertThat(index.overlaps(3L, day(4, 5), day(4, 6))).isTrue();
+        assertThat(index.overlaps(1L, day(3, 10), day(3, 14))).isFalse();
+        assertThat(index.reserve(31L, 3L, day(4, 2), day(4, 2))).isFalse();
+        assertThat(index.size()).isEqualTo(2);
+    }
+    
+    private static LocalDate day(int month, int day) {
+        return LocalDate.of(2025, month, day);
+    }
+}
@@ -0,0 +1,100 @@
+package com.workzen.index;
+
+import com.workzen.dto.ReportingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrgHierarchyIndexTest {
+    
+    private final OrgHierarchyIndex hierarchy = new OrgHierarchyIndex();
+    
+    //        1
+    //      /   \
+    //     2     3
+    //    / \     \
+    //   4   5     6
+    //   |
+    //   7
+    @BeforeEach
+    void setUp() {
+        hierarchy.rebuild(() -> List.of(
+                new ReportingLine(1L, null),
+                new ReportingLine(2L, 1L),
+                new ReportingLine(3L, 1L),
+                new ReportingLine(4L, 2L),
+                new ReportingLine(5L, 2L),
+                new ReportingLine(6L, 3L),
+                new ReportingLine(7L, 4L)));
+    }
+    
+    @Test
+    void answersTransitiveSubordinates() {
+        assertThat(hierarchy.subordinates(1L)).containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(hierarchy.subordinates(2L)).containsExactlyInAnyOrder(4L, 5L, 7L);
+        assertThat(hierarchy.subordinates(7L)).isEmpty();
+        assertThat(hierarchy.directReports(2L)).containsExactlyInAnyOrder(4L, 5L);
+    }
+    
+    @Test
+    void answersManagerChainAndDepth() {
+        assertThat(hierarchy.managerChain(7L)).containsExactly(4L, 2L, 1L);
+        assertThat(hierarchy.depth(7L)).isEqualTo(3);
+        assertThat(hierarchy.depth(1L)).isZero();
+        assertThat(hierarchy.isManagerOf(1L, 7L)).isTrue();
+        assertThat(hierarchy.isManagerOf(3L, 7L)).isFalse();
+        assertThat(hierarchy.isManagerOf(7L, 7L)).isFalse();
+    }
+    
+    @Test
+    void movesWholeSubtreeWhenManagerChanges() {
+        hierarchy.setManager(2L, 3L);
+        
+        assertThat(hierarchy.subordinates(3L)).containsExactlyInAnyOrder(2L, 4L, 5L, 6L, 7L);
+        assertThat(hierarchy.managerChain(7L)).containsExactly(4L, 2L, 3L, 1L);
+        assertThat(hierarchy.directReports(1L)).containsExactly(3L);
+    }
+    
+    @Test
+    void addsAndRemovesEmployees() {
+        hierarchy.setManager(8L, 7L);
+        assertThat(hierarchy.managerChain(8L)).containsExactly(7L, 4L, 2L, 1L);
+        
+        hierarchy.remove(8L);
+        assertThat(hierarchy.subordinates(4L)).containsExactly(7L);
+        assertThat(hierarchy.size()).isEqualTo(7);
+    }
+    
+    @Test
+    void cyclesDoNotHangTraversals() {
+        hierarchy.setManager(1L, 7L);
+        
+        assertThat(hierarchy.subordinates(2L)).containsExactlyInAnyOrder(4L, 5L, 7L, 1L, 3L, 6L);
+        assertThat(hierarchy.managerChain(2L)).containsExactly(1L, 7L, 4L);
+        assertThat(hierarchy.isManagerOf(3L, 2L)).isFalse();
+    }
+    
+    @Test
+    void keepsManagerChangesThatArriveDuringARebuild() {
+        hierarchy.rebuild(() -> {
+            // Committed after the snapshot below was read
+            hierarchy.setManager(7L, 3L);
+            hierarchy.setManager(8L, 6L);
+            assertThatThrownBy(() -> hierarchy.rebuild(List::of)).isInstanceOf(IllegalStateException.class);
+            return List.of(
+                    new ReportingLine(1L, null),
+                    new ReportingLine(3L, 1L),
+                    new ReportingLine(4L, 1L),
+                    new ReportingLine(6L, 3L),
+                    new ReportingLine(7L, 4L));
+        });
+        
+        assertThat(hierarchy.subordinates(3L)).containsExactlyInAnyOrder(6L, 7L, 8L);
+        assertThat(hierarchy.directReports(4L)).isEmpty();
+        assertThat(hierarchy.managerChain(8L)).containsExactly(6L, 3L, 1L);
+    }
+}
@@ -0,0 +1,126 @@
+package com.workzen.index;
+
+import com.workzen.dto.EmployeeGrouping;
+import com.workzen.dto.RatingStats;
+import com.workzen.dto.ReviewPeriod;
+import com.workzen.dto.ReviewRating;
+import com.workzen.dto.ReviewerCalibration;
+import com.workzen.enums.Department;
+import com.workzen.enums.RatingDimension;
+import com.workzen.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ReviewRollupStoreTest {
+    
+    private static final ReviewPeriod H1 = new ReviewPeriod(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30));
+    private static final ReviewPeriod H2 = new ReviewPeriod(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 12, 31));
+    
+    private final ReviewRollupStore store = new ReviewRollupStore();
+    
+    @BeforeEach
+    void setUp() {
+        store.rebuild(() -> List.of(
+                new EmployeeGrouping(1L, Department.HUMAN_RESOURCES, Role.HR_MANAGER),
+                new EmployeeGrouping(2L, Department.INFORMATION_TECHNOLOGY, Role.SENIOR_DEVELOPER),
+                new EmployeeGrouping(3L, Department.INFORMATION_TECHNOLOGY, Role.SENIOR_DEVELOPER)),
+                () -> List.of(
+                        rating(10L, 1L, 100L, H1, 3.0, 4.0),
+                        rating(11L, 2L, 100L, H1, 4.0, null),
+                        rating(12L, 3L, 101L, H1, 5.0, 2.5),
+                        rating(13L, 2L, 101L, H2, 2.0, 2.0)));
+    }
+    
+    @Test
+    void computesMeanAndVariancePerGroup() {
+        RatingStats overall = store.stats(H1, RatingDimension.OVERALL);
+        assertThat(overall.count()).isEqualTo(3);
+        assertThat(overall.mean()).isEqualTo(4.0);
+        assertThat(overall.variance()).isCloseTo(2.0 / 3, within(1e-12));
+        
+        RatingStats it = store.departmentStats(H1, Department.INFORMATION_TECHNOLOGY, RatingDimension.OVERALL);
+        assertThat(it.count()).isEqualTo(2);
+        assertThat(it.mean()).isEqualTo(4.5);
+        assertThat(it.variance()).isEqualTo(0.25);
+        
+        // Review 11 has no technical rating and is not counted in that dimension
+        assertThat(store.stats(H1, RatingDimension.TECHNICAL_SKILLS).count()).isEqualTo(2);
+        assertThat(store.reviewerStats(H1, 100L, RatingDimension.OVERALL).mean()).isEqualTo(3.5);
+        assertThat(store.roleStats(H2, Role.SENIOR_DEVELOPER, RatingDimension.OVERALL).count()).isEqualTo(1);
+        assertThat(store.periods()).containsExactly(H2, H1);
+    }
+    
+    @Test
+    void replacesAndRemovesContributionsExactly() {
+        store.put(rating(10L, 1L, 100L, H1, 5.0, 4.0));
+        assertThat(store.stats(H1, RatingDimension.OVERALL).mean()).isCloseTo(14.0 / 3, within(1e-12));
+        
+        store.remove(13L);
+        assertThat(store.stats(H2, RatingDimension.OVERALL)).isEqualTo(RatingStats.EMPTY);
+        assertThat(store.periods()).containsExactly(H1);
+        assertThat(store.reviewerStats(H2, 101L, RatingDimension.OVERALL)).isEqualTo(RatingStats.EMPTY);
+    }
+    
+    @Test
+    void movesReviewsWithTheEmployee() {
+        store.setGrouping(2L, Department.HUMAN_RESOURCES, Role.HR_MANAGER);
+        
+        assertThat(store.departmentStats(H1, Department.HUMAN_RESOURCES, RatingDimension.OVERALL).mean())
+                .isEqualTo(3.5);
+        assertThat(store.departmentStats(H1, Department.INFORMATION_TECHNOLOGY, RatingDimension.OVERALL).count())
+                .isEqualTo(1);
+        assertThat(store.roleStats(H2, Role.HR_MANAGER, RatingDimension.OVERALL).count()).isEqualTo(1);
+    }
+    
+    @Test
+    void flagsLenientAndHarshReviewers() {
+        List<ReviewRating> ratings = new ArrayList<>();
+        long id = 100;
+        for (long reviewer = 1; reviewer <= 10; reviewer++) {
+            for (int i = 0; i < 10; i++) {
+                double overall = reviewer == 1 ? 5.0 : reviewer == 2 ? 1.5 : 3.0 + (i % 3) * 0.5;
+                ratings.add(rating(id, id++, reviewer, H1, overall, null));
+            }
+        }
+        store.rebuild(List::of, () -> ratings);
+        
+        List<ReviewerCalibration> outliers = store.outliers(H1, RatingDimension.OVERALL, 5, 3.0);
+        assertThat(outliers).extracting(ReviewerCalibration::reviewerId).containsExactly(2L, 1L);
+        assertThat(outliers.get(0).zScore()).isNegative();
+        assertThat(store.calibration(H1, 3L, RatingDimension.OVERALL).zScore()).isBetween(-3.0, 3.0);
+        assertThat(store.calibration(H1, 99L, RatingDimension.OVERALL)).isNull();
+    }
+    
+    @Test
+    void keepsChangesThatArriveDuringARebuild() {
+        store.rebuild(() -> List.of(
+                new EmployeeGrouping(1L, Department.HUMAN_RESOURCES, Role.HR_MANAGER),
+                new EmployeeGrouping(2L, Department.INFORMATION_TECHNOLOGY, Role.SENIOR_DEVELOPER)), () -> {
+                    // Committed after the groupings above were read
+                    store.setGrouping(2L, Department.HUMAN_RESOURCES, Role.HR_MANAGER);
+                    store.put(rating(14L, 1L, 100L, H2, 4.0, null));
+                    assertThatThrownBy(() -> store.rebuild(List::of, List::of))
+                            .isInstanceOf(IllegalStateException.class);
+                    return List.of(rating(11L, 2L, 100L, H1, 4.0, null));
+                });
+        
+        assertThat(store.departmentStats(H1, Department.HUMAN_RESOURCES, RatingDimension.OVERALL).count())
+                .isEqualTo(1);
+        assertThat(store.stats(H2, RatingDimension.OVERALL).mean()).isEqualTo(4.0);
+        assertThat(store.size()).isEqualTo(2);
+    }
+    
+    private static ReviewRating rating(long reviewId, long employeeId, long reviewerId, ReviewPeriod period,
+                                       Double overall, Double technical) {
+        return new ReviewRating(reviewId, employeeId, reviewerId, period.start(), period.end(), overall, technical,
+                null, null, null, null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.workzen.jdbc;
+
+import com.workzen.config.DatabaseConcurrencyProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitingDataSourceTest {
+    
+    private static final long MILLIS = 1_000_000;
+    
+    @Test
+    void growsWhileLatencyHoldsSteady() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, 5 * MILLIS, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(2 * MILLIS, 0, limit.limit());
+        }
+        
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+    
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 20, 5 * MILLIS, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(2 * MILLIS, 0, limit.limit());
+        }
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10 * MILLIS, 0, limit.limit());
+        }
+        int overloaded = limit.limit();
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(2 * MILLIS, 0, limit.limit());
+        }
+        
+        assertThat(overloaded).isLessThan(10);
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+    
+    @Test
+    void shrinksWhenThePoolMakesThreadsWait() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 20, 5 * MILLIS, 1.5);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(2 * MILLIS, 20 * MILLIS, 20);
+        }
+        
+        assertThat(limit.limit()).isLessThan(15);
+    }
+    
+    @Test
+    void doesNotGrowWithoutLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, 5 * MILLIS, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(2 * MILLIS, 0, 2);
+        }
+        
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+    
+    @Test
+    void queuesUntilAPermitIsReleased() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = limited(1, 1, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        
+        assertThat(second).isNotDone();
+        first.close();
+        first.close();
+        try (Connection connection = second.get(5, TimeUnit.SECONDS)) {
+            assertThat(dataSource.getInFlight()).isEqualTo(1);
+        }
+        assertThat(dataSource.getInFlight()).isZero();
+    }
+    
+    @Test
+    void shedsWhenTheQueueIsFullOrTheWaitRunsOut() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = limited(1, 0, Duration.ofMillis(10));
+        try (Connection held = dataSource.getConnection()) {
+            assertThatThrownBy(() -> connectFromAnotherThread(dataSource))
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("already queued");
+        }
+        
+        ConcurrencyLimitingDataSource waiting = limited(1, 1, Duration.ofMillis(10));
+        try (Connection held = waiting.getConnection()) {
+            assertThatThrownBy(() -> connectFromAnotherThread(waiting))
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("Timed out");
+        }
+        assertThat(dataSource.getRejected() + waiting.getRejected()).isEqualTo(2);
+    }
+    
+    @Test
+    void nestedConnectionsOfAThreadShareItsPermit() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = limited(1, 0, Duration.ofMillis(10));
+        try (Connection outer = dataSource.getConnection()) {
+            try (Connection nested = dataSource.getConnection()) {
+                assertThat(dataSource.getInFlight()).isEqualTo(1);
+            }
+            assertThat(dataSource.getInFlight()).isEqualTo(1);
+            assertThatThrownBy(() -> connectFromAnotherThread(dataSource))
+                    .isInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(dataSource.getInFlight()).isZero();
+        
+        try (Connection next = dataSource.getConnection()) {
+            assertThat(dataSource.getInFlight()).isEqualTo(1);
+        }
+        assertThat(dataSource.getRejected()).isEqualTo(1);
+    }
+    
+    // Another thread, since the thread holding the permit would get a nested connection
+    private static void connectFromAnotherThread(ConcurrencyLimitingDataSource dataSource) throws Throwable {
+        try {
+            CompletableFuture.runAsync(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    assertThat(connection).isNotNull();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static ConcurrencyLimitingDataSource limited(int limit, int maxQueued, Duration maxQueueWait) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limits");
+        DatabaseConcurrencyProperties properties = new DatabaseConcurrencyProperties();
+        properties.setInitialLimit(limit);
+        properties.setMinLimit(limit);
+        properties.setMaxLimit(limit);
+        properties.setMaxQueued(maxQueued);
+        properties.setMaxQueueWait(maxQueueWait);
+        return new ConcurrencyLimitingDataSource(h2, properties);
+    }
+}
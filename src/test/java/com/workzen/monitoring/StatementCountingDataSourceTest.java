@@ -0,0 +1,70 @@
+package com.workzen.monitoring;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCountingDataSourceTest {
+    
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(h2());
+    
+    @Test
+    void countsEveryPreparedStatement() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long before = StatementCounter.current();
+        
+        jdbcTemplate.execute("create table item (id bigint primary key)");
+        jdbcTemplate.update("insert into item values (?)", 1L);
+        jdbcTemplate.queryForObject("select count(*) from item", Long.class);
+        
+        assertThat(StatementCounter.current() - before).isEqualTo(3);
+    }
+    
+    @Test
+    void countsABatchOnce() throws Exception {
+        long before = StatementCounter.current();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("create table batch_item (id bigint primary key)");
+            try (PreparedStatement insert = connection.prepareStatement("insert into batch_item values (?)")) {
+                for (long id = 1; id <= 10; id++) {
+                    insert.setLong(1, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        
+        assertThat(StatementCounter.current() - before).isEqualTo(2);
+    }
+    
+    @Test
+    void keepsCountsPerThread() throws Exception {
+        long before = StatementCounter.current();
+        Thread other = new Thread(() -> new JdbcTemplate(dataSource).queryForObject("select 1", Integer.class));
+        other.start();
+        other.join();
+        
+        assertThat(StatementCounter.current()).isEqualTo(before);
+    }
+    
+    @Test
+    void unwrapsToTheTargetConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isWrapperFor(JdbcConnection.class)).isTrue();
+            assertThat(connection.unwrap(JdbcConnection.class)).isNotSameAs(connection);
+            assertThat(connection).isEqualTo(connection);
+        }
+    }
+    
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,79 @@
+package com.workzen.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.workzen.entity.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the second-level cache as configured in application.properties: the regions
+ * come from hibernate-cache.conf, and a committed Employee is served from the entity and
+ * natural-id caches without a statement. Not transactional, since the cache is only
+ * written on commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSecondLevelCacheTest {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @AfterEach
+    void cleanUp() {
+        employeeRepository.deleteAll();
+    }
+    
+    @Test
+    void regionsUseTheConfiguredBudgets() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) sessionFactory().getCache().getRegionFactory();
+        
+        assertThat(maximumSize(regionFactory, Employee.CACHE_REGION)).hasValue(25_000);
+        assertThat(maximumSize(regionFactory, Employee.QUERY_CACHE_REGION)).hasValue(2_000);
+    }
+    
+    @Test
+    void committedEmployeeIsServedFromTheCache() {
+        Employee saved = employeeRepository.save(Employee.builder()
+                .employeeId("CACHE-01")
+                .firstName("Cached")
+                .lastName("Employee")
+                .email("cached@workzen.test")
+                .password("{noop}secret")
+                .build());
+        Statistics statistics = sessionFactory().getStatistics();
+        statistics.clear();
+        
+        assertThat(employeeRepository.findById(saved.getId())).isPresent();
+        assertThat(employeeRepository.findByEmployeeId("CACHE-01")).isPresent();
+        
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION).getHitCount()).isEqualTo(2);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+    
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static OptionalLong maximumSize(JCacheRegionFactory regionFactory, String region) {
+        return regionFactory.getCacheManager().getCache(region)
+                .getConfiguration(CaffeineConfiguration.class)
+                .getMaximumSize();
+    }
+}
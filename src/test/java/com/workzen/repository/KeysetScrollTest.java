@@ -0,0 +1,131 @@
+package com.workzen.repository;
+
+import com.workzen.dto.CursorPage;
+import com.workzen.entity.Attendance;
+import com.workzen.entity.BaseEntity;
+import com.workzen.entity.Employee;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import com.workzen.enums.EmployeeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through the keyset listings chunk by chunk, with sort keys that tie across chunk
+ * boundaries, and checks every row comes back exactly once and in order.
+ */
+@DataJpaTest
+class KeysetScrollTest {
+    
+    private static final int CHUNK = 3;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 4);
+    private static final int DAYS = 4;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    private final List<Employee> financeTeam = new ArrayList<>();
+    private final List<Attendance> attendance = new ArrayList<>();
+    
+    @BeforeEach
+    void seed() {
+        // Four of each last name, so (lastName) alone cannot order a chunk boundary
+        String[] lastNames = {"Shah", "Iyer", "Shah", "Iyer", "Shah", "Iyer", "Shah", "Iyer"};
+        for (int i = 0; i < lastNames.length; i++) {
+            financeTeam.add(entityManager.persist(employee(i, lastNames[i], Department.FINANCE,
+                    EmployeeStatus.ACTIVE)));
+        }
+        entityManager.persist(employee(98, "Iyer", Department.SALES, EmployeeStatus.ACTIVE));
+        entityManager.persist(employee(99, "Iyer", Department.FINANCE, EmployeeStatus.TERMINATED));
+        // Every employee has a row on every day, so the date ties across every chunk
+        for (int day = 0; day < DAYS + 1; day++) {
+            for (Employee employee : financeTeam) {
+                Attendance row = entityManager.persist(Attendance.builder()
+                        .employee(employee)
+                        .date(FIRST_DAY.plusDays(day))
+                        .status(AttendanceStatus.PRESENT)
+                        .build());
+                if (day < DAYS) {
+                    attendance.add(row);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void attendanceByDateRangeTiesOnDate() {
+        List<Long> scrolled = scroll(cursor -> attendanceRepository.scrollByDateRange(FIRST_DAY,
+                FIRST_DAY.plusDays(DAYS - 1), cursor, CHUNK));
+        
+        assertThat(scrolled).containsExactlyElementsOf(ids(attendance,
+                Comparator.comparing(Attendance::getDate).thenComparing(Attendance::getId)));
+    }
+    
+    @Test
+    void attendanceOfAnEmployeeNewestFirst() {
+        Employee employee = financeTeam.get(0);
+        List<Long> scrolled = scroll(cursor -> attendanceRepository.scrollByEmployee(employee, cursor, CHUNK));
+        
+        assertThat(scrolled).hasSize(DAYS + 1);
+        assertThat(scrolled).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+    
+    @Test
+    void departmentTiesOnLastName() {
+        List<Long> scrolled = scroll(cursor -> employeeRepository.scrollByDepartmentAndStatus(Department.FINANCE,
+                EmployeeStatus.ACTIVE, cursor, CHUNK));
+        
+        assertThat(scrolled).containsExactlyElementsOf(ids(financeTeam,
+                Comparator.comparing(Employee::getLastName).thenComparing(Employee::getId)));
+    }
+    
+    // Follows nextCursor to the end; every chunk but the last is full
+    private static List<Long> scroll(Function<String, CursorPage<? extends BaseEntity>> chunks) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<? extends BaseEntity> page = chunks.apply(cursor);
+            page.content().forEach(row -> ids.add(row.getId()));
+            cursor = page.nextCursor();
+            if (cursor != null) {
+                assertThat(page.content()).hasSize(CHUNK);
+            }
+        } while (cursor != null);
+        return ids;
+    }
+    
+    private static <T extends BaseEntity> List<Long> ids(List<T> rows, Comparator<T> order) {
+        return rows.stream().sorted(order).map(BaseEntity::getId).toList();
+    }
+    
+    private static Employee employee(int i, String lastName, Department department, EmployeeStatus status) {
+        return Employee.builder()
+                .employeeId("SCROLL-%02d".formatted(i))
+                .firstName("Employee")
+                .lastName(lastName)
+                .email("scroll%d@workzen.test".formatted(i))
+                .password("{noop}secret")
+                .department(department)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.workzen.repository;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * {@link ListQueryStatementsTest} with the second-level and query caches as configured in
+ * application.properties. The seeded rows are never committed, so the caches start cold
+ * and every listing still has to cost exactly one statement.
+ */
+@DataJpaTest
+class ListQueryStatementsCachedTest extends ListQueryStatementsTest {
+}
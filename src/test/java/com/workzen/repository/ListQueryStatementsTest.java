@@ -0,0 +1,205 @@
+package com.workzen.repository;
+
+import com.workzen.dto.AttendanceSheetRow;
+import com.workzen.dto.LeaveApplicationSummary;
+import com.workzen.entity.Attendance;
+import com.workzen.entity.Employee;
+import com.workzen.entity.LeaveApplication;
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.entity.PerformanceReview;
+import com.workzen.entity.PerformanceReview.ReviewStatus;
+import com.workzen.enums.AttendanceStatus;
+import com.workzen.enums.Department;
+import com.workzen.enums.LeaveType;
+import com.workzen.monitoring.QueryMetricsPostProcessor;
+import com.workzen.monitoring.StatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every list query below, including touching the associations a list screen renders,
+ * must cost exactly one statement, counted by the {@link StatementCounter} as in
+ * production. The second-level cache is off so lazy loads would show up as statements
+ * instead of cache hits; {@link ListQueryStatementsCachedTest} runs the same listings
+ * with the cache as configured.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({QueryMetricsPostProcessor.class, SimpleMeterRegistry.class})
+class ListQueryStatementsTest {
+    
+    private static final int EMPLOYEES = 10;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private LeaveApplicationRepository leaveApplicationRepository;
+    
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+    
+    private Long employeeId;
+    
+    @BeforeEach
+    void seed() {
+        Employee manager = entityManager.persist(employee(0));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            employees.add(entityManager.persist(employee(i)));
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            entityManager.persist(Attendance.builder()
+                    .employee(employee)
+                    .date(DAY)
+                    .status(i % 2 == 0 ? AttendanceStatus.PRESENT : AttendanceStatus.LATE)
+                    .checkInTime(LocalTime.of(9, i))
+                    .workHours(8.0)
+                    .build());
+        }
+        // Each of the first employee's applications and reviews has a different approver or
+        // reviewer, so a lazy association would need one load per row
+        Employee first = employees.get(0);
+        for (int i = 1; i < employees.size(); i++) {
+            entityManager.persist(LeaveApplication.builder()
+                    .employee(first)
+                    .leaveType(LeaveType.CASUAL_LEAVE)
+                    .startDate(DAY.plusDays(i))
+                    .endDate(DAY.plusDays(i))
+                    .totalDays(1)
+                    .status(LeaveStatus.APPROVED)
+                    .approvedBy(employees.get(i))
+                    .build());
+            entityManager.persist(PerformanceReview.builder()
+                    .employee(first)
+                    .reviewer(employees.get(i))
+                    .reviewPeriodStart(DAY.minusYears(i))
+                    .reviewPeriodEnd(DAY.minusYears(i).plusMonths(6))
+                    .overallRating(4.0)
+                    .status(ReviewStatus.COMPLETED)
+                    .build());
+        }
+        entityManager.persist(LeaveApplication.builder()
+                .employee(manager)
+                .leaveType(LeaveType.SICK_LEAVE)
+                .startDate(DAY)
+                .endDate(DAY)
+                .totalDays(1)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        employeeId = first.getId();
+    }
+    
+    @Test
+    void attendanceSheetOrderedByName() {
+        List<Attendance> sheet = statementsOf(() -> {
+            List<Attendance> rows = attendanceRepository.findByDateOrderByEmployeeName(DAY);
+            rows.forEach(row -> row.getEmployee().getFirstName());
+            return rows;
+        });
+        
+        assertThat(sheet).hasSize(EMPLOYEES);
+    }
+    
+    @Test
+    void attendanceByDateAndStatus() {
+        List<Attendance> late = statementsOf(() -> {
+            List<Attendance> rows = attendanceRepository.findByDateAndStatus(DAY, AttendanceStatus.LATE);
+            rows.forEach(row -> row.getEmployee().getFirstName());
+            return rows;
+        });
+        
+        assertThat(late).hasSize(EMPLOYEES / 2);
+    }
+    
+    @Test
+    void attendanceSheetProjection() {
+        List<AttendanceSheetRow> sheet = statementsOf(() -> attendanceRepository.findSheetByDate(DAY));
+        List<AttendanceSheetRow> late = statementsOf(
+                () -> attendanceRepository.findSheetByDateAndStatus(DAY, AttendanceStatus.LATE));
+        
+        assertThat(sheet).hasSize(EMPLOYEES);
+        assertThat(sheet.get(0).employeeName()).isEqualTo("Employee 01");
+        assertThat(sheet.get(0).department()).isEqualTo(Department.FINANCE);
+        assertThat(late).extracting(AttendanceSheetRow::status).containsOnly(AttendanceStatus.LATE);
+    }
+    
+    @Test
+    void leaveHistoryWithApprovers() {
+        Employee employee = entityManager.find(Employee.class, employeeId);
+        List<LeaveApplication> history = statementsOf(() -> {
+            List<LeaveApplication> rows = leaveApplicationRepository.findByEmployeeOrderByStartDateDesc(employee);
+            rows.forEach(row -> row.getApprovedBy().getFirstName());
+            return rows;
+        });
+        
+        assertThat(history).hasSize(EMPLOYEES - 1);
+    }
+    
+    @Test
+    void leaveSummariesWithApprovers() {
+        Page<LeaveApplicationSummary> approved = statementsOf(() -> leaveApplicationRepository
+                .findSummariesByStatus(LeaveStatus.APPROVED, PageRequest.of(0, 50)));
+        Page<LeaveApplicationSummary> pending = statementsOf(() -> leaveApplicationRepository
+                .findSummariesByStatus(LeaveStatus.PENDING, PageRequest.of(0, 50)));
+        
+        assertThat(approved.getContent()).hasSize(EMPLOYEES - 1).allSatisfy(summary ->
+                assertThat(summary.approvedByName()).startsWith("Employee "));
+        assertThat(pending.getContent()).singleElement().satisfies(summary ->
+                assertThat(summary.approvedById()).isNull());
+    }
+    
+    @Test
+    void reviewHistoryWithReviewers() {
+        Employee employee = entityManager.find(Employee.class, employeeId);
+        List<PerformanceReview> reviews = statementsOf(() -> {
+            List<PerformanceReview> rows = performanceReviewRepository.findByEmployeeOrderByReviewPeriodEndDesc(
+                    employee);
+            rows.forEach(row -> row.getReviewer().getFirstName());
+            return rows;
+        });
+        
+        assertThat(reviews).hasSize(EMPLOYEES - 1);
+    }
+    
+    private static <T> T statementsOf(Supplier<T> listing) {
+        long before = StatementCounter.current();
+        T result = listing.get();
+        assertThat(StatementCounter.current() - before).as("statements").isEqualTo(1);
+        return result;
+    }
+    
+    private static Employee employee(int i) {
+        return Employee.builder()
+                .employeeId("LIST-%02d".formatted(i))
+                .firstName("Employee")
+                .lastName("%02d".formatted(i))
+                .email("list%d@workzen.test".formatted(i))
+                .password("{noop}secret")
+                .department(Department.FINANCE)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.workzen.repository;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.Punch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PunchLogTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    
+    @TempDir
+    private Path directory;
+    
+    private final AttendanceProperties properties = new AttendanceProperties();
+    
+    @BeforeEach
+    void setUp() {
+        properties.getPunchBuffer().setLogDirectory(directory);
+    }
+    
+    @Test
+    void recoversEveryAcknowledgedPunchOfAPreviousProcess() throws IOException {
+        PunchLog previous = new PunchLog(properties);
+        previous.append(punch(1L, 9, 0, Punch.Kind.CHECK_IN, "Gate A"));
+        previous.rotate();
+        previous.append(punch(2L, 9, 5, Punch.Kind.CHECK_IN, null));
+        previous.append(punch(1L, 18, 30, Punch.Kind.CHECK_OUT, "Gate Ä"));
+        previous.close();
+        
+        PunchLog log = new PunchLog(properties);
+        
+        assertThat(log.recover()).containsExactly(
+                punch(1L, 9, 0, Punch.Kind.CHECK_IN, "Gate A"),
+                punch(2L, 9, 5, Punch.Kind.CHECK_IN, null),
+                punch(1L, 18, 30, Punch.Kind.CHECK_OUT, "Gate Ä"));
+        log.close();
+    }
+    
+    @Test
+    void recoverSkipsTheSegmentsOfTheCurrentProcess() throws IOException {
+        PunchLog log = new PunchLog(properties);
+        log.append(punch(1L, 9, 0, Punch.Kind.CHECK_IN, null));
+        
+        assertThat(log.recover()).isEmpty();
+        log.close();
+    }
+    
+    @Test
+    void deleteThroughDropsClosedSegmentsOnly() throws IOException {
+        PunchLog log = new PunchLog(properties);
+        log.append(punch(1L, 9, 0, Punch.Kind.CHECK_IN, null));
+        long first = log.rotate();
+        log.append(punch(2L, 9, 0, Punch.Kind.CHECK_IN, null));
+        long second = log.rotate();
+        log.append(punch(3L, 9, 0, Punch.Kind.CHECK_IN, null));
+        assertThat(segments()).hasSize(3);
+        
+        log.deleteThrough(first);
+        
+        assertThat(segments()).hasSize(2);
+        log.close();
+        PunchLog next = new PunchLog(properties);
+        assertThat(next.recover()).extracting(Punch::employeeId).containsExactly(2L, 3L);
+        next.deleteThrough(second);
+        assertThat(next.recover()).extracting(Punch::employeeId).containsExactly(3L);
+        next.close();
+    }
+    
+    @Test
+    void ignoresATornRecordAtTheEnd() throws IOException {
+        PunchLog previous = new PunchLog(properties);
+        previous.append(punch(1L, 9, 0, Punch.Kind.CHECK_IN, "Gate A"));
+        previous.append(punch(2L, 9, 1, Punch.Kind.CHECK_IN, "Gate B"));
+        previous.close();
+        Path segment = segments().get(0);
+        byte[] data = Files.readAllBytes(segment);
+        // Cut the second record short, as a crash in the middle of a write would
+        Files.write(segment, Arrays.copyOf(data, data.length - 3));
+        
+        PunchLog log = new PunchLog(properties);
+        
+        assertThat(log.recover()).containsExactly(punch(1L, 9, 0, Punch.Kind.CHECK_IN, "Gate A"));
+        log.close();
+    }
+    
+    @Test
+    void stopsAtARecordWithABadChecksum() throws IOException {
+        PunchLog previous = new PunchLog(properties);
+        previous.append(punch(1L, 9, 0, Punch.Kind.CHECK_IN, null));
+        previous.append(punch(2L, 9, 1, Punch.Kind.CHECK_IN, null));
+        previous.append(punch(3L, 9, 2, Punch.Kind.CHECK_IN, null));
+        previous.close();
+        Path segment = segments().get(0);
+        byte[] data = Files.readAllBytes(segment);
+        int recordLength = data.length / 3;
+        // Flip a bit in the employee id of the second record
+        data[recordLength + 8 + 7] ^= 1;
+        Files.write(segment, data);
+        
+        PunchLog log = new PunchLog(properties);
+        
+        assertThat(log.recover()).extracting(Punch::employeeId).containsExactly(1L);
+        log.close();
+    }
+    
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+    
+    private static Punch punch(long employeeId, int hour, int minute, Punch.Kind kind, String location) {
+        return new Punch(employeeId, DAY, LocalTime.of(hour, minute), kind, location);
+    }
+}
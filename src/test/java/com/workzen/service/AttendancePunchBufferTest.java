@@ -0,0 +1,185 @@
+package com.workzen.service;
+
+import com.workzen.config.AttendanceProperties;
+import com.workzen.dto.AttendanceUpsert;
+import com.workzen.dto.Punch;
+import com.workzen.repository.AttendanceUpsertRepository;
+import com.workzen.repository.PunchLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The buffer against a real {@link PunchLog} in a temp directory and a mocked upsert, so
+ * database failures can be injected.
+ */
+class AttendancePunchBufferTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    
+    @TempDir
+    private Path directory;
+    
+    private final AttendanceProperties properties = new AttendanceProperties();
+    private final AttendanceUpsertRepository upsertRepository = mock(AttendanceUpsertRepository.class);
+    private PunchLog punchLog;
+    private AttendancePunchBuffer buffer;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        properties.getPunchBuffer().setLogDirectory(directory);
+        properties.getPunchBuffer().setBatchSize(2);
+        punchLog = new PunchLog(properties);
+        buffer = newBuffer(punchLog);
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        punchLog.close();
+    }
+    
+    @Test
+    void coalescesPunchesPerEmployeeDay() {
+        buffer.checkIn(1L, DAY.atTime(9, 5), "Gate A");
+        buffer.checkIn(1L, DAY.atTime(8, 55), "Gate B");
+        buffer.checkOut(1L, DAY.atTime(17, 0), null);
+        buffer.checkOut(1L, DAY.atTime(18, 30), null);
+        buffer.checkIn(2L, DAY.atTime(9, 0), null);
+        
+        buffer.flush();
+        
+        List<AttendanceUpsert> rows = written(1);
+        assertThat(rows).hasSize(2);
+        AttendanceUpsert first = rows.stream().filter(row -> row.employeeId() == 1L).findFirst().orElseThrow();
+        assertThat(first.checkInTime()).isEqualTo(LocalTime.of(8, 55));
+        assertThat(first.checkOutTime()).isEqualTo(LocalTime.of(18, 30));
+        assertThat(first.location()).isEqualTo("Gate B");
+        assertThat(buffer.pendingDays()).isZero();
+    }
+    
+    @Test
+    void keepsPunchesOfAFailedFlushForTheNextOne() throws IOException {
+        doThrow(new QueryTimeoutException("database unavailable"))
+                .doNothing()
+                .when(upsertRepository).upsert(anyList(), anyString());
+        buffer.checkIn(1L, DAY.atTime(9, 5), null);
+        
+        buffer.flush();
+        
+        assertThat(buffer.pendingDays()).isEqualTo(1);
+        // The segment stays on disk until the punches are in the database
+        assertThat(new PunchLog(properties).recover()).extracting(Punch::employeeId).containsExactly(1L);
+        
+        buffer.checkIn(1L, DAY.atTime(8, 50), null);
+        buffer.flush();
+        
+        assertThat(buffer.pendingDays()).isZero();
+        List<AttendanceUpsert> rows = written(2);
+        assertThat(rows).singleElement().extracting(AttendanceUpsert::checkInTime).isEqualTo(LocalTime.of(8, 50));
+        assertThat(new PunchLog(properties).recover()).isEmpty();
+    }
+    
+    @Test
+    void keepsPunchesWhenNoTransactionCanBegin() throws IOException {
+        PlatformTransactionManager unavailable = mock(PlatformTransactionManager.class);
+        when(unavailable.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Database concurrency limit reached"))
+                .thenReturn(new SimpleTransactionStatus());
+        buffer = new AttendancePunchBuffer(punchLog, new AttendancePolicy(properties), upsertRepository,
+                new TransactionTemplate(unavailable), properties);
+        buffer.checkIn(1L, DAY.atTime(9, 5), null);
+        
+        buffer.flush();
+        
+        assertThat(buffer.pendingDays()).isEqualTo(1);
+        verify(upsertRepository, never()).upsert(anyList(), anyString());
+        
+        // The next flush must write the days of the failed one before deleting its segment
+        buffer.checkIn(2L, DAY.atTime(9, 10), null);
+        buffer.flush();
+        
+        assertThat(buffer.pendingDays()).isZero();
+        assertThat(written(1)).extracting(AttendanceUpsert::employeeId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(new PunchLog(properties).recover()).isEmpty();
+    }
+    
+    @Test
+    void retriesARejectedBatchRowByRowAndDropsTheBadRow() {
+        doThrow(new DataIntegrityViolationException("unknown employee"))
+                .when(upsertRepository).upsert(argThat(rows -> rows.size() == 2), anyString());
+        doThrow(new DataIntegrityViolationException("unknown employee"))
+                .when(upsertRepository).upsert(argThat(rows -> rows.size() == 1 && rows.get(0).employeeId() == 99L),
+                        anyString());
+        doNothing()
+                .when(upsertRepository).upsert(argThat(rows -> rows.size() == 1 && rows.get(0).employeeId() == 1L),
+                        anyString());
+        buffer.checkIn(1L, DAY.atTime(9, 0), null);
+        buffer.checkIn(99L, DAY.atTime(9, 0), null);
+        
+        buffer.flush();
+        
+        verify(upsertRepository).upsert(argThat(rows -> rows.size() == 1 && rows.get(0).employeeId() == 1L),
+                anyString());
+        assertThat(buffer.pendingDays()).isZero();
+    }
+    
+    @Test
+    void replaysTheLogOfAPreviousProcessOnStartup() throws IOException {
+        buffer.checkIn(1L, DAY.atTime(9, 0), null);
+        buffer.checkOut(1L, DAY.atTime(18, 0), null);
+        punchLog.close();
+        
+        punchLog = new PunchLog(properties);
+        AttendancePunchBuffer restarted = newBuffer(punchLog);
+        restarted.recover();
+        
+        assertThat(restarted.pendingDays()).isEqualTo(1);
+        restarted.flush();
+        assertThat(written(1)).singleElement().satisfies(row -> {
+            assertThat(row.checkInTime()).isEqualTo(LocalTime.of(9, 0));
+            assertThat(row.checkOutTime()).isEqualTo(LocalTime.of(18, 0));
+        });
+        assertThat(new PunchLog(properties).recover()).isEmpty();
+    }
+    
+    private AttendancePunchBuffer newBuffer(PunchLog log) {
+        return new AttendancePunchBuffer(log, new AttendancePolicy(properties), upsertRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties);
+    }
+    
+    // the rows of the last of {@code calls} upserts
+    @SuppressWarnings("unchecked")
+    private List<AttendanceUpsert> written(int calls) {
+        ArgumentCaptor<List<AttendanceUpsert>> rows = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository, times(calls)).upsert(rows.capture(), anyString());
+        return rows.getValue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.workzen.service;
+
+import com.workzen.config.AuditProperties;
+import com.workzen.dto.AuditRecord;
+import com.workzen.enums.AuditAction;
+import com.workzen.repository.AuditEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AuditTrailTest {
+    
+    private final AuditEventRepository auditEventRepository = mock(AuditEventRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> inserted = new ArrayList<>();
+    private AuditTrail auditTrail;
+    
+    @BeforeEach
+    void setUp() {
+        AuditProperties properties = new AuditProperties();
+        properties.setQueueCapacity(2);
+        properties.setBatchSize(10);
+        auditTrail = new AuditTrail(auditEventRepository, properties, meterRegistry);
+    }
+    
+    @Test
+    void committingThreadWritesItsOwnRecordWhenTheQueueIsFull() {
+        recordInserts();
+        auditTrail.record(record(1L));
+        auditTrail.record(record(2L));
+        
+        auditTrail.record(record(3L));
+        
+        assertThat(inserted).containsExactly(3L);
+        assertThat(meterRegistry.counter("workzen.audit.records.overflowed").count()).isEqualTo(1);
+        assertThat(auditTrail.pending()).isEqualTo(2);
+        
+        auditTrail.flush();
+        
+        assertThat(inserted).containsExactly(3L, 1L, 2L);
+        assertThat(auditTrail.pending()).isZero();
+    }
+    
+    @Test
+    void retriesAFailedBatchBeforeNewerRecords() {
+        doThrow(new QueryTimeoutException("database unavailable"))
+                .doAnswer(invocation -> insert(invocation.getArgument(0)))
+                .when(auditEventRepository).insert(anyList());
+        auditTrail.record(record(1L));
+        auditTrail.record(record(2L));
+        
+        auditTrail.flush();
+        
+        assertThat(inserted).isEmpty();
+        assertThat(auditTrail.pending()).isEqualTo(2);
+        
+        recordInserts();
+        auditTrail.record(record(3L));
+        auditTrail.flush();
+        
+        assertThat(inserted).containsExactly(1L, 2L, 3L);
+        assertThat(auditTrail.pending()).isZero();
+    }
+    
+    @Test
+    void writesARejectedBatchOneByOneAndDropsTheRejectedRecords() {
+        doAnswer(invocation -> {
+            List<AuditRecord> records = invocation.getArgument(0);
+            if (records.stream().anyMatch(record -> record.entityId() == 2L)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return insert(records);
+        }).when(auditEventRepository).insert(anyList());
+        auditTrail.record(record(1L));
+        auditTrail.record(record(2L));
+        
+        auditTrail.flush();
+        
+        assertThat(inserted).containsExactly(1L);
+        assertThat(auditTrail.pending()).isZero();
+        assertThat(meterRegistry.counter("workzen.audit.write.failures").count()).isEqualTo(1);
+        
+        auditTrail.flush();
+        
+        verify(auditEventRepository, never()).insert(List.of());
+        assertThat(inserted).containsExactly(1L);
+    }
+    
+    private void recordInserts() {
+        doAnswer(invocation -> insert(invocation.getArgument(0))).when(auditEventRepository).insert(anyList());
+    }
+    
+    private Void insert(List<AuditRecord> records) {
+        records.forEach(record -> inserted.add(record.entityId()));
+        return null;
+    }
+    
+    private static AuditRecord record(long entityId) {
+        return new AuditRecord("Payroll", entityId, AuditAction.UPDATE,
+                List.of(new AuditRecord.FieldChange("netSalary", "1000.00", "1200.00")), "hr@workzen.test",
+                LocalDateTime.of(2025, 3, 10, 9, 0));
+    }
+}
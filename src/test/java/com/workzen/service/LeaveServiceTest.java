@@ -0,0 +1,139 @@
+package com.workzen.service;
+
+import com.workzen.entity.Employee;
+import com.workzen.entity.LeaveApplication;
+import com.workzen.entity.LeaveApplication.LeaveStatus;
+import com.workzen.entity.LeaveBalance;
+import com.workzen.enums.LeaveType;
+import com.workzen.index.LeaveIntervalIndex;
+import com.workzen.repository.LeaveBalanceRepository;
+import com.workzen.repository.MailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Submission against the ledger on H2 in PostgreSQL mode, for the native balance insert.
+ * Rows persisted through the entity manager stand in for writes by another node, which
+ * the interval index never sees.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:leave;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LeaveService.class, LeaveIntervalIndex.class, MailOutbox.class, MailOutboxRepository.class})
+class LeaveServiceTest {
+    
+    private static final int YEAR = 2025;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private LeaveService leaveService;
+    
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+    
+    private Employee employee;
+    
+    @BeforeEach
+    void setUp() {
+        employee = entityManager.persist(Employee.builder()
+                .employeeId("LEAVE-01")
+                .firstName("Asha")
+                .lastName("Rao")
+                .email("asha.rao@workzen.test")
+                .password("{noop}secret")
+                .build());
+    }
+    
+    @Test
+    void derivesTotalDaysAndHoldsThemOnTheBalance() {
+        LeaveApplication saved = leaveService.submit(application(day(3, 10), day(3, 12), false));
+        
+        assertThat(saved.getTotalDays()).isEqualTo(3);
+        assertThat(saved.getStatus()).isEqualTo(LeaveStatus.PENDING);
+        assertThat(balance().getPendingDays()).isEqualByComparingTo("3");
+    }
+    
+    @Test
+    void chargesHalfADayForASingleDayHalfDay() {
+        leaveService.submit(application(day(3, 10), day(3, 10), true));
+        
+        assertThat(balance().getPendingDays()).isEqualByComparingTo("0.5");
+    }
+    
+    @Test
+    void rejectsInvalidDates() {
+        assertThatThrownBy(() -> leaveService.submit(application(day(3, 10), null, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> leaveService.submit(application(day(3, 10), day(3, 9), false)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> leaveService.submit(application(day(3, 10), day(3, 11), true)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void rejectsOverlapWithLeaveTheIndexHasNotSeen() {
+        leaveService.submit(application(day(1, 6), day(1, 6), false));
+        persist(day(3, 10), day(3, 14), LeaveStatus.APPROVED);
+        
+        assertThat(leaveService.overlapsExistingLeave(employee.getId(), day(3, 12), day(3, 13))).isFalse();
+        assertThatThrownBy(() -> leaveService.submit(application(day(3, 12), day(3, 13), false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlaps existing leave");
+    }
+    
+    @Test
+    void createsTheLedgerFromApplicationsOnFileOnce() {
+        persist(day(2, 3), day(2, 4), LeaveStatus.APPROVED);
+        persist(day(4, 7), day(4, 7), LeaveStatus.PENDING);
+        persist(day(5, 1), day(5, 9), LeaveStatus.REJECTED);
+        
+        LeaveBalance casual = leaveService.getBalances(employee.getId(), YEAR).stream()
+                .filter(balance -> balance.getLeaveType() == LeaveType.CASUAL_LEAVE)
+                .findFirst().orElseThrow();
+        
+        assertThat(casual.getUsedDays()).isEqualByComparingTo("2");
+        assertThat(casual.getPendingDays()).isEqualByComparingTo("1");
+        assertThat(casual.getRemainingDays()).isEqualByComparingTo("9");
+        assertThat(leaveBalanceRepository.insertIfAbsent(employee.getId(), YEAR, LeaveType.CASUAL_LEAVE.name(), 12,
+                BigDecimal.ZERO, BigDecimal.ZERO, LocalDateTime.now())).isZero();
+        assertThat(leaveService.getBalances(employee.getId(), YEAR)).hasSize(LeaveType.values().length);
+    }
+    
+    private LeaveApplication application(LocalDate startDate, LocalDate endDate, boolean halfDay) {
+        return LeaveApplication.builder()
+                .employee(employee)
+                .leaveType(LeaveType.CASUAL_LEAVE)
+                .startDate(startDate)
+                .endDate(endDate)
+                .isHalfDay(halfDay)
+                .build();
+    }
+    
+    private void persist(LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+        LeaveApplication application = application(startDate, endDate, false);
+        application.setTotalDays((int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1);
+        application.setStatus(status);
+        entityManager.persistAndFlush(application);
+    }
+    
+    private LeaveBalance balance() {
+        return leaveBalanceRepository.findForUpdate(employee.getId(), YEAR, LeaveType.CASUAL_LEAVE).orElseThrow();
+    }
+    
+    private static LocalDate day(int month, int day) {
+        return LocalDate.of(YEAR, month, day);
+    }
+}
@@ -0,0 +1,166 @@
+package com.workzen.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.workzen.config.MailOutboxProperties;
+import com.workzen.dto.OutboundMail;
+import com.workzen.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The outbox end to end against an in-process SMTP server: enqueued in a transaction on
+ * H2 (PostgreSQL mode), claimed, sent and recorded by the dispatcher.
+ */
+class MailOutboxDispatcherTest {
+    
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+    
+    private final MailOutboxProperties properties = new MailOutboxProperties();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MailOutboxRepository repository;
+    private MailOutbox outbox;
+    
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE SEQUENCE mail_outbox_seq INCREMENT BY 50");
+        jdbcTemplate.execute("""
+                CREATE TABLE mail_outbox (
+                    id              bigint        PRIMARY KEY,
+                    dedup_key       varchar(200)  NOT NULL,
+                    recipient       varchar(255)  NOT NULL,
+                    subject         varchar(255)  NOT NULL,
+                    body            text          NOT NULL,
+                    status          varchar(16)   NOT NULL,
+                    attempts        integer       NOT NULL,
+                    next_attempt_at timestamp(6)  NOT NULL,
+                    last_error      varchar(1000),
+                    created_at      timestamp(6)  NOT NULL,
+                    sent_at         timestamp(6),
+                    CONSTRAINT uk_mail_outbox_dedup_key UNIQUE (dedup_key)
+                )
+                """);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(h2));
+        repository = new MailOutboxRepository(jdbcTemplate);
+        outbox = new MailOutbox(repository);
+        properties.setMaxPerSecond(1_000);
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ZERO);
+    }
+    
+    @Test
+    void sendsCommittedMailOncePerKey() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue(List.of(mail("a"), mail("b"), mail("a"))));
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue(List.of(mail("b"))));
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue(List.of(mail("rolled-back")));
+            status.setRollbackOnly();
+        });
+        
+        dispatcher(smtp.getSmtp().getPort()).drain();
+        
+        assertThat(smtp.getReceivedMessages()).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Subject a", "Subject b");
+        assertThat(statuses()).containsExactlyInAnyOrderEntriesOf(Map.of("a", "SENT", "b", "SENT"));
+    }
+    
+    @Test
+    void refusesMailOutsideATransaction() {
+        assertThatThrownBy(() -> outbox.enqueue(List.of(mail("a")))).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void sendsInBatches() {
+        List<OutboundMail> mails = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            mails.add(mail("bulk-" + i));
+        }
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue(mails));
+        MailOutboxDispatcher dispatcher = dispatcher(smtp.getSmtp().getPort());
+        
+        assertThat(List.of(dispatcher.dispatch(), dispatcher.dispatch(), dispatcher.dispatch(), dispatcher.dispatch()))
+                .containsExactly(50, 50, 20, 0);
+        assertThat(smtp.getReceivedMessages()).hasSize(120);
+    }
+    
+    @Test
+    void retriesWhileTheServerIsDownThenGivesUp() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue(List.of(mail("a"))));
+        MailOutboxDispatcher unreachable = dispatcher(unusedPort());
+        
+        unreachable.dispatch();
+        assertThat(statuses()).containsEntry("a", "PENDING");
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM mail_outbox", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_error FROM mail_outbox", String.class)).isNotBlank();
+        
+        unreachable.dispatch();
+        unreachable.dispatch();
+        assertThat(statuses()).containsEntry("a", "FAILED");
+        assertThat(unreachable.dispatch()).isZero();
+    }
+    
+    @Test
+    void deliversOnceTheServerIsBack() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue(List.of(mail("a"))));
+        dispatcher(unusedPort()).dispatch();
+        
+        dispatcher(smtp.getSmtp().getPort()).drain();
+        
+        assertThat(statuses()).containsEntry("a", "SENT");
+        assertThat(smtp.getReceivedMessages()).hasSize(1);
+        assertThat(smtp.getReceivedMessages()[0].getHeader("X-WorkZen-Dedup-Key")).containsExactly("a");
+    }
+    
+    private MailOutboxDispatcher dispatcher(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return new MailOutboxDispatcher(repository, Optional.of(sender), properties, transactionTemplate,
+                new SimpleMeterRegistry());
+    }
+    
+    private Map<String, String> statuses() {
+        return jdbcTemplate.query("SELECT dedup_key, status FROM mail_outbox", rs -> {
+            Map<String, String> statuses = new HashMap<>();
+            while (rs.next()) {
+                statuses.put(rs.getString(1), rs.getString(2));
+            }
+            return statuses;
+        });
+    }
+    
+    private static OutboundMail mail(String key) {
+        return new OutboundMail(key, "employee@workzen.test", "Subject " + key, "Body of " + key);
+    }
+    
+    private static int unusedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.workzen.service;
+
+import com.workzen.entity.Employee;
+import com.workzen.entity.Payroll;
+import com.workzen.enums.Department;
+import com.workzen.util.Csv;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The CSV register on H2: one line per payroll of the month, ordered by employee id,
+ * optionally of one department, with fields that contain commas or quotes escaped.
+ */
+@DataJpaTest
+@Import(PayrollExportService.class)
+class PayrollExportServiceTest {
+    
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private PayrollExportService payrollExportService;
+    
+    @BeforeEach
+    void setUp() {
+        Employee processor = employee("EMP-900", "Pat", "Payroll", Department.FINANCE, "Accountant");
+        payroll(employee("EMP-002", "Ann", "O\"Neil", Department.FINANCE, "Analyst, Treasury"), MONTH, processor);
+        payroll(employee("EMP-001", "Raj", "Kumar", Department.INFORMATION_TECHNOLOGY, "Engineer"), MONTH, null);
+        payroll(employee("EMP-003", "Li", "Wei", Department.INFORMATION_TECHNOLOGY, "Engineer"), MONTH.minusMonths(1), null);
+        entityManager.flush();
+    }
+    
+    @Test
+    void writesTheWholeMonthInEmployeeOrder() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long rows = payrollExportService.writeCsv(MONTH, null, output);
+        
+        List<List<String>> lines = lines(output);
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).hasSize(29).startsWith("Employee ID", "First Name", "Last Name", "Department");
+        assertThat(lines.get(1)).startsWith("EMP-001", "Raj", "Kumar", "Information Technology", "Engineer");
+        assertThat(lines.get(1).get(9)).isEqualTo("2024-03-01");
+        assertThat(lines.get(1).get(28)).isEmpty();
+        assertThat(lines.get(2).get(0)).isEqualTo("EMP-002");
+    }
+    
+    @Test
+    void filtersByDepartmentAndEscapesFields() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long rows = payrollExportService.writeCsv(MONTH, Department.FINANCE, output);
+        
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(1);
+        assertThat(csv).contains("EMP-002,Ann,\"O\"\"Neil\",Finance,\"Analyst, Treasury\",");
+        assertThat(csv).doesNotContain("EMP-001").endsWith("\r\n");
+        List<List<String>> lines = lines(output);
+        assertThat(lines.get(1)).startsWith("EMP-002", "Ann", "O\"Neil", "Finance", "Analyst, Treasury");
+        assertThat(lines.get(1).get(23)).isEqualTo("45000.00");
+        assertThat(lines.get(1).get(28)).isEqualTo("EMP-900");
+    }
+    
+    @Test
+    void writesOnlyTheHeaderForAnEmptyMonth() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long rows = payrollExportService.writeCsv(MONTH.plusMonths(1), null, output);
+        
+        assertThat(rows).isZero();
+        assertThat(lines(output)).hasSize(1);
+    }
+    
+    private Employee employee(String employeeId, String firstName, String lastName, Department department,
+                              String designation) {
+        return entityManager.persist(Employee.builder()
+                .employeeId(employeeId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(employeeId.toLowerCase() + "@workzen.test")
+                .password("{noop}secret")
+                .department(department)
+                .designation(designation)
+                .bankName("State Bank")
+                .bankAccountNumber("00112233" + employeeId.substring(4))
+                .ifscCode("SBIN0000001")
+                .panNumber("ABCDE1234F")
+                .build());
+    }
+    
+    private void payroll(Employee employee, YearMonth month, Employee processedBy) {
+        entityManager.persist(Payroll.builder()
+                .employee(employee)
+                .salaryMonth(month.atDay(1))
+                .basicSalary(new BigDecimal("40000.00"))
+                .hra(new BigDecimal("10000.00"))
+                .grossSalary(new BigDecimal("50000.00"))
+                .totalDeductions(new BigDecimal("5000.00"))
+                .netSalary(new BigDecimal("45000.00"))
+                .daysWorked(21)
+                .processedBy(processedBy)
+                .build());
+    }
+    
+    private static List<List<String>> lines(ByteArrayOutputStream output) {
+        return output.toString(StandardCharsets.UTF_8).lines().map(Csv::split).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.workzen.service;
+
+import com.workzen.config.PayrollProperties;
+import com.workzen.util.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollKernelTest {
+    
+    private static final int WORKING_DAYS = 22;
+    
+    private final PayrollKernel kernel = new PayrollKernel(new PayrollProperties().getRules());
+    private final PayrollBatch batch = new PayrollBatch(4);
+    
+    @Test
+    void splitsAFullMonthBelowTheRebate() {
+        int i = batch.add(1, rupees(1_200_000), 0, 0);
+        kernel.calculate(batch, WORKING_DAYS);
+        
+        assertThat(batch.getBasic()[i]).isEqualTo(rupees(50_000));
+        assertThat(batch.getHra()[i]).isEqualTo(rupees(20_000));
+        assertThat(batch.getTransport()[i]).isEqualTo(rupees(1_600));
+        assertThat(batch.getMedical()[i]).isEqualTo(rupees(1_250));
+        assertThat(batch.getOther()[i]).isEqualTo(rupees(27_150));
+        assertThat(batch.getGross()[i]).isEqualTo(rupees(100_000));
+        assertThat(batch.getProvidentFund()[i]).isEqualTo(rupees(1_800));
+        assertThat(batch.getProfessionalTax()[i]).isEqualTo(rupees(200));
+        assertThat(batch.getIncomeTax()[i]).isZero();
+        assertThat(batch.getNet()[i]).isEqualTo(rupees(98_000));
+    }
+    
+    @Test
+    void appliesIncomeTaxSlabsAndCess() {
+        int i = batch.add(1, rupees(2_400_000), 0, 0);
+        kernel.calculate(batch, WORKING_DAYS);
+        
+        // (2,400,000 - 75,000) across the slabs is 281,250, plus 4% cess, over 12 months
+        assertThat(batch.getIncomeTax()[i]).isEqualTo(rupees(24_375));
+        assertThat(batch.getTotalDeductions()[i]).isEqualTo(rupees(26_375));
+        assertThat(batch.getNet()[i]).isEqualTo(rupees(173_625));
+    }
+    
+    @Test
+    void componentsAddUpExactlyAfterLossOfPayAndOvertime() {
+        // One absent day and one half day: 41 of 44 half days paid; 10 hours of overtime
+        int i = batch.add(1, rupees(1_200_000), 3, 1_000);
+        kernel.calculate(batch, WORKING_DAYS);
+        
+        assertThat(batch.getBasic()[i]).isEqualTo(4_659_091);
+        assertThat(batch.getHra()[i]).isEqualTo(1_863_636);
+        assertThat(batch.getTransport()[i]).isEqualTo(149_091);
+        assertThat(batch.getMedical()[i]).isEqualTo(116_477);
+        assertThat(batch.getOvertime()[i]).isEqualTo(852_273);
+        assertThat(batch.getBasic()[i] + batch.getHra()[i] + batch.getTransport()[i] + batch.getMedical()[i]
+                + batch.getOther()[i] + batch.getOvertime()[i]).isEqualTo(batch.getGross()[i]);
+        assertThat(batch.getGross()[i] - batch.getTotalDeductions()[i]).isEqualTo(batch.getNet()[i]);
+    }
+    
+    @Test
+    void readsSlabsFromProperties() {
+        PayrollProperties properties = new PayrollProperties();
+        properties.getRules().setProfessionalTax(List.of(
+                new PayrollProperties.ProfessionalTaxSlab(new BigDecimal("7500"), new BigDecimal("175")),
+                new PayrollProperties.ProfessionalTaxSlab(new BigDecimal("25000"), new BigDecimal("208.33"))));
+        PayrollKernel custom = new PayrollKernel(properties.getRules());
+        int low = batch.add(1, rupees(120_000), 0, 0);
+        int high = batch.add(2, rupees(600_000), 0, 0);
+        int none = batch.add(3, rupees(60_000), 0, 0);
+        custom.calculate(batch, WORKING_DAYS);
+        
+        assertThat(batch.getProfessionalTax()[low]).isEqualTo(rupees(175));
+        assertThat(batch.getProfessionalTax()[high]).isEqualTo(20_833);
+        assertThat(batch.getProfessionalTax()[none]).isZero();
+    }
+    
+    @Test
+    void mulDivRoundsHalfUpAndSurvivesOverflow() {
+        assertThat(Money.mulDiv(5, 1, 2)).isEqualTo(3);
+        assertThat(Money.mulDiv(4, 1, 3)).isEqualTo(1);
+        assertThat(Money.mulDiv(Long.MAX_VALUE / 2, 10, 20)).isEqualTo(Long.MAX_VALUE / 4 + 1);
+    }
+    
+    private static long rupees(long amount) {
+        return amount * 100;
+    }
+}
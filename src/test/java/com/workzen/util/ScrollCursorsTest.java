@@ -0,0 +1,59 @@
+package com.workzen.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScrollCursorsTest {
+    
+    @Test
+    void roundTripsEveryKeyType() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("date", LocalDate.of(2024, 2, 29));
+        keys.put("lastName", "D'Souza-Ñúñez");
+        keys.put("id", 9_007_199_254_740_993L);
+        keys.put("year", 2024);
+        
+        KeysetScrollPosition forward = ScrollCursors.decode(ScrollCursors.encode(ScrollPosition.forward(keys)));
+        KeysetScrollPosition backward = ScrollCursors.decode(ScrollCursors.encode(ScrollPosition.backward(keys)));
+        
+        assertThat(forward.scrollsForward()).isTrue();
+        assertThat(forward.getKeys()).containsExactlyEntriesOf(keys);
+        assertThat(backward.scrollsBackward()).isTrue();
+        assertThat(backward.getKeys()).containsExactlyEntriesOf(keys);
+    }
+    
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = ScrollCursors.encode(ScrollPosition.forward(Map.of("lastName", "??>>~~", "id", -1L)));
+        
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+    
+    @Test
+    void blankCursorStartsAtTheBeginning() {
+        assertThat(ScrollCursors.decode(null).isInitial()).isTrue();
+        assertThat(ScrollCursors.decode(" ").isInitial()).isTrue();
+    }
+    
+    @Test
+    void rejectsTamperedCursorsAndUnsupportedKeys() {
+        String cursor = ScrollCursors.encode(ScrollPosition.forward(Map.of("id", 42L)));
+        
+        assertThatThrownBy(() -> ScrollCursors.decode(cursor.substring(0, cursor.length() - 3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> ScrollCursors.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScrollCursors.encode(ScrollPosition.forward(Map.of("rating", 4.5))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rating");
+    }
+}